@@ -0,0 +1,196 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.Algorithm;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes an {@link Algorithm} under a wall-clock timeout and a heap usage limit.
+ *
+ * <p>If either limit is hit, the executing thread is interrupted. Algorithms are expected to
+ * react to interruption by returning or throwing an exception. If they do not react within a grace
+ * period, the execution is abandoned nonetheless (see {@link #isAbandoned()}).</p>
+ */
+class AlgorithmExecutor {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AlgorithmExecutor.class);
+
+  /**
+   * How often the heap usage is checked.
+   */
+  private static final long WATCHDOG_INTERVAL_MILLIS = 1000L;
+
+  /**
+   * How long to wait for an interrupted algorithm to terminate.
+   */
+  static final long GRACE_PERIOD_MILLIS = 30_000L;
+
+  /**
+   * Describes how an execution ended.
+   */
+  enum Outcome {
+
+    SUCCESS(0),
+    FAILURE(23),
+    TIMEOUT(24),
+    MEMORY_EXCEEDED(25);
+
+    private final int exitCode;
+
+    Outcome(int exitCode) {
+      this.exitCode = exitCode;
+    }
+
+    int getExitCode() {
+      return exitCode;
+    }
+  }
+
+  private final long timeoutMillis;
+  private final double maxHeapUsage;
+  private final long gracePeriodMillis;
+
+  private volatile boolean isAbandoned = false;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param timeoutMillis the maximum execution time or {@code 0} for no limit
+   * @param maxHeapUsage the maximum fraction of the maximum heap size that may be used after a
+   *                     garbage collection or {@code 0} for no limit
+   */
+  AlgorithmExecutor(long timeoutMillis, double maxHeapUsage) {
+    this(timeoutMillis, maxHeapUsage, GRACE_PERIOD_MILLIS);
+  }
+
+  AlgorithmExecutor(long timeoutMillis, double maxHeapUsage, long gracePeriodMillis) {
+    this.timeoutMillis = timeoutMillis;
+    this.maxHeapUsage = maxHeapUsage;
+    this.gracePeriodMillis = gracePeriodMillis;
+  }
+
+  /**
+   * Tell whether the last execution was abandoned, i.e., the algorithm is still running although
+   * it was interrupted. The algorithm might still use its inputs, result receivers, and temporary
+   * files, so callers must not release them. Java provides no way to stop the algorithm, so the
+   * JVM must exit to end it.
+   *
+   * @return whether the algorithm of the last execution is still running
+   */
+  boolean isAbandoned() {
+    return isAbandoned;
+  }
+
+  /**
+   * Execute the given {@link Algorithm}.
+   *
+   * @param algorithm the configured {@link Algorithm}
+   * @return the {@link Outcome} of the execution
+   */
+  Outcome execute(Algorithm algorithm) {
+    isAbandoned = false;
+    if (timeoutMillis <= 0 && maxHeapUsage <= 0) {
+      // No need to guard the execution.
+      try {
+        algorithm.execute();
+        return Outcome.SUCCESS;
+      } catch (Exception e) {
+        LOG.error("Algorithm crashed.", e);
+        return Outcome.FAILURE;
+      }
+    }
+
+    final AtomicReference<Throwable> error = new AtomicReference<>();
+    final Thread worker = new Thread(() -> {
+      try {
+        algorithm.execute();
+      } catch (Throwable t) {
+        error.set(t);
+      }
+    }, "algorithm-execution");
+    worker.setDaemon(true);
+
+    final AtomicReference<Outcome> abortReason = new AtomicReference<>();
+    final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "algorithm-watchdog");
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      if (maxHeapUsage > 0) {
+        watchdog.scheduleWithFixedDelay(() -> {
+          if (isHeapUsageExceeded() && abortReason.compareAndSet(null, Outcome.MEMORY_EXCEEDED)) {
+            LOG.error("Heap usage exceeds {}% after garbage collection. Aborting.",
+                Math.round(maxHeapUsage * 100));
+            worker.interrupt();
+          }
+        }, WATCHDOG_INTERVAL_MILLIS, WATCHDOG_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+      }
+      if (timeoutMillis > 0) {
+        watchdog.schedule(() -> {
+          if (abortReason.compareAndSet(null, Outcome.TIMEOUT)) {
+            LOG.error("Execution exceeds the timeout of {} ms. Aborting.", timeoutMillis);
+            worker.interrupt();
+          }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+      }
+
+      worker.start();
+      while (worker.isAlive() && abortReason.get() == null) {
+        worker.join(WATCHDOG_INTERVAL_MILLIS);
+      }
+      if (worker.isAlive()) {
+        worker.join(gracePeriodMillis);
+      }
+    } catch (InterruptedException e) {
+      LOG.error("Interrupted while waiting for the algorithm.", e);
+      worker.interrupt();
+      Thread.currentThread().interrupt();
+      abortReason.compareAndSet(null, Outcome.FAILURE);
+    } finally {
+      watchdog.shutdownNow();
+    }
+    isAbandoned = worker.isAlive();
+    if (isAbandoned) {
+      LOG.warn("Algorithm did not terminate within {} ms after interruption. Abandoning it.",
+          gracePeriodMillis);
+    }
+
+    if (abortReason.get() != null) {
+      if (error.get() != null) {
+        LOG.debug("Algorithm terminated with an exception after interruption.", error.get());
+      }
+      return abortReason.get();
+    } else if (error.get() != null) {
+      LOG.error("Algorithm crashed.", error.get());
+      return Outcome.FAILURE;
+    }
+    return Outcome.SUCCESS;
+  }
+
+  /**
+   * Check whether any heap memory pool exceeds the {@link #maxHeapUsage} after its last garbage
+   * collection. Using the post-collection usage avoids aborting executions just because of
+   * collectable garbage.
+   */
+  private boolean isHeapUsageExceeded() {
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() != MemoryType.HEAP || !pool.isCollectionUsageThresholdSupported()) {
+        continue;
+      }
+      MemoryUsage usage = pool.getCollectionUsage();
+      if (usage != null && usage.getMax() > 0 && usage.getUsed() > maxHeapUsage * usage.getMax()) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
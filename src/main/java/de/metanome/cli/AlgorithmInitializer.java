@@ -19,6 +19,7 @@ import java.io.FileNotFoundException;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,21 +40,41 @@ class AlgorithmInitializer {
 
   private static final Logger LOG = LoggerFactory.getLogger(AlgorithmInitializer.class);
 
+  /**
+   * The parser and the factory are stateless and can therefore be shared across runs.
+   */
+  private static final ConfigurationSettingPrimitiveParser PARSER =
+      new ConfigurationSettingPrimitiveParser();
+  private static final ConfigurationFactory CONFIGURATION_FACTORY =
+      new DefaultConfigurationFactory();
+
+  /**
+   * Caches the interfaces of each algorithm class, which are expensive to collect.
+   */
+  private static final ClassValue<Set<Class<?>>> INTERFACES = new ClassValue<Set<Class<?>>>() {
+    @Override
+    protected Set<Class<?>> computeValue(final Class<?> type) {
+      return Collections.unmodifiableSet(lookUpInterfaces(type));
+    }
+  };
+
   private final Algorithm algorithm;
   private final Map<String, ConfigurationRequirement<?>> requirements;
   private final List<Pair<String, String>> config;
   private final BiConsumer<String, Object> listener;
+  private final boolean useCaches;
   private final ConfigurationSettingPrimitiveParser parser;
 
   private AlgorithmInitializer(final Algorithm algorithm, final List<Pair<String, String>> config,
-      final BiConsumer<String, Object> listener)
+      final BiConsumer<String, Object> listener, final boolean useCaches)
       throws AlgorithmConfigurationException {
 
     this.algorithm = algorithm;
     this.requirements = getRequirements(algorithm);
     this.config = config;
     this.listener = listener;
-    parser = new ConfigurationSettingPrimitiveParser();
+    this.useCaches = useCaches;
+    parser = useCaches ? PARSER : new ConfigurationSettingPrimitiveParser();
   }
 
   private Map<String, ConfigurationRequirement<?>> getRequirements(final Algorithm algorithm)
@@ -127,7 +148,7 @@ class AlgorithmInitializer {
 
       for (final Object defaultValue : defaultValues) {
         settings.put(requirement.getIdentifier(),
-            ConfigurationSettingUtil.newSettingsInstance(requirement, defaultValue));
+            ConfigurationSettingUtil.newSettingsInstance(requirement, defaultValue, useCaches));
         listener.accept(requirement.getIdentifier(), defaultValue);
         LOG.info("Set default value '{}' on requirement '{}'", defaultValue,
             requirement.getIdentifier());
@@ -160,7 +181,8 @@ class AlgorithmInitializer {
   }
 
   private void triggerSetValue() throws AlgorithmConfigurationException {
-    final ConfigurationFactory factory = new DefaultConfigurationFactory();
+    final ConfigurationFactory factory =
+        useCaches ? CONFIGURATION_FACTORY : new DefaultConfigurationFactory();
     final Set<Class<?>> interfaces = collectInterfaces(algorithm);
 
     try {
@@ -176,7 +198,11 @@ class AlgorithmInitializer {
   }
 
   private Set<Class<?>> collectInterfaces(final Object object) {
-    return TypeToken.of(object.getClass()).getTypes().interfaces().stream()
+    return useCaches ? INTERFACES.get(object.getClass()) : lookUpInterfaces(object.getClass());
+  }
+
+  private static Set<Class<?>> lookUpInterfaces(final Class<?> type) {
+    return TypeToken.of(type).getTypes().interfaces().stream()
         .map(TypeToken::getRawType)
         .collect(toSet());
   }
@@ -213,13 +239,25 @@ class AlgorithmInitializer {
       final List<Pair<String, String>> config) throws AlgorithmConfigurationException {
 
     return new AlgorithmInitializer(algorithm, config, (a, b) -> {
-    });
+    }, true);
+  }
+
+  /**
+   * Create an initializer that optionally does without the shared instances and caches. Only
+   * disabled to compare with an uncached configuration in {@code AlgorithmInitializerBenchmark}.
+   */
+  static AlgorithmInitializer forAlgorithm(final Algorithm algorithm,
+      final List<Pair<String, String>> config, final boolean useCaches)
+      throws AlgorithmConfigurationException {
+
+    return new AlgorithmInitializer(algorithm, config, (a, b) -> {
+    }, useCaches);
   }
 
   static AlgorithmInitializer forAlgorithm(final Algorithm algorithm,
       final List<Pair<String, String>> config, final BiConsumer<String, Object> listener)
       throws AlgorithmConfigurationException {
 
-    return new AlgorithmInitializer(algorithm, config, listener);
+    return new AlgorithmInitializer(algorithm, config, listener, true);
   }
 }
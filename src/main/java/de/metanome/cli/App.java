@@ -6,13 +6,8 @@ import com.beust.jcommander.JCommander;
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.ParameterException;
 import com.google.common.base.Preconditions;
+import com.google.common.io.Closer;
 import de.hpi.isg.mdms.clients.MetacrateClient;
-import de.hpi.isg.mdms.clients.parameters.MetadataStoreParameters;
-import de.hpi.isg.mdms.clients.util.MetadataStoreUtil;
-import de.hpi.isg.mdms.metanome.MetacrateResultReceiver;
-import de.hpi.isg.mdms.model.MetadataStore;
-import de.hpi.isg.mdms.model.targets.Schema;
-import de.hpi.isg.mdms.model.targets.Target;
 import de.hpi.isg.profiledb.ProfileDB;
 import de.hpi.isg.profiledb.store.model.Experiment;
 import de.hpi.isg.profiledb.store.model.Subject;
@@ -34,16 +29,13 @@ import de.metanome.algorithm_integration.configuration.ConfigurationRequirement;
 import de.metanome.algorithm_integration.configuration.ConfigurationRequirementDatabaseConnection;
 import de.metanome.algorithm_integration.configuration.ConfigurationSettingDatabaseConnection;
 import de.metanome.algorithm_integration.configuration.ConfigurationSettingFileInput;
-import de.metanome.algorithm_integration.configuration.ConfigurationSettingTableInput;
-import de.metanome.algorithm_integration.configuration.DbSystem;
 import de.metanome.algorithm_integration.input.DatabaseConnectionGenerator;
 import de.metanome.algorithm_integration.input.FileInputGenerator;
+import de.metanome.algorithm_integration.input.InputGenerationException;
 import de.metanome.algorithm_integration.input.RelationalInputGenerator;
 import de.metanome.algorithm_integration.input.TableInputGenerator;
 import de.metanome.algorithm_integration.result_receiver.OmniscientResultReceiver;
 import de.metanome.algorithm_integration.results.Result;
-import de.metanome.backend.input.database.DefaultDatabaseConnectionGenerator;
-import de.metanome.backend.input.database.DefaultTableInputGenerator;
 import de.metanome.backend.input.file.DefaultFileInputGenerator;
 import de.metanome.backend.result_receiver.ResultCache;
 import de.metanome.backend.result_receiver.ResultPrinter;
@@ -54,19 +46,33 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import lombok.ToString;
 import org.apache.commons.lang3.tuple.Pair;
+import org.pmw.tinylog.Configurator;
+import org.pmw.tinylog.writers.ConsoleWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -77,13 +83,50 @@ public class App {
 
   private static final Logger LOG = LoggerFactory.getLogger(App.class);
 
-  private static final DateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+  private static final DateTimeFormatter DATE_FORMAT =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+  /**
+   * Serializes appending to ProfileDB files by concurrent runs of a sweep.
+   */
+  private static final Object PROFILE_DB_LOCK = new Object();
+
+  /**
+   * Caches relational inputs across the runs of a sweep (see {@link CachedInputGenerator}).
+   */
+  private static final ConcurrentMap<String, List<RelationalInputGenerator>> INPUT_CACHE =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Thread pool for {@link ResourceParameterAlgorithm}s, shared by all runs in this JVM.
+   */
+  private static ForkJoinPool sharedExecutorService;
 
 
   public static void main(String[] args) {
     final Parameters parameters = parseParameters(args);
+    redirectLoggingFromStdout(parameters);
     LOG.trace(parameters.toString());
-    run(parameters);
+    List<List<String>> configurations;
+    try {
+      configurations = parameters.isSweeping
+          ? SweepExpander.expand(parameters.algorithmConfigurationValues)
+          : Collections.singletonList(SweepExpander.join(parameters.algorithmConfigurationValues));
+    } catch (IllegalArgumentException e) {
+      LOG.error("Could not parse algorithm configuration: {}", e.getMessage());
+      System.exit(1);
+      return;
+    }
+    if (parameters.numWorkers > 0) {
+      System.exit(runCoordinator(parameters, args, configurations));
+      return;
+    }
+    if (configurations.size() == 1) {
+      parameters.algorithmConfigurationValues = configurations.get(0);
+      System.exit(run(parameters));
+      return;
+    }
+    System.exit(runSweep(parameters, configurations));
   }
 
   private static Parameters parseParameters(String[] args) {
@@ -91,6 +134,16 @@ public class App {
     final JCommander jCommander = new JCommander(parameters);
     try {
       jCommander.parse(args);
+      if (parameters.numWarmupIterations < 0) {
+        throw new ParameterException("The number of warm-up iterations must not be negative.");
+      }
+      if (parameters.numRepetitions < 1) {
+        throw new ParameterException("The number of measured iterations must be at least 1.");
+      }
+      if (parameters.prefetchDepth > 0 && parameters.isCachingInputs) {
+        // Cached inputs are served from main memory, so the prefetching would be skipped anyway.
+        throw new ParameterException("Cannot prefetch inputs that are cached (--cache-inputs).");
+      }
     } catch (ParameterException e) {
       LOG.error("Could not parse command line args: {}", e.getMessage());
       StringBuilder sb = new StringBuilder();
@@ -101,7 +154,224 @@ public class App {
     return parameters;
   }
 
-  private static void run(Parameters parameters) {
+  /**
+   * Print log messages to the standard error if results are streamed to the standard output, so
+   * that consumers of the stream do not receive them.
+   */
+  private static void redirectLoggingFromStdout(Parameters parameters) {
+    if (Arrays.stream(parameters.output.split(","))
+        .anyMatch(StreamingResultReceiver::isStreamingToStdout)) {
+      Configurator.currentConfig().writer(new ConsoleWriter(System.err)).activate();
+    }
+  }
+
+  /**
+   * Run the algorithm for every configuration of a sweep, each with its own outputs and ProfileDB
+   * experiment.
+   *
+   * @param parameters the common {@link Parameters}
+   * @param configurations the algorithm configuration values of the sweep points
+   * @return the first non-zero exit code of the runs or {@code 0}
+   */
+  private static int runSweep(Parameters parameters, List<List<String>> configurations) {
+    if (parameters.sweepParallelism > 1 && parameters.metricsPort > 0) {
+      LOG.error("Cannot serve metrics on a single port for parallel sweep runs.");
+      return 1;
+    }
+    if (parameters.sweepParallelism > 1 && isPassingMetacrateStore(parameters)) {
+      // The algorithms would access the shared store without its lock.
+      LOG.error("Cannot pass a Metacrate store to algorithms of parallel sweep runs.");
+      return 1;
+    }
+    LOG.info("Sweeping over {} configurations with a parallelism of {}.",
+        configurations.size(), parameters.sweepParallelism);
+
+    ExecutorService executor = Executors.newFixedThreadPool(parameters.sweepParallelism);
+    List<Future<Integer>> exitCodes = new ArrayList<>();
+    for (int i = 0; i < configurations.size(); i++) {
+      final Parameters pointParameters = parameters.copy();
+      pointParameters.algorithmConfigurationValues = configurations.get(i);
+      pointParameters.sweepPointId = "p" + i;
+      exitCodes.add(executor.submit(() -> run(pointParameters)));
+    }
+    executor.shutdown();
+
+    int sweepExitCode = 0;
+    for (int i = 0; i < exitCodes.size(); i++) {
+      int exitCode;
+      try {
+        exitCode = exitCodes.get(i).get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return 1;
+      } catch (ExecutionException e) {
+        LOG.error("Run of {} failed.", configurations.get(i), e.getCause());
+        exitCode = AlgorithmExecutor.Outcome.FAILURE.getExitCode();
+      }
+      LOG.info("Configuration {} finished with exit code {}.", configurations.get(i), exitCode);
+      if (sweepExitCode == 0) {
+        sweepExitCode = exitCode;
+      }
+    }
+    return sweepExitCode;
+  }
+
+  /**
+   * Tell whether the algorithm gets the Metacrate store of a {@code crate:} output.
+   */
+  private static boolean isPassingMetacrateStore(Parameters parameters) {
+    if (parameters.isDiscardingResults
+        || Arrays.stream(parameters.output.split(",")).noneMatch(MetacrateSupport::isMetacrateOutput)) {
+      return false;
+    }
+    try {
+      return MetacrateClient.class.isAssignableFrom(Class.forName(parameters.algorithmClassName));
+    } catch (ClassNotFoundException e) {
+      // Let the runs report the missing algorithm.
+      return false;
+    }
+  }
+
+  /**
+   * Distribute the configurations of a sweep or, otherwise, the inputs over worker JVMs (see
+   * {@link Coordinator}) and deliver their results to the configured outputs.
+   *
+   * @param parameters the common {@link Parameters}
+   * @param args the original CLI arguments, which are passed on to the workers
+   * @param configurations the algorithm configuration values of the sweep points
+   * @return the first non-zero exit code of the workers or {@code 0}
+   */
+  private static int runCoordinator(Parameters parameters, String[] args,
+      List<List<String>> configurations) {
+    Map<String, Integer> coordinatorOptions = new HashMap<>();
+    for (String option : Arrays.asList("--workers", "--worker-hosts", "--worker-jvm-options",
+        "--worker-retries", "--coordinator-host", "-o", "--output", "--profiledb",
+        "--metrics-port")) {
+      coordinatorOptions.put(option, 1);
+    }
+    // Workers would not stream any results otherwise; the coordinator discards them instead.
+    coordinatorOptions.put("--discard-results", 0);
+
+    List<Coordinator.Task> tasks = new ArrayList<>();
+    if (configurations.size() > 1) {
+      coordinatorOptions.put("--algorithm-config", Coordinator.VARIABLE_ARITY);
+      // The configurations are expanded already and must not be expanded again by the workers.
+      coordinatorOptions.put("--sweep", 0);
+      for (int i = 0; i < configurations.size(); i++) {
+        List<String> arguments = new ArrayList<>();
+        arguments.add("--algorithm-config");
+        arguments.addAll(configurations.get(i));
+        arguments.add("--run-suffix");
+        arguments.add("p" + i);
+        tasks.add(new Coordinator.Task("p" + i, arguments));
+      }
+    } else {
+      if (isAnalyzingAcrossInputs(parameters)) {
+        // Partitioning the inputs would miss all dependencies between partitions.
+        LOG.error("Cannot distribute the inputs of an algorithm that relates several inputs, "
+            + "e.g., in inclusion dependencies.");
+        return 1;
+      }
+      for (String option : Arrays.asList("--files", "--inputs", "--tables")) {
+        coordinatorOptions.put(option, Coordinator.VARIABLE_ARITY);
+      }
+      List<String> inputs = new ArrayList<>();
+      for (String input : parameters.inputDatasets) {
+        if (input.startsWith("load:")) {
+          try {
+            inputs.addAll(Files.readAllLines(Paths.get(input.substring("load:".length()))));
+          } catch (IOException e) {
+            LOG.error("Could not load input specification file.", e);
+            return 1;
+          }
+        } else {
+          inputs.add(input);
+        }
+      }
+      // Inputs that are no files, i.e., tables, weigh the same.
+      List<List<String>> partitions =
+          Coordinator.partition(inputs, parameters.numWorkers, input -> new File(input).length());
+      for (int i = 0; i < partitions.size(); i++) {
+        List<String> arguments = new ArrayList<>();
+        arguments.add("--inputs");
+        arguments.addAll(partitions.get(i));
+        arguments.add("--run-suffix");
+        arguments.add("w" + i);
+        tasks.add(new Coordinator.Task("w" + i, arguments));
+      }
+    }
+
+    boolean isCollectingExperiments =
+        parameters.profileDbKey != null && parameters.profileDbLocation != null;
+    Coordinator coordinator = new Coordinator(
+        Coordinator.removeOptions(Arrays.asList(args), coordinatorOptions),
+        parameters.workerHosts,
+        parameters.workerJvmOptions == null ?
+            Collections.emptyList() :
+            Arrays.asList(parameters.workerJvmOptions.trim().split("\\s+")),
+        parameters.numWorkers,
+        parameters.numWorkerRetries,
+        parameters.coordinatorHost,
+        new File(parameters.tempFileDirectories.isEmpty() ?
+            System.getProperty("java.io.tmpdir") :
+            parameters.tempFileDirectories.get(0)),
+        isCollectingExperiments
+    );
+
+    OmniscientResultReceiver resultReceiver = createResultReceiver(parameters);
+    OmniscientResultReceiver decoratedResultReceiver =
+        decorateResultReceiver(parameters, resultReceiver, null, null);
+    int exitCode;
+    try {
+      exitCode = coordinator.run(tasks, decoratedResultReceiver);
+    } finally {
+      ForwardingResultReceiver.closeDecorators(decoratedResultReceiver);
+      if (resultReceiver instanceof FanOutResultReceiver) {
+        ((FanOutResultReceiver) resultReceiver).close();
+      }
+    }
+    boolean isStoringResultsSuccess = !hasFailedSinks(resultReceiver);
+    for (Pair<String, OmniscientResultReceiver> sink : getResultSinks(parameters, resultReceiver)) {
+      isStoringResultsSuccess &= closeResultSink(sink.getLeft(), sink.getRight());
+    }
+
+    if (isCollectingExperiments && !coordinator.getExperiments().isEmpty()) {
+      synchronized (PROFILE_DB_LOCK) {
+        try {
+          createProfileDB()
+              .append(new File(parameters.profileDbLocation), coordinator.getExperiments());
+        } catch (IOException e) {
+          LOG.error("Could not store ProfileDB experiments: {}", e);
+        }
+      }
+    }
+    if (exitCode == 0 && !isStoringResultsSuccess) {
+      return 4;
+    }
+    return exitCode;
+  }
+
+  /**
+   * Tell whether the algorithm discovers dependencies between inputs, so that it needs to see all
+   * inputs at once.
+   */
+  private static boolean isAnalyzingAcrossInputs(Parameters parameters) {
+    try {
+      return InclusionDependencyAlgorithm.class
+          .isAssignableFrom(Class.forName(parameters.algorithmClassName));
+    } catch (ClassNotFoundException e) {
+      // The workers report this.
+      return false;
+    }
+  }
+
+  /**
+   * Run the algorithm once.
+   *
+   * @param parameters describe the run
+   * @return the exit code for the run
+   */
+  static int run(Parameters parameters) {
     LOG.info("Running {}", parameters.algorithmClassName);
     LOG.info("* in:            {}", parameters.inputDatasets);
     LOG.info("* out:           {}", parameters.output);
@@ -117,43 +387,501 @@ public class App {
           subject,
           parameters.profileDbTags.toArray(new String[0])
       );
+      if (parameters.sweepPointId != null) {
+        subject.addConfiguration("sweep-point", parameters.sweepPointId);
+      }
+    }
+    boolean isExportingMetrics = parameters.isRegisteringMetricsMBean
+        || parameters.metricsPort > 0 || parameters.metricsFile != null;
+    RunCounters counters =
+        parameters.progressIntervalMillis > 0 || experiment != null || isExportingMetrics ?
+            new RunCounters() :
+            null;
+    RunMetrics metrics = isExportingMetrics ? new RunMetrics(counters) : null;
+    List<ColumnStatistics> columnStatistics =
+        parameters.isCollectingColumnStatistics || parameters.columnStatisticsFile != null ?
+            Collections.synchronizedList(new ArrayList<>()) :
+            null;
+    MetricsExporter metricsExporter;
+    try {
+      metricsExporter = setUpMetricsExporter(parameters, metrics);
+    } catch (RunAbortedException e) {
+      return e.getExitCode();
+    }
+
+    if (metrics != null) {
+      metrics.startPhase("prescan");
+    }
+    List<ColumnStatistics> prescanStatistics;
+    try {
+      prescanStatistics = prescan(parameters);
+    } catch (AlgorithmConfigurationException | InputGenerationException e) {
+      LOG.error("Could not scan the inputs.", e);
+      if (metricsExporter != null) {
+        metricsExporter.close();
+      }
+      return 3;
+    }
+
+    boolean isRepeating = parameters.numWarmupIterations > 0 || parameters.numRepetitions > 1;
+    // Without results to produce, the regular run does the same work as a measured iteration and
+    // thus serves as the last one instead of running once more.
+    boolean isMeasuringRegularRun = isRepeating && parameters.isDiscardingResults;
+    List<Long> measuredMillis = new ArrayList<>();
+    if (isRepeating) {
+      if (metrics != null) {
+        metrics.startPhase("repetitions");
+      }
+      int exitCode = runPreliminaryIterations(parameters, prescanStatistics, counters != null,
+          isMeasuringRegularRun ? parameters.numRepetitions - 1 : parameters.numRepetitions,
+          measuredMillis);
+      if (exitCode != 0) {
+        if (metricsExporter != null) {
+          metricsExporter.close();
+        }
+        return exitCode;
+      }
+    }
+
+    if (metrics != null) {
+      metrics.startPhase("initialization");
+    }
+
+    ResultCheckpoint checkpoint;
+    try {
+      checkpoint = setUpResultCheckpoint(parameters);
+    } catch (RunAbortedException e) {
+      if (metricsExporter != null) {
+        metricsExporter.close();
+      }
+      return e.getExitCode();
     }
     OmniscientResultReceiver resultReceiver = createResultReceiver(parameters);
-    Algorithm algorithm = configureAlgorithm(parameters, resultReceiver, experiment);
+    long metacrateLoadMillis = -1L;
+    for (Pair<String, OmniscientResultReceiver> sink : getResultSinks(parameters, resultReceiver)) {
+      if (MetacrateSupport.isMetacrateOutput(sink.getLeft())) {
+        metacrateLoadMillis =
+            Math.max(metacrateLoadMillis, 0L) + MetacrateSupport.getLoadMillis(sink.getRight());
+      }
+    }
+    if (metrics != null && resultReceiver instanceof FanOutResultReceiver) {
+      metrics.setFanOutResultReceiver((FanOutResultReceiver) resultReceiver);
+    }
+    OmniscientResultReceiver algorithmResultReceiver =
+        decorateResultReceiver(parameters, resultReceiver, checkpoint, counters);
+    Closer runResources = Closer.create();
+    Algorithm algorithm;
+    try {
+      algorithm = configureAlgorithm(parameters, algorithmResultReceiver, experiment, counters,
+          columnStatistics, prescanStatistics, runResources);
+      if (parameters.resumeRunId != null) {
+        resume(checkpoint, algorithmResultReceiver, algorithm);
+      }
+    } catch (RunAbortedException e) {
+      // Release everything opened for this run, so that a sweep can go on with the next one.
+      ForwardingResultReceiver.closeDecorators(algorithmResultReceiver);
+      if (resultReceiver instanceof FanOutResultReceiver) {
+        ((FanOutResultReceiver) resultReceiver).close();
+      }
+      for (Pair<String, OmniscientResultReceiver> sink : getResultSinks(parameters, resultReceiver)) {
+        closeResultSink(sink.getLeft(), sink.getRight());
+      }
+      closeRunResources(runResources);
+      if (metricsExporter != null) {
+        metricsExporter.close();
+      }
+      return e.getExitCode();
+    }
 
     TempFileGenerator tempFileGenerator = setUpTempFileGenerator(parameters, algorithm);
+    if (metrics != null) {
+      metrics.setTempFileGenerator(tempFileGenerator);
+      metrics.startPhase("execution");
+    }
 
     final long startTimeMillis = System.currentTimeMillis();
-    LOG.debug("Execution started at {}", DATE_FORMAT.format(new Date(startTimeMillis)));
+    LOG.debug("Execution started at {}", DATE_FORMAT.format(Instant.ofEpochMilli(startTimeMillis)));
     long elapsedMillis;
-    boolean isExecutionSuccess = false;
+    AlgorithmExecutor.Outcome outcome = AlgorithmExecutor.Outcome.FAILURE;
+    ProgressReporter progressReporter = parameters.progressIntervalMillis > 0 ?
+        new ProgressReporter(counters, parameters.progressIntervalMillis) :
+        null;
+    FlightRecorderSession flightRecorderSession = null;
+    AlgorithmExecutor executor =
+        new AlgorithmExecutor(parameters.timeoutMillis, parameters.maxHeapUsage);
     try {
-      algorithm.execute();
-      isExecutionSuccess = true;
-    } catch (Exception e) {
-      LOG.error("Algorithm crashed.", e);
-    } finally {
-      if (resultReceiver instanceof MetacrateResultReceiver) {
-        try {
-          ((MetacrateResultReceiver) resultReceiver).getMetadataStore().flush();
-        } catch (Exception e) {
-          LOG.error("Could not flush Metacrate.", e);
+      if (isRepeating) {
+        System.gc();
+      }
+      flightRecorderSession = startFlightRecorder(parameters, algorithm);
+      long startNanos = System.nanoTime();
+      try {
+        outcome = executor.execute(algorithm);
+      } finally {
+        if (flightRecorderSession != null) {
+          flightRecorderSession.stop();
         }
       }
+      if (isMeasuringRegularRun && outcome == AlgorithmExecutor.Outcome.SUCCESS) {
+        long millis = (System.nanoTime() - startNanos) / 1_000_000L;
+        LOG.info("Measured iteration {} took {} ms.",
+            parameters.numWarmupIterations + parameters.numRepetitions, millis);
+        measuredMillis.add(millis);
+      }
+    } finally {
+      if (progressReporter != null) {
+        progressReporter.close();
+      }
+      if (metrics != null) {
+        metrics.startPhase("completion");
+      }
+
+      if (executor.isAbandoned()) {
+        // The algorithm still uses its inputs and outputs, so leave them to the exiting JVM.
+        LOG.error("Leaving the inputs and outputs of the abandoned algorithm open.");
+      } else {
+        ForwardingResultReceiver.closeDecorators(algorithmResultReceiver);
+
+        if (resultReceiver instanceof FanOutResultReceiver) {
+          ((FanOutResultReceiver) resultReceiver).close();
+        }
+
+        for (Pair<String, OmniscientResultReceiver> sink : getResultSinks(parameters, resultReceiver)) {
+          if (MetacrateSupport.isMetacrateOutput(sink.getLeft())) {
+            MetacrateSupport.flush(sink.getRight());
+          }
+        }
 
-      if (tempFileGenerator != null) {
-        tempFileGenerator.cleanUp();
+        if (tempFileGenerator != null) {
+          tempFileGenerator.cleanUp();
+        }
+        closeRunResources(runResources);
       }
 
       long endTimeMillis = System.currentTimeMillis();
       elapsedMillis = endTimeMillis - startTimeMillis;
-      LOG.debug("Execution completed at {}", DATE_FORMAT.format(new Date(endTimeMillis)));
+      LOG.debug("Execution completed at {}", DATE_FORMAT.format(Instant.ofEpochMilli(endTimeMillis)));
       LOG.info("Elapsed time: {} ({} ms).", formatDuration(elapsedMillis), elapsedMillis);
+      if (isRepeating && !measuredMillis.isEmpty()) {
+        ExecutionTimeStatistics statistics = new ExecutionTimeStatistics(measuredMillis);
+        LOG.info("Execution times over {} iterations: min {} ms, median {} ms, p95 {} ms, "
+                + "standard deviation {} ms.", measuredMillis.size(), statistics.getMin(),
+            statistics.getMedian(), statistics.getPercentile(95),
+            String.format("%.1f", statistics.getStandardDeviation()));
+      }
+      if (counters != null) {
+        LOG.info("Read {} rows and received {} results {}.",
+            counters.getNumRows(), counters.getNumResults(), counters.getResultCounts());
+      }
+      if (columnStatistics != null) {
+        storeColumnStatistics(parameters, columnStatistics);
+      }
+    }
+
+    FlightRecordingMeasurement flightRecording = null;
+    if (flightRecorderSession != null) {
+      try {
+        flightRecording = flightRecorderSession.summarize("flight-recording");
+      } catch (IOException e) {
+        LOG.error("Could not write Flight Recorder recording.", e);
+      }
+    }
+
+    if (executor.isAbandoned()) {
+      if (metricsExporter != null) {
+        metricsExporter.close();
+      }
+      return outcome.getExitCode();
     }
 
+    boolean isStoringResultsSuccess = !hasFailedSinks(resultReceiver);
+    for (Pair<String, OmniscientResultReceiver> sink : getResultSinks(parameters, resultReceiver)) {
+      isStoringResultsSuccess &= closeResultSink(sink.getLeft(), sink.getRight());
+    }
+    if (metricsExporter != null) {
+      metrics.startPhase(null);
+      metricsExporter.close();
+    }
+    if (!isStoringResultsSuccess) {
+      return 4;
+    }
+
+    if (outcome != AlgorithmExecutor.Outcome.FAILURE && experiment != null) {
+      experiment.getSubject().addConfiguration("outcome", outcome.name().toLowerCase());
+
+      // Register additional configuration.
+      for (String spec : parameters.profileDbConf) {
+        int colonIndex = spec.indexOf(':');
+        if (colonIndex != -1) {
+          experiment.getSubject()
+              .addConfiguration(spec.substring(0, colonIndex), spec.substring(colonIndex + 1));
+        }
+      }
+
+      // Register measured time. For repeated measurements, this is the median of the measured
+      // iterations rather than the time of the regular run.
+      TimeMeasurement timeMeasurement = new TimeMeasurement("execution-millis");
+      timeMeasurement.setMillis(isRepeating && !measuredMillis.isEmpty() ?
+          new ExecutionTimeStatistics(measuredMillis).getMedian() :
+          elapsedMillis);
+      experiment.addMeasurement(timeMeasurement);
+      if (metacrateLoadMillis >= 0L) {
+        addTimeMeasurement(experiment, "metacrate-load-millis", metacrateLoadMillis);
+      }
+      if (isRepeating && !measuredMillis.isEmpty()) {
+        experiment.getSubject().addConfiguration("warmup", parameters.numWarmupIterations);
+        experiment.getSubject().addConfiguration("repetitions", parameters.numRepetitions);
+        addExecutionTimeStatistics(experiment, measuredMillis);
+      }
+
+      // Register counted rows and results.
+      experiment.addMeasurement(new CounterMeasurement("rows", counters.getNumRows()));
+      experiment.addMeasurement(new CounterMeasurement("results", counters.getNumResults()));
+      for (Map.Entry<String, Long> resultCount : counters.getResultCounts().entrySet()) {
+        experiment.addMeasurement(
+            new CounterMeasurement("results-" + resultCount.getKey(), resultCount.getValue()));
+      }
+      if (columnStatistics != null) {
+        for (ColumnStatistics relationStatistics : columnStatistics) {
+          experiment.addMeasurement(new ColumnStatisticsMeasurement(relationStatistics));
+        }
+      }
+      if (prescanStatistics != null) {
+        for (ColumnStatistics relationStatistics : prescanStatistics) {
+          experiment.addMeasurement(new ColumnStatisticsMeasurement(
+              "prescan-statistics-" + relationStatistics.getRelationName(), relationStatistics));
+        }
+      }
+
+      if (flightRecording != null) {
+        experiment.getSubject().addConfiguration("jfr-settings", parameters.flightRecorderSettings);
+        experiment.addMeasurement(flightRecording);
+      }
+
+      // Store the experiment.
+      synchronized (PROFILE_DB_LOCK) {
+        try {
+          createProfileDB().append(new File(parameters.profileDbLocation), experiment);
+        } catch (IOException e) {
+          LOG.error("Could not store ProfileDB experiment: {}", e);
+        }
+      }
+    }
+
+    return outcome.getExitCode();
+  }
+
+  /**
+   * Create a {@link ProfileDB} that knows all measurement types stored by the CLI, so that
+   * experiments of workers can be loaded again.
+   */
+  static ProfileDB createProfileDB() {
+    return new ProfileDB()
+        .registerMeasurementClass(CounterMeasurement.class)
+        .registerMeasurementClass(ColumnStatisticsMeasurement.class)
+        .registerMeasurementClass(FlightRecordingMeasurement.class);
+  }
+
+  /**
+   * Run the warm-up and measured iterations of a repeated measurement ahead of the regular run,
+   * which produces the results. Unless results are discarded anyway, the regular run is not part
+   * of the statistics. Each iteration uses a freshly configured {@link Algorithm} instance and the
+   * same result decorators as the regular run, but discards its results instead of storing them,
+   * so that all measured iterations do the same work.
+   *
+   * @param parameters describe the run
+   * @param prescanStatistics the {@link ColumnStatistics} of the pre-scan or {@code null}
+   * @param isCounting whether the regular run counts rows and results
+   * @param numMeasuredIterations the number of measured iterations to run
+   * @param measuredMillis collects the execution times of the measured iterations
+   * @return {@code 0} or the exit code of a failed iteration
+   */
+  private static int runPreliminaryIterations(Parameters parameters,
+      List<ColumnStatistics> prescanStatistics, boolean isCounting, int numMeasuredIterations,
+      List<Long> measuredMillis) {
+    int numIterations = parameters.numWarmupIterations + numMeasuredIterations;
+    for (int iteration = 0; iteration < numIterations; iteration++) {
+      boolean isWarmup = iteration < parameters.numWarmupIterations;
+      RunCounters counters = isCounting ? new RunCounters() : null;
+      OmniscientResultReceiver resultReceiver;
+      try {
+        resultReceiver =
+            decorateResultReceiver(parameters, new DiscardingResultReceiver(), null, counters);
+      } catch (FileNotFoundException e) {
+        throw new RuntimeException("Unexpected exception.", e);
+      }
+      Closer runResources = Closer.create();
+      Algorithm algorithm;
+      try {
+        algorithm = configureAlgorithm(parameters, resultReceiver, null, counters, null,
+            prescanStatistics, runResources);
+      } catch (RunAbortedException e) {
+        closeRunResources(runResources);
+        return e.getExitCode();
+      }
+      TempFileGenerator tempFileGenerator = setUpTempFileGenerator(parameters, algorithm);
+
+      System.gc();
+      AlgorithmExecutor executor =
+          new AlgorithmExecutor(parameters.timeoutMillis, parameters.maxHeapUsage);
+      AlgorithmExecutor.Outcome outcome;
+      long millis;
+      try {
+        long startNanos = System.nanoTime();
+        outcome = executor.execute(algorithm);
+        millis = (System.nanoTime() - startNanos) / 1_000_000L;
+      } finally {
+        if (executor.isAbandoned()) {
+          LOG.error("Leaving the inputs and outputs of the abandoned algorithm open.");
+        } else {
+          if (tempFileGenerator != null) {
+            tempFileGenerator.cleanUp();
+          }
+          ForwardingResultReceiver.closeDecorators(resultReceiver);
+          closeRunResources(runResources);
+        }
+      }
+
+      if (outcome != AlgorithmExecutor.Outcome.SUCCESS) {
+        LOG.error("Iteration {} did not succeed ({}).", iteration + 1, outcome);
+        return outcome.getExitCode();
+      }
+      LOG.info("{} iteration {} took {} ms.",
+          isWarmup ? "Warm-up" : "Measured", iteration + 1, millis);
+      if (!isWarmup) {
+        measuredMillis.add(millis);
+      }
+    }
+    return 0;
+  }
+
+  private static void addExecutionTimeStatistics(Experiment experiment,
+      List<Long> measuredMillis) {
+    ExecutionTimeStatistics statistics = new ExecutionTimeStatistics(measuredMillis);
+    addTimeMeasurement(experiment, "execution-millis-min", statistics.getMin());
+    addTimeMeasurement(experiment, "execution-millis-median", statistics.getMedian());
+    addTimeMeasurement(experiment, "execution-millis-p95", statistics.getPercentile(95));
+    addTimeMeasurement(experiment, "execution-millis-max", statistics.getMax());
+    addTimeMeasurement(experiment, "execution-millis-stddev",
+        Math.round(statistics.getStandardDeviation()));
+
+    // Keep the individual iterations as rounds.
+    TimeMeasurement iterations = new TimeMeasurement("execution-millis-iterations");
+    for (int i = 0; i < measuredMillis.size(); i++) {
+      iterations.getOrCreateRound("iteration-" + (i + 1)).setMillis(measuredMillis.get(i));
+    }
+    iterations.setMillis(measuredMillis.stream().mapToLong(Long::longValue).sum());
+    experiment.addMeasurement(iterations);
+  }
+
+  private static void addTimeMeasurement(Experiment experiment, String id, long millis) {
+    TimeMeasurement timeMeasurement = new TimeMeasurement(id);
+    timeMeasurement.setMillis(millis);
+    experiment.addMeasurement(timeMeasurement);
+  }
+
+  /**
+   * Start a Flight Recorder recording of the algorithm execution if requested. The recording is
+   * written to the {@code results} directory, next to file outputs.
+   *
+   * @param parameters describe the run
+   * @param algorithm the {@link Algorithm} to be executed
+   * @return the {@link FlightRecorderSession} or {@code null} if no recording was requested or it
+   * could not be started
+   */
+  private static FlightRecorderSession startFlightRecorder(Parameters parameters,
+      Algorithm algorithm) {
+    if (!parameters.isFlightRecording) {
+      return null;
+    }
+    File file = new File("results", qualifyName(parameters,
+        formatTimestamp() + "_" + algorithm.getClass().getSimpleName() + ".jfr"));
+    try {
+      return FlightRecorderSession.start(parameters.flightRecorderSettings, file);
+    } catch (IOException | ParseException | RuntimeException | LinkageError e) {
+      // Profiling is auxiliary, so the run goes on without it.
+      LOG.error("Could not start Flight Recorder.", e);
+      return null;
+    }
+  }
+
+  /**
+   * Make a run-specific name, e.g., of a file, for runs that are part of a sweep.
+   *
+   * @param parameters describe the run
+   * @param name the name as specified by the user
+   * @return the name, possibly qualified with the sweep point ID before its extension
+   */
+  private static String qualifyName(Parameters parameters, String name) {
+    if (parameters.sweepPointId == null) {
+      return name;
+    }
+    int extensionIndex = name.lastIndexOf('.');
+    if (extensionIndex <= name.lastIndexOf(File.separatorChar) + 1) {
+      return name + '-' + parameters.sweepPointId;
+    }
+    return name.substring(0, extensionIndex) + '-' + parameters.sweepPointId
+        + name.substring(extensionIndex);
+  }
+
+  private static void storeColumnStatistics(Parameters parameters,
+      List<ColumnStatistics> columnStatistics) {
+    synchronized (columnStatistics) {
+      for (ColumnStatistics relationStatistics : columnStatistics) {
+        for (int i = 0; i < relationStatistics.getColumnNames().size(); i++) {
+          LOG.debug("Column {}.{}: {} chars, {} nulls, ~{} distinct values, {} ms parsing.",
+              relationStatistics.getRelationName(), relationStatistics.getColumnNames().get(i),
+              relationStatistics.getNumChars(i), relationStatistics.getNumNulls(i),
+              relationStatistics.getNumDistinctValues(i), relationStatistics.getParseMillis(i));
+        }
+      }
+      if (parameters.columnStatisticsFile != null) {
+        try {
+          String file = qualifyName(parameters, parameters.columnStatisticsFile);
+          ColumnStatistics.write(columnStatistics, new File(file));
+          LOG.info("Wrote column statistics to {}.", file);
+        } catch (IOException e) {
+          LOG.error("Could not write column statistics.", e);
+        }
+      }
+    }
+  }
+
+  private static MetricsExporter setUpMetricsExporter(Parameters parameters, RunMetrics metrics)
+      throws RunAbortedException {
+    if (metrics == null) {
+      return null;
+    }
+    try {
+      return new MetricsExporter(metrics, parameters.isRegisteringMetricsMBean,
+          parameters.sweepPointId, parameters.metricsPort,
+          parameters.metricsFile == null ? null : qualifyName(parameters, parameters.metricsFile),
+          parameters.metricsIntervalMillis);
+    } catch (IOException e) {
+      LOG.error("Could not export metrics.", e);
+      throw new RunAbortedException(1, "Could not export metrics.");
+    }
+  }
+
+  /**
+   * Tell whether any of several asynchronously fed result sinks failed and missed results.
+   */
+  private static boolean hasFailedSinks(OmniscientResultReceiver resultReceiver) {
+    return resultReceiver instanceof FanOutResultReceiver
+        && ((FanOutResultReceiver) resultReceiver).hasFailedSinks();
+  }
+
+  /**
+   * Close a result sink according to its output mode.
+   *
+   * @param output the output specification of the sink
+   * @param resultReceiver the result sink
+   * @return whether the results could be stored
+   */
+  private static boolean closeResultSink(String output, OmniscientResultReceiver resultReceiver) {
     // Handle "file:exec-id" formats properly.
     ResultCache resultCache;
-    switch (parameters.output.split(":")[0]) {
+    switch (output.split(":")[0]) {
       case "print":
         resultCache = (ResultCache) resultReceiver;
         LOG.info("Results:");
@@ -162,20 +890,20 @@ public class App {
         }
         break;
       default:
-        LOG.warn("Unknown output mode \"{}\". Defaulting to \"file\"", parameters.output);
+        LOG.warn("Unknown output mode \"{}\". Defaulting to \"file\"", output);
       case "crate":
-        if (resultReceiver instanceof MetacrateResultReceiver) {
+        if (MetacrateSupport.isMetacrateOutput(output)) {
           try {
-            MetacrateResultReceiver metacrateResultReceiver = (MetacrateResultReceiver) resultReceiver;
-            metacrateResultReceiver.close();
+            MetacrateSupport.close(resultReceiver);
             break;
           } catch (Exception e) {
             LOG.error("Storing the result failed.", e);
-            System.exit(4);
+            return false;
           }
         }
       case "file!":
       case "file":
+      case "stream":
       case "none":
         try {
           if (resultReceiver instanceof Closeable) {
@@ -183,100 +911,187 @@ public class App {
           }
         } catch (IOException e) {
           LOG.error("Storing the result failed.", e);
-          System.exit(4);
+          return false;
         }
         break;
     }
+    return true;
+  }
 
-    if (isExecutionSuccess && experiment != null) {
-      // Register additional configuration.
-      for (String spec : parameters.profileDbConf) {
-        int colonIndex = spec.indexOf(':');
-        if (colonIndex != -1) {
-          experiment.getSubject()
-              .addConfiguration(spec.substring(0, colonIndex), spec.substring(colonIndex + 1));
-        }
+  /**
+   * Provide the result sinks for the output specification.
+   *
+   * @param parameters contain the output specification
+   * @param resultReceiver the {@link OmniscientResultReceiver} created for the output specification
+   * @return the result sinks along with their output specifications
+   */
+  private static List<Pair<String, OmniscientResultReceiver>> getResultSinks(
+      Parameters parameters, OmniscientResultReceiver resultReceiver) {
+    if (resultReceiver instanceof FanOutResultReceiver) {
+      return ((FanOutResultReceiver) resultReceiver).getSinks();
+    }
+    String output = parameters.isDiscardingResults ? "none" : parameters.output;
+    return Collections.singletonList(Pair.of(output, resultReceiver));
+  }
+
+  private static ResultCheckpoint setUpResultCheckpoint(Parameters parameters)
+      throws RunAbortedException {
+    if (parameters.checkpointDirectory == null) {
+      if (parameters.resumeRunId != null) {
+        LOG.error("Cannot resume run \"{}\" without --checkpoint.", parameters.resumeRunId);
+        throw new RunAbortedException(1, "Cannot resume without checkpoint.");
       }
+      return null;
+    }
+    String runId = qualifyName(parameters,
+        parameters.resumeRunId == null ? formatTimestamp() : parameters.resumeRunId);
+    try {
+      ResultCheckpoint checkpoint = new ResultCheckpoint(
+          new File(parameters.checkpointDirectory), runId, parameters.checkpointIntervalMillis
+      );
+      LOG.info("Checkpointing results of run \"{}\" to {}.", runId, checkpoint.getDirectory());
+      return checkpoint;
+    } catch (IOException e) {
+      LOG.error("Could not set up the result checkpoint.", e);
+      throw new RunAbortedException(4, "Could not set up the result checkpoint.");
+    }
+  }
 
-      // Register measured time.
-      TimeMeasurement timeMeasurement = new TimeMeasurement("execution-millis");
-      timeMeasurement.setMillis(elapsedMillis);
-      experiment.addMeasurement(timeMeasurement);
+  /**
+   * Wrap the result sink with the {@link ForwardingResultReceiver}s requested by the user.
+   *
+   * @param parameters tell which {@link ForwardingResultReceiver}s to apply
+   * @param resultReceiver the result sink
+   * @param checkpoint a {@link ResultCheckpoint} or {@code null}
+   * @param counters {@link RunCounters} to count the results in or {@code null}
+   * @return the {@link OmniscientResultReceiver} to be passed to the algorithm
+   */
+  private static OmniscientResultReceiver decorateResultReceiver(Parameters parameters,
+      OmniscientResultReceiver resultReceiver, ResultCheckpoint checkpoint, RunCounters counters) {
+    try {
+      OmniscientResultReceiver decoratedResultReceiver = resultReceiver;
+      if (checkpoint != null) {
+        decoratedResultReceiver =
+            new CheckpointingResultReceiver(decoratedResultReceiver, checkpoint);
+      }
+      if (parameters.isDeduplicatingResults || parameters.isFilteringNonMinimalResults) {
+        decoratedResultReceiver = new DeduplicatingResultReceiver(
+            decoratedResultReceiver, parameters.isFilteringNonMinimalResults
+        );
+      }
+      if (counters != null) {
+        decoratedResultReceiver = new CountingResultReceiver(decoratedResultReceiver, counters);
+      }
+      return decoratedResultReceiver;
+    } catch (FileNotFoundException e) {
+      throw new RuntimeException("Unexpected exception.", e);
+    }
+  }
 
-      // Store the experiment.
+  /**
+   * Deliver the {@link Result}s of a previous, interrupted run to the {@link Algorithm} and through
+   * the decorated result receiver, so that they are counted and deduplicated like new results.
+   * Algorithms that do not support resuming start over, so they do not get the previous results
+   * to avoid delivering them twice.
+   *
+   * @param checkpoint the {@link ResultCheckpoint} of the interrupted run
+   * @param resultReceiver the decorated result receiver of the algorithm
+   * @param algorithm the {@link Algorithm} to resume
+   */
+  private static void resume(ResultCheckpoint checkpoint, OmniscientResultReceiver resultReceiver,
+      Algorithm algorithm) throws RunAbortedException {
+    if (!(algorithm instanceof ResumableAlgorithm)) {
+      LOG.warn("Algorithm does not support resuming. It will start over.");
+      return;
+    }
+    try {
+      // A run that started over after an earlier resume may have recorded results twice.
+      List<Result> results = new ArrayList<>(new LinkedHashSet<>(checkpoint.load()));
+      LOG.info("Resuming with {} previously found results.", results.size());
+      CheckpointingResultReceiver checkpointingResultReceiver =
+          ForwardingResultReceiver.find(resultReceiver, CheckpointingResultReceiver.class);
+      checkpointingResultReceiver.setReplaying(true);
       try {
-        new ProfileDB().append(new File(parameters.profileDbLocation), experiment);
-      } catch (IOException e) {
-        LOG.error("Could not store ProfileDB experiment: {}", e);
+        for (Result result : results) {
+          result.sendResultTo(resultReceiver);
+        }
+      } finally {
+        checkpointingResultReceiver.setReplaying(false);
       }
+      ((ResumableAlgorithm) algorithm).setResumedResults(results);
+    } catch (Exception e) {
+      LOG.error("Could not resume run.", e);
+      throw new RunAbortedException(3, "Could not resume run.");
     }
+  }
 
-    System.exit(isExecutionSuccess ? 0 : 23);
+  private static String formatTimestamp() {
+    Calendar calendar = GregorianCalendar.getInstance();
+    return String.format("%04d-%02d-%02d_%02d-%02d-%02d",
+        calendar.get(Calendar.YEAR),
+        calendar.get(Calendar.MONTH) + 1,
+        calendar.get(Calendar.DATE),
+        calendar.get(Calendar.HOUR_OF_DAY),
+        calendar.get(Calendar.MINUTE),
+        calendar.get(Calendar.SECOND)
+    );
   }
 
   private static OmniscientResultReceiver createResultReceiver(Parameters parameters) {
+    if (parameters.isDiscardingResults) {
+      LOG.info("Discarding all results.");
+      return createResultReceiver(parameters, "none");
+    }
+    String[] outputs = parameters.output.split(",");
+    if (outputs.length == 1 && !parameters.output.startsWith("stream:")) {
+      return createResultReceiver(parameters, parameters.output);
+    }
+    // Several outputs and streams are fed asynchronously.
+    List<Pair<String, OmniscientResultReceiver>> sinks = new ArrayList<>();
+    for (String output : outputs) {
+      sinks.add(Pair.of(output, createResultReceiver(parameters, output)));
+    }
+    try {
+      return new FanOutResultReceiver(sinks, parameters.outputQueueCapacity);
+    } catch (FileNotFoundException e) {
+      throw new RuntimeException("Unexpected exception.", e);
+    }
+  }
+
+  private static OmniscientResultReceiver createResultReceiver(Parameters parameters,
+      String output) {
     String executionId;
-    if (parameters.output.equalsIgnoreCase("none")) {
+    if (output.equalsIgnoreCase("none")) {
       try {
         return new DiscardingResultReceiver();
       } catch (FileNotFoundException e) {
         throw new RuntimeException(e);
       }
-    } else if (parameters.output.startsWith("crate:")) {
-      int lastColonIndex = parameters.output.lastIndexOf(":");
-      if (lastColonIndex == "crate:".length() - 1) {
-        throw new IllegalArgumentException(
-            String.format("Could not parse output \"%s\".", parameters.output));
-      }
-      String scopeIdentifier = parameters.output.substring(lastColonIndex + 1);
-      String cratePath = parameters.output.substring("crate:".length(), lastColonIndex);
-      MetadataStoreParameters metadataStoreParameters = new MetadataStoreParameters();
-      metadataStoreParameters.metadataStore = cratePath;
-      MetadataStore metadataStore = MetadataStoreUtil.loadMetadataStore(metadataStoreParameters);
-      Target scope = metadataStore.getTargetByName(scopeIdentifier);
-      if (scope == null) {
-        throw new IllegalArgumentException("No such schema element: \"" + scopeIdentifier + "\".");
-      }
-      int schemaId = metadataStore.getIdUtils().getSchemaId(scope.getId());
-      Schema schema = metadataStore.getSchemaById(schemaId);
-      return new MetacrateResultReceiver(
-          metadataStore,
-          schema,
-          Collections.singleton(scope),
-          String.format("%s (%s, %s)", parameters.algorithmClassName, new Date(), "%s")
-      );
+    } else if (output.startsWith("stream:")) {
+      try {
+        return new StreamingResultReceiver(output.substring("stream:".length()));
+      } catch (IOException e) {
+        throw new UncheckedIOException("Could not open result stream.", e);
+      }
+    } else if (MetacrateSupport.isMetacrateOutput(output)) {
+      return MetacrateSupport.createResultReceiver(output, parameters.algorithmClassName);
     }
 
     boolean isCaching;
-    if (parameters.output.startsWith("file:")) {
-      executionId = parameters.output.substring("file:".length());
+    if (output.startsWith("file:")) {
+      executionId = output.substring("file:".length());
       isCaching = true;
-    } else if (parameters.output.startsWith("file!:")) {
-      executionId = parameters.output.substring("file!:".length());
+    } else if (output.startsWith("file!:")) {
+      executionId = output.substring("file!:".length());
       isCaching = false;
-    } else if (parameters.output.equalsIgnoreCase("file!")) {
-      Calendar calendar = GregorianCalendar.getInstance();
-      executionId = String.format("%04d-%02d-%02d_%02d-%02d-%02d",
-          calendar.get(Calendar.YEAR),
-          calendar.get(Calendar.MONTH) + 1,
-          calendar.get(Calendar.DATE),
-          calendar.get(Calendar.HOUR_OF_DAY),
-          calendar.get(Calendar.MINUTE),
-          calendar.get(Calendar.SECOND)
-      );
+    } else if (output.equalsIgnoreCase("file!")) {
+      executionId = formatTimestamp();
       isCaching = false;
     } else {
-      Calendar calendar = GregorianCalendar.getInstance();
-      executionId = String.format("%04d-%02d-%02d_%02d-%02d-%02d",
-          calendar.get(Calendar.YEAR),
-          calendar.get(Calendar.MONTH) + 1,
-          calendar.get(Calendar.DATE),
-          calendar.get(Calendar.HOUR_OF_DAY),
-          calendar.get(Calendar.MINUTE),
-          calendar.get(Calendar.SECOND)
-      );
+      executionId = formatTimestamp();
       isCaching = true;
     }
+    executionId = qualifyName(parameters, executionId);
     try {
       return isCaching ?
           new ResultCache(executionId, null) :
@@ -306,21 +1121,34 @@ public class App {
    * @param parameters tell which {@link Algorithm} to instantiate and provides its properties.
    * @param resultReceiver that should be used by the {@link Algorithm} to store results
    * @param experiment a ProfileDB {@link Experiment} or {@code null}
+   * @param counters {@link RunCounters} to count the input rows in or {@code null}
+   * @param columnStatistics collects {@link ColumnStatistics} of the inputs or {@code null}
+   * @param prescanStatistics the {@link ColumnStatistics} of the pre-scan or {@code null}
+   * @param runResources collects resources to be released after the run
    * @return the configured {@link Algorithm} instance
    */
   private static Algorithm configureAlgorithm(Parameters parameters,
-      OmniscientResultReceiver resultReceiver, Experiment experiment) {
+      OmniscientResultReceiver resultReceiver, Experiment experiment, RunCounters counters,
+      List<ColumnStatistics> columnStatistics, List<ColumnStatistics> prescanStatistics,
+      Closer runResources) throws RunAbortedException {
     try {
       final Algorithm algorithm = createAlgorithm(parameters.algorithmClassName);
       loadMiscConfigurations(parameters, algorithm, experiment);
-      setUpInputGenerators(parameters, algorithm, experiment);
+      setUpResources(parameters, algorithm, experiment);
+      setUpInputGenerators(parameters, algorithm, experiment, counters, columnStatistics,
+          runResources);
+      setUpPliProvider(parameters, algorithm, runResources);
+      if (prescanStatistics != null && algorithm instanceof PrescanParameterAlgorithm) {
+        ((PrescanParameterAlgorithm) algorithm).setColumnStatistics(prescanStatistics);
+      }
       configureResultReceiver(algorithm, resultReceiver);
       return algorithm;
 
+    } catch (RunAbortedException e) {
+      throw e;
     } catch (Exception e) {
       LOG.error("Could not initialize algorithm.", e);
-      System.exit(3);
-      return null;
+      throw new RunAbortedException(3, "Could not initialize algorithm.");
     }
   }
 
@@ -353,27 +1181,78 @@ public class App {
   }
 
 
-  private static void setUpInputGenerators(Parameters parameters, Algorithm algorithm,
+  /**
+   * Provide the centrally managed thread pool and memory budget to a
+   * {@link ResourceParameterAlgorithm}.
+   */
+  static void setUpResources(Parameters parameters, Algorithm algorithm,
       Experiment experiment) throws AlgorithmConfigurationException {
+    if (!(algorithm instanceof ResourceParameterAlgorithm)) {
+      return;
+    }
+    // The pool is sized by its first user, so report its actual parallelism.
+    ForkJoinPool executorService = getSharedExecutorService(getThreads(parameters));
+    int threads = executorService.getParallelism();
+    long memoryBudget = parameters.memoryBudget > 0 ?
+        parameters.memoryBudget :
+        // Leave headroom for the CLI and split the heap among concurrent sweep runs.
+        Runtime.getRuntime().maxMemory() / 4 * 3 / Math.max(parameters.sweepParallelism, 1);
+    LOG.info("Providing {} threads and a memory budget of {} MiB.", threads, memoryBudget >> 20);
+
+    ResourceParameterAlgorithm resourceParameterAlgorithm = (ResourceParameterAlgorithm) algorithm;
+    resourceParameterAlgorithm.setExecutorService(executorService, threads);
+    resourceParameterAlgorithm.setMemoryBudget(memoryBudget);
+
+    if (experiment != null) {
+      experiment.getSubject().addConfiguration("threads", threads);
+      experiment.getSubject().addConfiguration("memory-budget", memoryBudget);
+    }
+  }
+
+  private static int getThreads(Parameters parameters) {
+    return parameters.threads > 0 ? parameters.threads : Runtime.getRuntime().availableProcessors();
+  }
+
+  private static synchronized ForkJoinPool getSharedExecutorService(int threads) {
+    if (sharedExecutorService == null) {
+      sharedExecutorService = new ForkJoinPool(threads);
+    } else if (sharedExecutorService.getParallelism() != threads) {
+      LOG.warn("Using the shared thread pool with {} threads instead of {}.",
+          sharedExecutorService.getParallelism(), threads);
+    }
+    return sharedExecutorService;
+  }
+
+  private static void closeRunResources(Closer runResources) {
+    try {
+      runResources.close();
+    } catch (IOException e) {
+      LOG.error("Could not release the resources of the run.", e);
+    }
+  }
+
+  private static void setUpInputGenerators(Parameters parameters, Algorithm algorithm,
+      Experiment experiment, RunCounters counters, List<ColumnStatistics> columnStatistics,
+      Closer runResources) throws AlgorithmConfigurationException, RunAbortedException {
     if (parameters.pgpassPath != null) {
       // We assume that we are given table inputs.
-      ConfigurationSettingDatabaseConnection databaseSettings = loadConfigurationSettingDatabaseConnection(
+      ConfigurationSettingDatabaseConnection databaseSettings = DatabaseSupport.loadConfigurationSettingDatabaseConnection(
           parameters.pgpassPath, parameters.dbType
       );
-      if (algorithm instanceof RelationalInputParameterAlgorithm) {
+      if (algorithm instanceof RelationalInputParameterAlgorithm
+          || algorithm instanceof ColumnBatchInputParameterAlgorithm) {
         List<RelationalInputGenerator> inputGenerators = new LinkedList<>();
         for (int i = 0; i < parameters.inputDatasets.size(); i++) {
-          inputGenerators.addAll(createTableInputGenerators(parameters, i, databaseSettings));
+          inputGenerators.addAll(DatabaseSupport.createTableInputGenerators(parameters, i, databaseSettings));
         }
-        ((RelationalInputParameterAlgorithm) algorithm).setRelationalInputConfigurationValue(
-            parameters.inputDatasetKey,
-            inputGenerators.toArray(new RelationalInputGenerator[inputGenerators.size()])
-        );
+        setRelationalInputGenerators(parameters, algorithm,
+            decorateInputGenerators(parameters, inputGenerators, counters, columnStatistics),
+            runResources);
 
       } else if (algorithm instanceof TableInputParameterAlgorithm) {
         List<TableInputGenerator> inputGenerators = new LinkedList<>();
         for (int i = 0; i < parameters.inputDatasets.size(); i++) {
-          inputGenerators.addAll(createTableInputGenerators(parameters, i, databaseSettings));
+          inputGenerators.addAll(DatabaseSupport.createTableInputGenerators(parameters, i, databaseSettings));
         }
         ((TableInputParameterAlgorithm) algorithm).setTableInputConfigurationValue(
             parameters.inputDatasetKey,
@@ -381,8 +1260,7 @@ public class App {
         );
       } else {
         LOG.error("Algorithm does not implement a supported input method (relational/tables).");
-        System.exit(5);
-        return;
+        throw new RunAbortedException(5, "Unsupported input method.");
       }
 
       if (algorithm instanceof DatabaseConnectionParameterAlgorithm) {
@@ -395,7 +1273,7 @@ public class App {
           LOG.debug("DatabaseConnection not specified");
         } else {
           Preconditions.checkState(db.size() == 1, "More than one DB conf requirement");
-          final DatabaseConnectionGenerator generator = createDatabaseConnectionGenerator(
+          final DatabaseConnectionGenerator generator = DatabaseSupport.createDatabaseConnectionGenerator(
               databaseSettings);
           ((DatabaseConnectionParameterAlgorithm) algorithm)
               .setDatabaseConnectionGeneratorConfigurationValue(db.get(0).getIdentifier(),
@@ -405,16 +1283,16 @@ public class App {
 
     } else {
       // We assume that we are given file inputs.
-      if (algorithm instanceof RelationalInputParameterAlgorithm) {
+      if (algorithm instanceof RelationalInputParameterAlgorithm
+          || algorithm instanceof ColumnBatchInputParameterAlgorithm) {
         List<RelationalInputGenerator> inputGenerators = new LinkedList<>();
         for (int i = 0; i < parameters.inputDatasets.size(); i++) {
           inputGenerators
               .addAll(createFileInputGenerators(parameters, i, RelationalInputGenerator.class));
         }
-        ((RelationalInputParameterAlgorithm) algorithm).setRelationalInputConfigurationValue(
-            parameters.inputDatasetKey,
-            inputGenerators.toArray(new RelationalInputGenerator[inputGenerators.size()])
-        );
+        setRelationalInputGenerators(parameters, algorithm,
+            decorateInputGenerators(parameters, inputGenerators, counters, columnStatistics),
+            runResources);
 
       } else {
         boolean isAnyInput = false;
@@ -447,8 +1325,7 @@ public class App {
 
         if (!isAnyInput) {
           LOG.error("Algorithm does not implement a supported input method (relational/files).");
-          System.exit(5);
-          return;
+          throw new RunAbortedException(5, "Unsupported input method.");
         }
       }
     }
@@ -460,6 +1337,214 @@ public class App {
   }
 
 
+  /**
+   * Pass the relational inputs to the algorithm, preferring {@link ColumnBatch}es if the algorithm
+   * accepts them. Algorithms that work on value ids get a shared {@link GlobalValueDictionary}.
+   */
+  private static void setRelationalInputGenerators(Parameters parameters, Algorithm algorithm,
+      RelationalInputGenerator[] inputGenerators, Closer runResources)
+      throws AlgorithmConfigurationException {
+    if (algorithm instanceof ColumnBatchInputParameterAlgorithm) {
+      GlobalValueDictionary dictionary = null;
+      if (algorithm instanceof ValueDictionaryParameterAlgorithm) {
+        dictionary = runResources.register(new GlobalValueDictionary(
+            parameters.valueDictionaryMemory,
+            new File(parameters.tempFileDirectories.isEmpty() ?
+                System.getProperty("java.io.tmpdir") :
+                parameters.tempFileDirectories.get(0))
+        ));
+        ((ValueDictionaryParameterAlgorithm) algorithm).setValueDictionary(dictionary);
+      }
+      ColumnBatchInputGenerator[] batchInputGenerators =
+          new ColumnBatchInputGenerator[inputGenerators.length];
+      for (int i = 0; i < inputGenerators.length; i++) {
+        batchInputGenerators[i] = new ColumnBatchInputAdapter(inputGenerators[i], dictionary);
+      }
+      ((ColumnBatchInputParameterAlgorithm) algorithm).setColumnBatchInputConfigurationValue(
+          parameters.inputDatasetKey, batchInputGenerators
+      );
+    } else {
+      ((RelationalInputParameterAlgorithm) algorithm).setRelationalInputConfigurationValue(
+          parameters.inputDatasetKey, inputGenerators
+      );
+    }
+  }
+
+  /**
+   * Provide a {@link PliCache} over the inputs to a {@link PliParameterAlgorithm}. Only local input
+   * files have their {@link PositionListIndex}es persisted.
+   */
+  private static void setUpPliProvider(Parameters parameters, Algorithm algorithm,
+      Closer runResources) throws AlgorithmConfigurationException {
+    if (!(algorithm instanceof PliParameterAlgorithm)) {
+      return;
+    }
+    List<RelationalInputGenerator> inputGenerators = createRelationalInputGenerators(parameters);
+    // The inputs are read only when the algorithm requests the indices.
+    runResources.register(() -> closeInputGenerators(inputGenerators));
+    ((PliParameterAlgorithm) algorithm).setPliProvider(new PliCache(
+        inputGenerators,
+        getInputFiles(inputGenerators),
+        getParsingSpecification(parameters),
+        parameters.pliCacheDirectory == null ? null : new File(parameters.pliCacheDirectory),
+        getSharedExecutorService(getThreads(parameters))
+    ));
+  }
+
+  /**
+   * Create undecorated {@link RelationalInputGenerator}s for all inputs, e.g., to analyze them
+   * independently of the algorithm.
+   */
+  private static List<RelationalInputGenerator> createRelationalInputGenerators(
+      Parameters parameters) throws AlgorithmConfigurationException {
+    List<RelationalInputGenerator> inputGenerators = new ArrayList<>();
+    if (parameters.pgpassPath != null) {
+      ConfigurationSettingDatabaseConnection databaseSettings = DatabaseSupport.loadConfigurationSettingDatabaseConnection(
+          parameters.pgpassPath, parameters.dbType
+      );
+      for (int i = 0; i < parameters.inputDatasets.size(); i++) {
+        inputGenerators.addAll(DatabaseSupport.createTableInputGenerators(parameters, i, databaseSettings));
+      }
+    } else {
+      for (int i = 0; i < parameters.inputDatasets.size(); i++) {
+        inputGenerators
+            .addAll(createFileInputGenerators(parameters, i, RelationalInputGenerator.class));
+      }
+    }
+    return inputGenerators;
+  }
+
+  /**
+   * Close {@link RelationalInputGenerator}s created by
+   * {@link #createRelationalInputGenerators(Parameters)}, e.g., to release database connections.
+   */
+  private static void closeInputGenerators(List<RelationalInputGenerator> inputGenerators)
+      throws IOException {
+    IOException failure = null;
+    for (RelationalInputGenerator inputGenerator : inputGenerators) {
+      try {
+        inputGenerator.close();
+      } catch (Exception e) {
+        if (failure == null) {
+          failure = new IOException("Could not close input.", e);
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Determine the local files of the given {@link RelationalInputGenerator}s.
+   *
+   * @return the files or {@code null}s for other inputs
+   */
+  private static List<File> getInputFiles(List<RelationalInputGenerator> inputGenerators) {
+    List<File> inputFiles = new ArrayList<>();
+    for (RelationalInputGenerator inputGenerator : inputGenerators) {
+      inputFiles.add(inputGenerator instanceof DefaultFileInputGenerator ?
+          ((DefaultFileInputGenerator) inputGenerator).getInputFile() :
+          null);
+    }
+    return inputFiles;
+  }
+
+  /**
+   * Gather the {@link ColumnStatistics} of all inputs if requested via {@code --prescan} or if the
+   * algorithm is a {@link PrescanParameterAlgorithm}.
+   *
+   * @return the {@link ColumnStatistics} or {@code null} if the inputs are not scanned
+   */
+  private static List<ColumnStatistics> prescan(Parameters parameters)
+      throws AlgorithmConfigurationException, InputGenerationException {
+    boolean isPrescanning = parameters.isPrescanning;
+    try {
+      isPrescanning |= PrescanParameterAlgorithm.class
+          .isAssignableFrom(Class.forName(parameters.algorithmClassName));
+    } catch (ClassNotFoundException e) {
+      // The algorithm initialization reports this.
+    }
+    if (!isPrescanning) {
+      return null;
+    }
+    LOG.info("Scanning inputs.");
+    List<RelationalInputGenerator> inputGenerators = createRelationalInputGenerators(parameters);
+    try {
+      return new ColumnPrescanner(
+          getParsingSpecification(parameters),
+          parameters.prescanCacheDirectory == null ? null : new File(parameters.prescanCacheDirectory),
+          getSharedExecutorService(getThreads(parameters))
+      ).scan(inputGenerators, getInputFiles(inputGenerators));
+    } finally {
+      try {
+        closeInputGenerators(inputGenerators);
+      } catch (IOException e) {
+        LOG.warn("Could not close the scanned inputs.", e);
+      }
+    }
+  }
+
+  /**
+   * Wrap {@link RelationalInputGenerator}s, so that the rows read from them are counted and
+   * profiled. Other input types are not decorated, because algorithms usually access them via
+   * their specific APIs, e.g., JDBC.
+   *
+   * @param parameters tell whether to cache the inputs
+   * @param inputGenerators the {@link RelationalInputGenerator}s
+   * @param counters {@link RunCounters} to count the rows in or {@code null}
+   * @param columnStatistics collects {@link ColumnStatistics} of the inputs or {@code null}
+   * @return the possibly decorated {@link RelationalInputGenerator}s
+   */
+  private static RelationalInputGenerator[] decorateInputGenerators(Parameters parameters,
+      List<RelationalInputGenerator> inputGenerators, RunCounters counters,
+      List<ColumnStatistics> columnStatistics) {
+    List<RelationalInputGenerator> baseInputGenerators = inputGenerators;
+    if (parameters.isCachingInputs) {
+      // Runs with the same input specification share the cached inputs of the first such run.
+      baseInputGenerators = INPUT_CACHE.computeIfAbsent(getInputSpecification(parameters), key ->
+          inputGenerators.stream().map(CachedInputGenerator::new).collect(toList())
+      );
+    }
+    RelationalInputGenerator[] decoratedInputGenerators =
+        new RelationalInputGenerator[baseInputGenerators.size()];
+    int i = 0;
+    for (RelationalInputGenerator inputGenerator : baseInputGenerators) {
+      RelationalInputGenerator decoratedInputGenerator = inputGenerator;
+      if (columnStatistics != null) {
+        decoratedInputGenerator =
+            new ColumnStatisticsInputGenerator(decoratedInputGenerator, columnStatistics);
+      }
+      if (parameters.prefetchDepth > 0 && !parameters.isCachingInputs) {
+        decoratedInputGenerator =
+            new PrefetchingInputGenerator(decoratedInputGenerator, parameters.prefetchDepth);
+      }
+      if (counters != null) {
+        decoratedInputGenerator = new CountingInputGenerator(decoratedInputGenerator, counters);
+      }
+      decoratedInputGenerators[i++] = decoratedInputGenerator;
+    }
+    return decoratedInputGenerators;
+  }
+
+  private static String getInputSpecification(Parameters parameters) {
+    return String.join("\0", parameters.inputDatasets) + '\0' + parameters.pgpassPath + '\0'
+        + parameters.dbType + '\0' + getParsingSpecification(parameters);
+  }
+
+  /**
+   * Describe how input files are parsed.
+   */
+  private static String getParsingSpecification(Parameters parameters) {
+    return parameters.inputFileSeparator + '\0'
+        + parameters.inputFileQuotechar + '\0' + parameters.inputFileEscape + '\0'
+        + parameters.inputFileSkipLines + '\0' + parameters.inputFileStrictQuotes + '\0'
+        + parameters.inputFileIgnoreLeadingWhiteSpace + '\0' + parameters.inputFileHasHeader
+        + '\0' + parameters.inputFileSkipDifferingLines + '\0' + parameters.inputFileNullString;
+  }
+
   /**
    * Create a {@link DefaultFileInputGenerator}s.
    *
@@ -529,102 +1614,6 @@ public class App {
     return (T) generator;
   }
 
-  private static ConfigurationSettingDatabaseConnection loadConfigurationSettingDatabaseConnection(
-      String pgpassPath, String dbType) throws AlgorithmConfigurationException {
-    try {
-      String firstLine = Files.lines(new File(pgpassPath).toPath()).findFirst().orElseThrow(
-          () -> new AlgorithmConfigurationException("Could not load PGPass file.")
-      );
-      int colonPos1 = firstLine.indexOf(':');
-      int colonPos2 = firstLine.indexOf(':', colonPos1 + 1);
-      int colonPos3 = firstLine.indexOf(':', colonPos2 + 1);
-      int colonPos4 = firstLine.indexOf(':', colonPos3 + 1);
-      if (colonPos4 == -1) {
-        throw new IllegalArgumentException("Cannot parse PGPass file.");
-      }
-      String host = firstLine.substring(0, colonPos1);
-      String port = firstLine.substring(colonPos1 + 1, colonPos2);
-      String dbName = firstLine.substring(colonPos2 + 1, colonPos3);
-      String user = firstLine.substring(colonPos3 + 1, colonPos4);
-      String password = firstLine.substring(colonPos4 + 1);
-
-      // TODO: Consider special JDBC URL formats, such as Oracle Thin.
-      String jdbcUrl = String.format("jdbc:%s://%s:%s/%s", dbType, host, port, dbName);
-      DbSystem dbSystem = DbSystem.PostgreSQL;
-      if ("postgres".equalsIgnoreCase(dbType)) {
-        dbSystem = DbSystem.PostgreSQL;
-      } else if ("mysql".equalsIgnoreCase(dbType)) {
-        dbSystem = DbSystem.MySQL;
-      } else {
-        // TODO: Consider other DB types. But it does not seem that this is a crucial piece of information for Metanome.
-      }
-      return new ConfigurationSettingDatabaseConnection(
-          jdbcUrl, user, password, dbSystem
-      );
-    } catch (IOException e) {
-      throw new UncheckedIOException(e);
-    }
-  }
-
-  /**
-   * Create a {@link DefaultTableInputGenerator}s.
-   *
-   * @param parameters defines how to configure the {@link DefaultTableInputGenerator}
-   * @param parameterIndex index of the dataset parameter to create the {@link DefaultTableInputGenerator}s for
-   * @return the {@link DefaultFileInputGenerator}s
-   */
-  private static Collection<DefaultTableInputGenerator> createTableInputGenerators(
-      Parameters parameters,
-      int parameterIndex,
-      ConfigurationSettingDatabaseConnection databaseSettings)
-      throws AlgorithmConfigurationException {
-    final String parameter = parameters.inputDatasets.get(parameterIndex);
-    if (parameter.startsWith("load:")) {
-      try {
-        return Files.lines(Paths.get(parameter.substring("load:".length())))
-            .map(table -> {
-              try {
-                return createTableInputGenerator(databaseSettings, table);
-              } catch (AlgorithmConfigurationException e) {
-                throw new RuntimeException("Could not create input generator.", e);
-              }
-            })
-            .collect(toList());
-      } catch (IOException e) {
-        throw new UncheckedIOException("Could not load input specification file.", e);
-      } catch (RuntimeException e) {
-        if (e.getCause() != null && (e.getCause() instanceof AlgorithmConfigurationException)) {
-          throw (AlgorithmConfigurationException) e.getCause();
-        } else {
-          throw e;
-        }
-      }
-    } else {
-      return Collections.singleton(
-          createTableInputGenerator(databaseSettings, parameter)
-      );
-    }
-  }
-
-  private static DefaultTableInputGenerator createTableInputGenerator(
-      ConfigurationSettingDatabaseConnection configurationSettingDatabaseConnection, String table)
-      throws AlgorithmConfigurationException {
-    return new DefaultTableInputGenerator(new ConfigurationSettingTableInput(
-        table, configurationSettingDatabaseConnection
-    ));
-  }
-
-  private static DefaultDatabaseConnectionGenerator createDatabaseConnectionGenerator(
-      ConfigurationSettingDatabaseConnection configurationSettingDatabaseConnection)
-      throws AlgorithmConfigurationException {
-    return new DefaultDatabaseConnectionGenerator(new ConfigurationSettingDatabaseConnection(
-        configurationSettingDatabaseConnection.getDbUrl(),
-        configurationSettingDatabaseConnection.getUsername(),
-        configurationSettingDatabaseConnection.getPassword(),
-        configurationSettingDatabaseConnection.getSystem()
-    ));
-  }
-
   private static char toChar(String string) {
     if (string == null || string.isEmpty()) {
       return '\0';
@@ -662,8 +1651,11 @@ public class App {
       final Algorithm algorithm) {
     if (algorithm instanceof TempFileAlgorithm) {
       final TempFileGenerator generator = new TempFileGenerator(
-          algorithm.getClass().getSimpleName(),
-          parameters.tempFileDirectory,
+          qualifyName(parameters, algorithm.getClass().getSimpleName()),
+          parameters.tempFileDirectories,
+          parameters.tempFilePlacement,
+          parameters.tempFileMemoryDirectory,
+          parameters.tempFileMemoryBudget,
           parameters.clearTempFiles,
           parameters.clearTempFilesByPrefix);
       ((TempFileAlgorithm) algorithm).setTempFileGenerator(generator);
@@ -706,9 +1698,12 @@ public class App {
       isAnyResultReceiverConfigured = true;
     }
 
-    if (algorithm instanceof MetacrateClient && resultReceiver instanceof MetacrateResultReceiver) {
-      ((MetacrateClient) algorithm)
-          .setMetadataStore(((MetacrateResultReceiver) resultReceiver).getMetadataStore());
+    OmniscientResultReceiver resultSink = ForwardingResultReceiver.unwrap(resultReceiver);
+    List<OmniscientResultReceiver> resultSinks = resultSink instanceof FanOutResultReceiver ?
+        ((FanOutResultReceiver) resultSink).getSinks().stream().map(Pair::getRight).collect(toList()) :
+        Collections.singletonList(resultSink);
+    if (algorithm instanceof MetacrateClient) {
+      MetacrateSupport.setMetadataStore((MetacrateClient) algorithm, resultSinks);
     }
 
     if (!isAnyResultReceiverConfigured) {
@@ -720,7 +1715,7 @@ public class App {
    * Parameters for the Metanome CLI {@link App}.
    */
   @ToString
-  public static class Parameters {
+  public static class Parameters implements Cloneable {
 
     @Parameter(names = {
         "--algorithm-config"}, description = "algorithm configuration parameters (<name>:<value>)", variableArity = true)
@@ -771,8 +1766,17 @@ public class App {
     @Parameter(names = "--null", description = "representation of NULLs")
     public String inputFileNullString = "";
 
-    @Parameter(names = "--temp", description = "directory for temporary files")
-    public String tempFileDirectory;
+    @Parameter(names = "--temp", description = "directories for temporary files (comma-separated)")
+    public List<String> tempFileDirectories = new ArrayList<>();
+
+    @Parameter(names = "--temp-placement", description = "how to distribute temporary files over the directories (round-robin/free-space)", converter = TempFilePlacementConverter.class)
+    public TempFileGenerator.Placement tempFilePlacement = TempFileGenerator.Placement.ROUND_ROBIN;
+
+    @Parameter(names = "--temp-memory-budget", description = "bytes of temporary files to place in the memory-backed directory before falling back to --temp (e.g., 2g)", converter = ByteSizeConverter.class)
+    public long tempFileMemoryBudget = 0L;
+
+    @Parameter(names = "--temp-memory-dir", description = "memory-backed directory for temporary files")
+    public String tempFileMemoryDirectory = "/dev/shm";
 
     @Parameter(names = "--clearTempFiles", description = "clear temporary files")
     public boolean clearTempFiles = true;
@@ -780,10 +1784,55 @@ public class App {
     @Parameter(names = "--clearTempFilesByPrefix", description = "if additional files in the temp directory with same prefix should be removed")
     public boolean clearTempFilesByPrefix = false;
 
+    @Parameter(names = "--timeout", description = "abort the algorithm after this duration (e.g., 90m or 2h)", converter = DurationConverter.class)
+    public long timeoutMillis = 0L;
+
+    @Parameter(names = "--max-heap-usage", description = "abort the algorithm if the heap is more than this fraction full after a garbage collection (e.g., 0.95)")
+    public double maxHeapUsage = 0d;
+
+    @Parameter(names = "--progress", description = "log the throughput of results and input rows at this interval (e.g., 30s)", converter = DurationConverter.class)
+    public long progressIntervalMillis = 0L;
+
+    @Parameter(names = "--jmx", description = "register the run metrics as JMX MBean")
+    public boolean isRegisteringMetricsMBean = false;
+
+    @Parameter(names = "--metrics-port", description = "local port to serve the run metrics on in the Prometheus text format")
+    public int metricsPort = 0;
+
+    @Parameter(names = "--metrics-file", description = "file to periodically write the run metrics to in the Prometheus text format")
+    public String metricsFile;
+
+    @Parameter(names = "--metrics-interval", description = "time between two snapshots of the run metrics (e.g., 10s)", converter = DurationConverter.class)
+    public long metricsIntervalMillis = 10_000L;
+
+    @Parameter(names = "--column-stats", description = "gather statistics on the input columns while they are read and store them with a ProfileDB experiment")
+    public boolean isCollectingColumnStatistics = false;
+
+    @Parameter(names = "--column-stats-file", description = "file to write statistics on the input columns to as tab-separated values (implies --column-stats)")
+    public String columnStatisticsFile;
+
     @Parameter(names = {"-o",
-        "--output"}, description = "how to output results (none/print/file[:run-ID]/crate:file:scope)")
+        "--output"}, description = "how to output results (none/print/file[:run-ID]/crate:file:scope/stream:[json:|binary:]stdout|tcp:host:port|path), comma-separated for several outputs")
     public String output = "file";
 
+    @Parameter(names = "--output-queue-size", description = "maximum number of pending results per output when using several outputs or streams")
+    public int outputQueueCapacity = 10_000;
+
+    @Parameter(names = "--dedup-results", description = "discard results that have been received before")
+    public boolean isDeduplicatingResults = false;
+
+    @Parameter(names = "--filter-non-minimal", description = "discard duplicate results and FDs/UCCs that are implied by previously received ones")
+    public boolean isFilteringNonMinimalResults = false;
+
+    @Parameter(names = "--checkpoint", description = "directory to durably record results in while the algorithm is running")
+    public String checkpointDirectory;
+
+    @Parameter(names = "--checkpoint-interval", description = "maximum time between syncing recorded results to disk (e.g., 10s)", converter = DurationConverter.class)
+    public long checkpointIntervalMillis = 10_000L;
+
+    @Parameter(names = "--resume", description = "ID of a checkpointed run to resume (requires --checkpoint)")
+    public String resumeRunId;
+
     @Parameter(names = "--profiledb-key", description = "experiment key to store a ProfileDB experiment")
     public String profileDbKey;
 
@@ -795,5 +1844,85 @@ public class App {
 
     @Parameter(names = "--profiledb", description = "location of a ProfileDB to store a ProfileDB experiment at")
     public String profileDbLocation;
+
+    @Parameter(names = "--sweep", description = "sweep over all combinations of ranges and sets in the algorithm configuration (e.g., --algorithm-config maxLhs:1..5 threads:{1,2,4}); a leading backslash keeps a value literal (e.g., pattern:\\{x})")
+    public boolean isSweeping = false;
+
+    @Parameter(names = "--sweep-parallelism", description = "number of configurations to run concurrently when sweeping over configurations (see --sweep)")
+    public int sweepParallelism = 1;
+
+    @Parameter(names = "--prescan", description = "gather statistics on all input columns in a parallel pass before the algorithm starts and store them with a ProfileDB experiment")
+    public boolean isPrescanning = false;
+
+    @Parameter(names = "--prescan-cache", description = "directory to persist the statistics of --prescan in (default: cache them only within the JVM)")
+    public String prescanCacheDirectory = null;
+
+    @Parameter(names = "--pli-cache", description = "directory to persist position list indices of input files in (default: next to the input files)")
+    public String pliCacheDirectory = null;
+
+    @Parameter(names = "--value-dictionary-memory", description = "off-heap memory for the global value dictionary of algorithms that use one, beyond which it spills to a memory-mapped file in the first --temp directory (e.g., 4g)", converter = ByteSizeConverter.class)
+    public long valueDictionaryMemory = 1L << 30;
+
+    @Parameter(names = "--prefetch", description = "read relational inputs ahead on separate threads, buffering up to this many batches of " + PrefetchingInputGenerator.BATCH_SIZE + " rows per input (0 = off; not with --cache-inputs)")
+    public int prefetchDepth = 0;
+
+    @Parameter(names = "--cache-inputs", description = "keep relational inputs in main memory, so that the runs of a sweep parse them only once")
+    public boolean isCachingInputs = false;
+
+    @Parameter(names = "--threads", description = "number of threads for algorithms that use the shared thread pool (default: number of cores)")
+    public int threads = 0;
+
+    @Parameter(names = "--memory-budget", description = "main memory that algorithms may occupy if they accept a budget (e.g., 8g; default: 3/4 of the heap)", converter = ByteSizeConverter.class)
+    public long memoryBudget = 0L;
+
+    @Parameter(names = "--warmup", description = "number of unrecorded iterations to run before the measured ones")
+    public int numWarmupIterations = 0;
+
+    @Parameter(names = "--repeat", description = "number of measured iterations; their results are discarded and a final, unmeasured run produces the results, unless --discard-results makes it the last measured iteration")
+    public int numRepetitions = 1;
+
+    @Parameter(names = "--discard-results", description = "discard all results, e.g., to exclude result I/O from time measurements")
+    public boolean isDiscardingResults = false;
+
+    @Parameter(names = "--jfr", description = "record the algorithm execution with the Flight Recorder, write the .jfr file to the results directory, and store a summary with a ProfileDB experiment")
+    public boolean isFlightRecording = false;
+
+    @Parameter(names = "--jfr-settings", description = "Flight Recorder settings for --jfr as predefined name (default/profile) or .jfc file")
+    public String flightRecorderSettings = "profile";
+
+    @Parameter(names = "--workers", description = "number of worker JVMs to distribute the configurations of a sweep or, otherwise, the inputs over (0 = run in this JVM)")
+    public int numWorkers = 0;
+
+    @Parameter(names = "--worker-hosts", description = "hosts to start the workers on via SSH (comma-separated; default: start them locally)")
+    public List<String> workerHosts = new ArrayList<>();
+
+    @Parameter(names = "--worker-jvm-options", description = "JVM options for the workers (e.g., \"-Xmx8g -XX:+UseG1GC\")")
+    public String workerJvmOptions;
+
+    @Parameter(names = "--worker-retries", description = "number of times to restart a failed worker")
+    public int numWorkerRetries = 2;
+
+    @Parameter(names = "--coordinator-host", description = "address under which remote workers reach this JVM (default: the local host name)")
+    public String coordinatorHost;
+
+    /**
+     * Identifies the run within a sweep or a distributed execution or is {@code null} if the run
+     * is neither part of a sweep nor a distributed execution.
+     */
+    @Parameter(names = "--run-suffix", description = "qualifies the names of run-specific files", hidden = true)
+    public String sweepPointId;
+
+    /**
+     * Create a copy of this instance for a single run. Collections are shared.
+     *
+     * @return the copy
+     */
+    Parameters copy() {
+      try {
+        return (Parameters) clone();
+      } catch (CloneNotSupportedException e) {
+        throw new AssertionError(e);
+      }
+    }
   }
 }
@@ -0,0 +1,185 @@
+package de.metanome.cli;
+
+import de.hpi.isg.mdms.model.MetadataStore;
+import de.metanome.algorithm_integration.result_receiver.ColumnNameMismatchException;
+import de.metanome.algorithm_integration.result_receiver.CouldNotReceiveResultException;
+import de.metanome.algorithm_integration.result_receiver.OmniscientResultReceiver;
+import de.metanome.algorithm_integration.results.BasicStatistic;
+import de.metanome.algorithm_integration.results.ConditionalFunctionalDependency;
+import de.metanome.algorithm_integration.results.ConditionalUniqueColumnCombination;
+import de.metanome.algorithm_integration.results.DenialConstraint;
+import de.metanome.algorithm_integration.results.FunctionalDependency;
+import de.metanome.algorithm_integration.results.InclusionDependency;
+import de.metanome.algorithm_integration.results.MatchingDependency;
+import de.metanome.algorithm_integration.results.MultivaluedDependency;
+import de.metanome.algorithm_integration.results.OrderDependency;
+import de.metanome.algorithm_integration.results.Result;
+import de.metanome.algorithm_integration.results.UniqueColumnCombination;
+import de.metanome.backend.result_receiver.ResultReceiver;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores results in a Metacrate store that may be shared with concurrent runs (see
+ * {@link MetacrateStoreCache}). Results are collected in batches, and each batch is written under
+ * the lock of the store, so that concurrent runs neither interleave their writes nor contend for
+ * the store on every single result.
+ *
+ * <p>This class is deliberately not {@link java.io.Flushable}: asynchronous result sinks flush
+ * after every few results (see {@link FanOutResultReceiver}), which would defeat the batching.</p>
+ */
+class BatchingMetacrateResultReceiver extends ResultReceiver {
+
+  /**
+   * Maximum number of results to collect before writing them to the store.
+   */
+  static final int BATCH_SIZE = 1024;
+
+  private final MetacrateStoreCache.Handle handle;
+
+  private final OmniscientResultReceiver resultReceiver;
+
+  private final long loadMillis;
+
+  private final List<Result> batch = new ArrayList<>(BATCH_SIZE);
+
+  /**
+   * Creates a new instance.
+   *
+   * @param handle the store to write to
+   * @param resultReceiver writes the results to the store, usually a
+   *                       {@link de.hpi.isg.mdms.metanome.MetacrateResultReceiver}
+   * @param loadMillis the time that this run spent on opening the store and looking up the scope
+   */
+  <T extends OmniscientResultReceiver & AutoCloseable> BatchingMetacrateResultReceiver(
+      MetacrateStoreCache.Handle handle, T resultReceiver, long loadMillis)
+      throws FileNotFoundException {
+    super("metacrate-execution", null);
+    this.handle = handle;
+    this.resultReceiver = resultReceiver;
+    this.loadMillis = loadMillis;
+  }
+
+  MetadataStore getMetadataStore() {
+    return handle.getMetadataStore();
+  }
+
+  /**
+   * Tell how long this run spent on opening the store and looking up the scope. Runs that found
+   * the store already opened report only the latter.
+   */
+  long getLoadMillis() {
+    return loadMillis;
+  }
+
+  private synchronized void receive(Result result) throws CouldNotReceiveResultException {
+    batch.add(result);
+    if (batch.size() >= BATCH_SIZE) {
+      writeBatch();
+    }
+  }
+
+  private void writeBatch() throws CouldNotReceiveResultException {
+    if (batch.isEmpty()) {
+      return;
+    }
+    synchronized (handle) {
+      for (Result result : batch) {
+        try {
+          result.sendResultTo(resultReceiver);
+        } catch (ColumnNameMismatchException e) {
+          throw new CouldNotReceiveResultException("Could not store result in Metacrate.", e);
+        }
+      }
+    }
+    batch.clear();
+  }
+
+  /**
+   * Write the collected results and flush the store.
+   */
+  synchronized void flushStore() throws Exception {
+    writeBatch();
+    synchronized (handle) {
+      handle.getMetadataStore().flush();
+    }
+  }
+
+  @Override
+  public void receiveResult(BasicStatistic statistic)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(statistic);
+  }
+
+  @Override
+  public void receiveResult(ConditionalUniqueColumnCombination conditionalUniqueColumnCombination)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(conditionalUniqueColumnCombination);
+  }
+
+  @Override
+  public void receiveResult(FunctionalDependency functionalDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(functionalDependency);
+  }
+
+  @Override
+  public void receiveResult(InclusionDependency inclusionDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(inclusionDependency);
+  }
+
+  @Override
+  public void receiveResult(MultivaluedDependency multivaluedDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(multivaluedDependency);
+  }
+
+  @Override
+  public void receiveResult(OrderDependency orderDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(orderDependency);
+  }
+
+  @Override
+  public void receiveResult(UniqueColumnCombination uniqueColumnCombination)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(uniqueColumnCombination);
+  }
+
+  @Override
+  public void receiveResult(DenialConstraint denialConstraint)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(denialConstraint);
+  }
+
+  @Override
+  public void receiveResult(MatchingDependency matchingDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(matchingDependency);
+  }
+
+  @Override
+  public void receiveResult(ConditionalFunctionalDependency conditionalFunctionalDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(conditionalFunctionalDependency);
+  }
+
+  /**
+   * Write the collected results and close the result receiver. The store stays open for other
+   * runs.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      writeBatch();
+      synchronized (handle) {
+        ((AutoCloseable) resultReceiver).close();
+      }
+    } catch (Exception e) {
+      throw new IOException("Could not close Metacrate result receiver.", e);
+    }
+  }
+}
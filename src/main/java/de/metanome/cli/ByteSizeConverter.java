@@ -0,0 +1,67 @@
+package de.metanome.cli;
+
+import com.beust.jcommander.ParameterException;
+import com.beust.jcommander.converters.BaseConverter;
+
+/**
+ * Converts sizes such as {@code 4096}, {@code 512k}, {@code 512m}, or {@code 4g} into a number of
+ * bytes.
+ */
+public class ByteSizeConverter extends BaseConverter<Long> {
+
+  public ByteSizeConverter(String optionName) {
+    super(optionName);
+  }
+
+  @Override
+  public Long convert(String value) {
+    try {
+      return parse(value);
+    } catch (IllegalArgumentException e) {
+      throw new ParameterException(getErrorString(value, "a size (e.g., 512m or 4g)"));
+    }
+  }
+
+  /**
+   * Parse a size with an optional unit suffix ({@code k}, {@code m}, {@code g}, {@code t}, case
+   * insensitive, optionally followed by {@code b}).
+   *
+   * @param value the size specification
+   * @return the number of bytes
+   * @throws IllegalArgumentException if the size cannot be parsed or overflows
+   */
+  public static long parse(String value) {
+    String spec = value.trim().toLowerCase();
+    if (spec.endsWith("b")) {
+      spec = spec.substring(0, spec.length() - 1);
+    }
+    if (spec.isEmpty()) {
+      throw new IllegalArgumentException(String.format("Illegal size: \"%s\"", value));
+    }
+    int shift;
+    switch (spec.charAt(spec.length() - 1)) {
+      case 'k':
+        shift = 10;
+        break;
+      case 'm':
+        shift = 20;
+        break;
+      case 'g':
+        shift = 30;
+        break;
+      case 't':
+        shift = 40;
+        break;
+      default:
+        shift = 0;
+    }
+    if (shift > 0) {
+      spec = spec.substring(0, spec.length() - 1);
+    }
+    final long number = Long.parseLong(spec.replace("_", ""));
+    if (number < 0 || Long.numberOfLeadingZeros(number) <= shift && number != 0) {
+      throw new IllegalArgumentException(String.format("Illegal size: \"%s\"", value));
+    }
+    return number << shift;
+  }
+}
@@ -0,0 +1,104 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+import de.metanome.algorithm_integration.input.InputGenerationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.algorithm_integration.input.RelationalInputGenerator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Decorates a {@link RelationalInputGenerator} by reading its input once into main memory and
+ * serving all {@link RelationalInput}s from there. This allows several runs within the same JVM
+ * to share the parsed input.
+ */
+class CachedInputGenerator implements RelationalInputGenerator {
+
+  private final RelationalInputGenerator delegate;
+
+  private String relationName;
+
+  private List<String> columnNames;
+
+  private List<String[]> rows;
+
+  CachedInputGenerator(RelationalInputGenerator delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public synchronized RelationalInput generateNewCopy()
+      throws InputGenerationException, AlgorithmConfigurationException {
+    if (rows == null) {
+      load();
+    }
+    return new CachedInput();
+  }
+
+  private void load() throws InputGenerationException, AlgorithmConfigurationException {
+    try (RelationalInput input = delegate.generateNewCopy()) {
+      List<String[]> rows = new ArrayList<>();
+      while (input.hasNext()) {
+        rows.add(input.next().toArray(new String[0]));
+      }
+      relationName = input.relationName();
+      columnNames = Collections.unmodifiableList(new ArrayList<>(input.columnNames()));
+      this.rows = rows;
+    } catch (InputGenerationException | AlgorithmConfigurationException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new InputGenerationException("Could not cache input.", e);
+    }
+  }
+
+  /**
+   * Closes the decorated {@link RelationalInputGenerator}. Cached rows are retained for later
+   * runs.
+   */
+  @Override
+  public void close() throws Exception {
+    delegate.close();
+  }
+
+  private class CachedInput implements RelationalInput {
+
+    private int nextRowIndex = 0;
+
+    @Override
+    public boolean hasNext() {
+      return nextRowIndex < rows.size();
+    }
+
+    @Override
+    public List<String> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      // Hand out a copy, because algorithms might modify the row.
+      return new ArrayList<>(Arrays.asList(rows.get(nextRowIndex++)));
+    }
+
+    @Override
+    public int numberOfColumns() {
+      return columnNames.size();
+    }
+
+    @Override
+    public String relationName() {
+      return relationName;
+    }
+
+    @Override
+    public List<String> columnNames() {
+      return columnNames;
+    }
+
+    @Override
+    public void close() {
+      // Nothing to release.
+    }
+  }
+}
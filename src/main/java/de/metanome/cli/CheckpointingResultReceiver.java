@@ -0,0 +1,59 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.result_receiver.ColumnNameMismatchException;
+import de.metanome.algorithm_integration.result_receiver.CouldNotReceiveResultException;
+import de.metanome.algorithm_integration.result_receiver.OmniscientResultReceiver;
+import de.metanome.algorithm_integration.results.Result;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Forwards all results and additionally appends them to a {@link ResultCheckpoint}. While
+ * replaying the results of a resumed run, which are already recorded, results are only forwarded.
+ */
+class CheckpointingResultReceiver extends ForwardingResultReceiver {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CheckpointingResultReceiver.class);
+
+  private final ResultCheckpoint checkpoint;
+
+  private volatile boolean isReplaying = false;
+
+  CheckpointingResultReceiver(OmniscientResultReceiver delegate, ResultCheckpoint checkpoint)
+      throws FileNotFoundException {
+    super("checkpointed-execution", delegate);
+    this.checkpoint = checkpoint;
+  }
+
+  /**
+   * Tell whether the received results are already recorded in the {@link ResultCheckpoint}.
+   */
+  void setReplaying(boolean isReplaying) {
+    this.isReplaying = isReplaying;
+  }
+
+  @Override
+  protected void receive(Result result)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    super.receive(result);
+    if (isReplaying) {
+      return;
+    }
+    try {
+      checkpoint.append(result);
+    } catch (IOException e) {
+      throw new CouldNotReceiveResultException("Could not checkpoint result.", e);
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      checkpoint.close();
+    } catch (IOException e) {
+      LOG.error("Could not close the result checkpoint.", e);
+    }
+  }
+}
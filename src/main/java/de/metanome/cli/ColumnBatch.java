@@ -0,0 +1,255 @@
+package de.metanome.cli;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A reusable batch of rows in columnar layout. The values of each column are stored as UTF-8
+ * byte slices in one growing buffer along with their offsets, so that filling and reading a
+ * batch does not allocate objects per cell. {@code null} values are flagged separately.
+ *
+ * <p>Algorithms usually obtain an instance via {@link ColumnBatchInput#createBatch()} and pass it
+ * to {@link ColumnBatchInput#nextBatch(ColumnBatch)} over and over again.</p>
+ *
+ * <p>In addition, the values can be encoded with a {@link GlobalValueDictionary}, so that they
+ * are also available as {@code int} ids.</p>
+ */
+public class ColumnBatch {
+
+    /**
+     * Default number of rows per batch.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final int INITIAL_BYTES_PER_VALUE = 16;
+
+    private final int numColumns;
+
+    private final int capacity;
+
+    private int size = 0;
+
+    private final byte[][] data;
+
+    /**
+     * Per column, the start offsets of the values in {@link #data}, followed by the end offset of the last value.
+     */
+    private final int[][] offsets;
+
+    private final boolean[][] nulls;
+
+    /**
+     * Per column, the {@link GlobalValueDictionary} ids of the values. Allocated on first use.
+     */
+    private int[][] valueIds;
+
+    private boolean isEncoded = false;
+
+    public ColumnBatch(int numColumns, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.numColumns = numColumns;
+        this.capacity = capacity;
+        this.data = new byte[numColumns][];
+        this.offsets = new int[numColumns][];
+        this.nulls = new boolean[numColumns][];
+        for (int column = 0; column < numColumns; column++) {
+            this.data[column] = new byte[capacity * INITIAL_BYTES_PER_VALUE];
+            this.offsets[column] = new int[capacity + 1];
+            this.nulls[column] = new boolean[capacity];
+        }
+    }
+
+    public int getNumColumns() {
+        return this.numColumns;
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * @return the number of rows in this batch
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    public boolean isFull() {
+        return this.size == this.capacity;
+    }
+
+    /**
+     * Remove all rows while retaining the buffers.
+     */
+    public void clear() {
+        this.size = 0;
+        this.isEncoded = false;
+    }
+
+    /**
+     * Append a row.
+     *
+     * @param row the values of the row, one per column
+     */
+    public void addRow(List<String> row) {
+        if (this.isFull()) {
+            throw new IllegalStateException("The batch is full.");
+        }
+        if (row.size() != this.numColumns) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected %d values, but got %d.", this.numColumns, row.size()));
+        }
+        for (int column = 0; column < this.numColumns; column++) {
+            String value = row.get(column);
+            int start = this.offsets[column][this.size];
+            this.nulls[column][this.size] = value == null;
+            this.offsets[column][this.size + 1] = value == null ? start : this.encode(column, start, value);
+        }
+        this.size++;
+        this.isEncoded = false;
+    }
+
+    /**
+     * Look up the ids of all values in this batch.
+     *
+     * @param dictionary assigns the ids
+     * @see #getValueId(int, int)
+     */
+    public void encodeValues(GlobalValueDictionary dictionary) {
+        if (this.valueIds == null) {
+            this.valueIds = new int[this.numColumns][this.capacity];
+        }
+        for (int column = 0; column < this.numColumns; column++) {
+            byte[] buffer = this.data[column];
+            int[] ids = this.valueIds[column];
+            for (int row = 0; row < this.size; row++) {
+                ids[row] = this.isNull(column, row) ?
+                        GlobalValueDictionary.NULL_ID :
+                        dictionary.getOrAdd(buffer, this.getStart(column, row), this.getLength(column, row));
+            }
+        }
+        this.isEncoded = true;
+    }
+
+    /**
+     * @return whether {@link #getValueId(int, int)} is available
+     */
+    public boolean isEncoded() {
+        return this.isEncoded;
+    }
+
+    /**
+     * @return the {@link GlobalValueDictionary} id of a value or {@link GlobalValueDictionary#NULL_ID}
+     * @throws IllegalStateException if the values have not been encoded
+     */
+    public int getValueId(int column, int row) {
+        if (!this.isEncoded) {
+            throw new IllegalStateException("The batch has not been encoded.");
+        }
+        return this.valueIds[column][row];
+    }
+
+    /**
+     * Write a value as UTF-8 into the buffer of a column.
+     *
+     * @return the end offset of the value
+     */
+    private int encode(int column, int start, String value) {
+        int length = value.length();
+        // A char takes at most three bytes; surrogate pairs take four bytes for two chars.
+        this.ensureBufferCapacity(column, start + 3 * length);
+        byte[] buffer = this.data[column];
+        int position = start;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogates cannot be encoded; String#getBytes substitutes them likewise.
+                buffer[position++] = '?';
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return position;
+    }
+
+    private void ensureBufferCapacity(int column, int minCapacity) {
+        if (this.data[column].length < minCapacity) {
+            this.data[column] = Arrays.copyOf(this.data[column], Math.max(minCapacity, 2 * this.data[column].length));
+        }
+    }
+
+    public boolean isNull(int column, int row) {
+        return this.nulls[column][row];
+    }
+
+    /**
+     * Provide the buffer of a column. It is only valid until the batch is modified.
+     *
+     * @param column the index of the column
+     * @return the UTF-8 bytes of all values in the column
+     * @see #getStart(int, int)
+     * @see #getLength(int, int)
+     */
+    public byte[] getData(int column) {
+        return this.data[column];
+    }
+
+    /**
+     * @return the offset of a value in {@link #getData(int)}
+     */
+    public int getStart(int column, int row) {
+        return this.offsets[column][row];
+    }
+
+    /**
+     * @return the number of bytes of a value in {@link #getData(int)}
+     */
+    public int getLength(int column, int row) {
+        return this.offsets[column][row + 1] - this.offsets[column][row];
+    }
+
+    /**
+     * Decode a value. Note that this allocates a new {@link String}.
+     *
+     * @return the value or {@code null}
+     */
+    public String getString(int column, int row) {
+        if (this.isNull(column, row)) {
+            return null;
+        }
+        return new String(this.data[column], this.getStart(column, row), this.getLength(column, row),
+                StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decode a row. Note that this allocates a new {@link List} and {@link String}s.
+     *
+     * @return the values of the row
+     */
+    public List<String> getRow(int row) {
+        List<String> values = new ArrayList<>(this.numColumns);
+        for (int column = 0; column < this.numColumns; column++) {
+            values.add(this.getString(column, row));
+        }
+        return values;
+    }
+
+}
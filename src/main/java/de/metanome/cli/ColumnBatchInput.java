@@ -0,0 +1,36 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.input.InputIterationException;
+import java.util.List;
+
+/**
+ * Provides the rows of a relation in {@link ColumnBatch}es rather than as one {@link List} per
+ * row like a {@link de.metanome.algorithm_integration.input.RelationalInput}.
+ */
+public interface ColumnBatchInput extends AutoCloseable {
+
+    /**
+     * Fill the given batch with the next rows. Previous contents of the batch are discarded.
+     *
+     * @param batch the batch to fill; must have {@link #numberOfColumns()} columns
+     * @return whether any rows were added, i.e., {@code false} once the input is exhausted
+     * @throws InputIterationException if the input could not be read
+     */
+    boolean nextBatch(ColumnBatch batch) throws InputIterationException;
+
+    int numberOfColumns();
+
+    String relationName();
+
+    List<String> columnNames();
+
+    /**
+     * Create a batch that fits this input.
+     *
+     * @return an empty batch with {@link ColumnBatch#DEFAULT_CAPACITY}
+     */
+    default ColumnBatch createBatch() {
+        return new ColumnBatch(this.numberOfColumns(), ColumnBatch.DEFAULT_CAPACITY);
+    }
+
+}
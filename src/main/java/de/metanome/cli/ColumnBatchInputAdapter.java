@@ -0,0 +1,102 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+import de.metanome.algorithm_integration.input.InputGenerationException;
+import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.algorithm_integration.input.RelationalInputGenerator;
+import java.util.List;
+
+/**
+ * Serves the rows of a {@link RelationalInputGenerator} as {@link ColumnBatch}es, optionally
+ * encoded with a {@link GlobalValueDictionary}.
+ */
+public class ColumnBatchInputAdapter implements ColumnBatchInputGenerator {
+
+    private final RelationalInputGenerator delegate;
+
+    private final GlobalValueDictionary dictionary;
+
+    public ColumnBatchInputAdapter(RelationalInputGenerator delegate) {
+        this(delegate, null);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param delegate   provides the rows
+     * @param dictionary encodes all batches or {@code null}
+     */
+    public ColumnBatchInputAdapter(RelationalInputGenerator delegate, GlobalValueDictionary dictionary) {
+        this.delegate = delegate;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Provide a {@link RelationalInputGenerator} for the given generator, avoiding to stack adapters.
+     *
+     * @param generator the {@link ColumnBatchInputGenerator} to adapt
+     * @return the {@link RelationalInputGenerator}
+     */
+    public static RelationalInputGenerator toRelational(ColumnBatchInputGenerator generator) {
+        if (generator instanceof ColumnBatchInputAdapter) {
+            return ((ColumnBatchInputAdapter) generator).delegate;
+        }
+        return new RelationalInputAdapter(generator);
+    }
+
+    @Override
+    public ColumnBatchInput generateNewCopy() throws InputGenerationException, AlgorithmConfigurationException {
+        return new AdaptedInput(this.delegate.generateNewCopy(), this.dictionary);
+    }
+
+    @Override
+    public void close() throws Exception {
+        this.delegate.close();
+    }
+
+    private static class AdaptedInput implements ColumnBatchInput {
+
+        private final RelationalInput input;
+
+        private final GlobalValueDictionary dictionary;
+
+        private AdaptedInput(RelationalInput input, GlobalValueDictionary dictionary) {
+            this.input = input;
+            this.dictionary = dictionary;
+        }
+
+        @Override
+        public boolean nextBatch(ColumnBatch batch) throws InputIterationException {
+            batch.clear();
+            while (!batch.isFull() && this.input.hasNext()) {
+                batch.addRow(this.input.next());
+            }
+            if (this.dictionary != null) {
+                batch.encodeValues(this.dictionary);
+            }
+            return batch.getSize() > 0;
+        }
+
+        @Override
+        public int numberOfColumns() {
+            return this.input.numberOfColumns();
+        }
+
+        @Override
+        public String relationName() {
+            return this.input.relationName();
+        }
+
+        @Override
+        public List<String> columnNames() {
+            return this.input.columnNames();
+        }
+
+        @Override
+        public void close() throws Exception {
+            this.input.close();
+        }
+    }
+
+}
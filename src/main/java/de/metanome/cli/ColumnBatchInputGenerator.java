@@ -0,0 +1,21 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+import de.metanome.algorithm_integration.input.InputGenerationException;
+
+/**
+ * Generates fresh {@link ColumnBatchInput}s over the same relation, much like a
+ * {@link de.metanome.algorithm_integration.input.RelationalInputGenerator}.
+ */
+public interface ColumnBatchInputGenerator extends AutoCloseable {
+
+    /**
+     * Create a new {@link ColumnBatchInput} that starts at the first row of the relation.
+     *
+     * @return the {@link ColumnBatchInput}
+     * @throws InputGenerationException        if the input could not be opened
+     * @throws AlgorithmConfigurationException if the input is misconfigured
+     */
+    ColumnBatchInput generateNewCopy() throws InputGenerationException, AlgorithmConfigurationException;
+
+}
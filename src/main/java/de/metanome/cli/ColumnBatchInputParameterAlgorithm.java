@@ -0,0 +1,28 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.Algorithm;
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+
+/**
+ * An {@link de.metanome.algorithm_integration.Algorithm} that takes {@link
+ * ColumnBatchInputGenerator} configuration values. If it also is a
+ * {@link de.metanome.algorithm_integration.algorithm_types.RelationalInputParameterAlgorithm},
+ * it only receives the {@link ColumnBatchInputGenerator}s.
+ */
+public interface ColumnBatchInputParameterAlgorithm extends Algorithm {
+
+    /**
+     * Sets a {@link ColumnBatchInputGenerator} configuration value on the algorithm.
+     *
+     * @param identifier the value's identifier
+     * @param values     the configuration values
+     * @throws de.metanome.algorithm_integration.AlgorithmConfigurationException if the algorithm
+     *                                                                           cannot be correctly
+     *                                                                           configured using the
+     *                                                                           received configuration
+     *                                                                           values
+     */
+    void setColumnBatchInputConfigurationValue(String identifier, ColumnBatchInputGenerator... values)
+            throws AlgorithmConfigurationException;
+
+}
@@ -0,0 +1,166 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+import de.metanome.algorithm_integration.input.InputGenerationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.algorithm_integration.input.RelationalInputGenerator;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Gathers the {@link ColumnStatistics} of several inputs in a single pass over each input, with
+ * the inputs being scanned in parallel.
+ *
+ * <p>The statistics of input files are cached by their {@link InputFingerprint}: in main memory
+ * for later runs in the same JVM and, if a cache directory is given, as serialized files.</p>
+ */
+class ColumnPrescanner {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ColumnPrescanner.class);
+
+  private static final String FILE_SUFFIX = ".stats";
+
+  private static final ConcurrentMap<String, ColumnStatistics> CACHE = new ConcurrentHashMap<>();
+
+  private final String settings;
+
+  private final File cacheDirectory;
+
+  private final ExecutorService executor;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param settings describes how the inputs are parsed
+   * @param cacheDirectory the directory to persist statistics in or {@code null}
+   * @param executor scans the inputs
+   */
+  ColumnPrescanner(String settings, File cacheDirectory, ExecutorService executor) {
+    this.settings = settings;
+    this.cacheDirectory = cacheDirectory;
+    this.executor = executor;
+  }
+
+  /**
+   * Gather the {@link ColumnStatistics} of the given inputs.
+   *
+   * @param inputGenerators provide the inputs
+   * @param inputFiles the files of the inputs or {@code null}s for inputs that are not cached
+   * @return one {@link ColumnStatistics} per input
+   */
+  List<ColumnStatistics> scan(List<RelationalInputGenerator> inputGenerators, List<File> inputFiles)
+      throws InputGenerationException, AlgorithmConfigurationException {
+    List<Future<ColumnStatistics>> futures = new ArrayList<>();
+    for (int i = 0; i < inputGenerators.size(); i++) {
+      RelationalInputGenerator inputGenerator = inputGenerators.get(i);
+      File inputFile = inputFiles.get(i);
+      futures.add(executor.submit(() -> getOrScan(inputGenerator, inputFile)));
+    }
+    List<ColumnStatistics> result = new ArrayList<>();
+    try {
+      for (Future<ColumnStatistics> future : futures) {
+        result.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InputGenerationException("Interrupted while scanning inputs.", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof InputGenerationException) {
+        throw (InputGenerationException) e.getCause();
+      } else if (e.getCause() instanceof AlgorithmConfigurationException) {
+        throw (AlgorithmConfigurationException) e.getCause();
+      }
+      throw new InputGenerationException("Could not scan input.", e.getCause());
+    }
+    return result;
+  }
+
+  private ColumnStatistics getOrScan(RelationalInputGenerator inputGenerator, File inputFile)
+      throws Exception {
+    String fingerprint = null;
+    if (inputFile != null && inputFile.isFile()) {
+      try {
+        fingerprint = InputFingerprint.of(inputFile, settings);
+      } catch (IOException e) {
+        LOG.warn("Could not fingerprint {}.", inputFile, e);
+      }
+    }
+    if (fingerprint == null) {
+      return scan(inputGenerator);
+    }
+
+    ColumnStatistics statistics = CACHE.get(fingerprint);
+    if (statistics != null) {
+      return statistics;
+    }
+    File cacheFile = cacheDirectory == null ? null : new File(cacheDirectory, fingerprint + FILE_SUFFIX);
+    if (cacheFile != null && cacheFile.isFile()) {
+      statistics = read(cacheFile);
+    }
+    if (statistics == null) {
+      statistics = scan(inputGenerator);
+      if (cacheFile != null) {
+        write(statistics, cacheFile);
+      }
+    }
+    CACHE.put(fingerprint, statistics);
+    return statistics;
+  }
+
+  private static ColumnStatistics scan(RelationalInputGenerator inputGenerator) throws Exception {
+    long startMillis = System.currentTimeMillis();
+    try (RelationalInput input = inputGenerator.generateNewCopy()) {
+      ColumnStatistics statistics = new ColumnStatistics(input.relationName(), input.columnNames());
+      while (input.hasNext()) {
+        long startNanos = System.nanoTime();
+        List<String> row = input.next();
+        statistics.update(row, System.nanoTime() - startNanos);
+      }
+      LOG.info("Scanned {} rows of {} in {} ms.", statistics.getNumRows(),
+          statistics.getRelationName(), System.currentTimeMillis() - startMillis);
+      return statistics;
+    }
+  }
+
+  private static ColumnStatistics read(File file) {
+    try (ObjectInputStream in = new ObjectInputStream(
+        new BufferedInputStream(new FileInputStream(file)))) {
+      return (ColumnStatistics) in.readObject();
+    } catch (IOException | ClassNotFoundException | ClassCastException e) {
+      LOG.warn("Could not read column statistics from {}. Scanning the input again.", file, e);
+      return null;
+    }
+  }
+
+  private static void write(ColumnStatistics statistics, File file) {
+    Path target = file.getAbsoluteFile().toPath();
+    Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+    try {
+      try (ObjectOutputStream out = new ObjectOutputStream(
+          new BufferedOutputStream(new FileOutputStream(temp.toFile())))) {
+        out.writeObject(statistics);
+      }
+      Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      LOG.warn("Could not write column statistics to {}.", file, e);
+    }
+  }
+}
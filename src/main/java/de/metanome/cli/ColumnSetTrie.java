@@ -0,0 +1,92 @@
+package de.metanome.cli;
+
+import java.util.Arrays;
+
+/**
+ * A prefix tree over sets of column IDs, each given as a sorted {@code int} array. It answers
+ * whether it contains a subset of a given set, which is the test for non-minimality of UCCs and
+ * FD left-hand sides.
+ */
+class ColumnSetTrie {
+
+  private final Node root = new Node();
+
+  /**
+   * Add a set of column IDs.
+   *
+   * @param columnIds the sorted column IDs
+   */
+  void add(int[] columnIds) {
+    Node node = root;
+    for (int columnId : columnIds) {
+      node = node.getOrCreateChild(columnId);
+    }
+    node.isEnd = true;
+  }
+
+  /**
+   * Tell whether this instance contains a subset (not necessarily a proper one) of the given set.
+   *
+   * @param columnIds the sorted column IDs
+   * @return whether a subset is contained
+   */
+  boolean containsSubsetOf(int[] columnIds) {
+    return containsSubsetOf(root, columnIds, 0);
+  }
+
+  private static boolean containsSubsetOf(Node node, int[] columnIds, int offset) {
+    if (node.isEnd) {
+      return true;
+    }
+    for (int i = offset; i < columnIds.length; i++) {
+      Node child = node.getChild(columnIds[i]);
+      if (child != null && containsSubsetOf(child, columnIds, i + 1)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Node with children kept in parallel sorted arrays to avoid per-entry objects.
+   */
+  private static class Node {
+
+    private static final int[] NO_KEYS = new int[0];
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private int[] keys = NO_KEYS;
+
+    private Node[] children = NO_CHILDREN;
+
+    private boolean isEnd = false;
+
+    Node getChild(int key) {
+      int index = Arrays.binarySearch(keys, key);
+      return index >= 0 ? children[index] : null;
+    }
+
+    Node getOrCreateChild(int key) {
+      int index = Arrays.binarySearch(keys, key);
+      if (index >= 0) {
+        return children[index];
+      }
+      int insertionPoint = -index - 1;
+      int[] newKeys = new int[keys.length + 1];
+      Node[] newChildren = new Node[children.length + 1];
+      System.arraycopy(keys, 0, newKeys, 0, insertionPoint);
+      System.arraycopy(children, 0, newChildren, 0, insertionPoint);
+      System.arraycopy(keys, insertionPoint, newKeys, insertionPoint + 1,
+          keys.length - insertionPoint);
+      System.arraycopy(children, insertionPoint, newChildren, insertionPoint + 1,
+          children.length - insertionPoint);
+      Node child = new Node();
+      newKeys[insertionPoint] = key;
+      newChildren[insertionPoint] = child;
+      keys = newKeys;
+      children = newChildren;
+      return child;
+    }
+  }
+}
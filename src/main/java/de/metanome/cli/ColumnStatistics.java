@@ -0,0 +1,179 @@
+package de.metanome.cli;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Statistics on the columns of a relation as observed while reading it: the number of characters
+ * and {@code null}s, the lexicographically smallest and greatest values, the approximate number
+ * of distinct values, and the parsing time.
+ *
+ * <p>Input formats parse whole rows at once, so the parsing time of a row is apportioned to its
+ * columns by the length of their values. Instances are not thread-safe.</p>
+ */
+public class ColumnStatistics implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String relationName;
+
+  private final List<String> columnNames;
+
+  private long numRows = 0L;
+
+  private final long[] numNulls;
+
+  private final long[] numChars;
+
+  private final long[] parseNanos;
+
+  private final String[] minValues;
+
+  private final String[] maxValues;
+
+  private final HyperLogLog[] sketches;
+
+  ColumnStatistics(String relationName, List<String> columnNames) {
+    this.relationName = relationName;
+    this.columnNames = new ArrayList<>(columnNames);
+    int numColumns = columnNames.size();
+    this.numNulls = new long[numColumns];
+    this.numChars = new long[numColumns];
+    this.parseNanos = new long[numColumns];
+    this.minValues = new String[numColumns];
+    this.maxValues = new String[numColumns];
+    this.sketches = new HyperLogLog[numColumns];
+    for (int i = 0; i < numColumns; i++) {
+      this.sketches[i] = new HyperLogLog();
+    }
+  }
+
+  /**
+   * Account for a row.
+   *
+   * @param row the values of the row
+   * @param rowParseNanos the time it took to parse the row
+   */
+  void update(List<String> row, long rowParseNanos) {
+    numRows++;
+    int numColumns = Math.min(row.size(), sketches.length);
+    long totalWeight = 0L;
+    for (int i = 0; i < numColumns; i++) {
+      String value = row.get(i);
+      if (value == null) {
+        numNulls[i]++;
+        totalWeight++;
+      } else {
+        numChars[i] += value.length();
+        sketches[i].add(value);
+        if (minValues[i] == null || value.compareTo(minValues[i]) < 0) {
+          minValues[i] = value;
+        }
+        if (maxValues[i] == null || value.compareTo(maxValues[i]) > 0) {
+          maxValues[i] = value;
+        }
+        totalWeight += value.length() + 1;
+      }
+    }
+    if (totalWeight > 0) {
+      for (int i = 0; i < numColumns; i++) {
+        String value = row.get(i);
+        long weight = value == null ? 1 : value.length() + 1;
+        parseNanos[i] += rowParseNanos * weight / totalWeight;
+      }
+    }
+  }
+
+  public String getRelationName() {
+    return relationName;
+  }
+
+  public List<String> getColumnNames() {
+    return columnNames;
+  }
+
+  public long getNumRows() {
+    return numRows;
+  }
+
+  public long getNumNulls(int column) {
+    return numNulls[column];
+  }
+
+  public double getNullRatio(int column) {
+    return numRows == 0 ? 0d : numNulls[column] / (double) numRows;
+  }
+
+  public long getNumChars(int column) {
+    return numChars[column];
+  }
+
+  public long getNumDistinctValues(int column) {
+    return sketches[column].estimate();
+  }
+
+  public long getParseMillis(int column) {
+    return parseNanos[column] / 1_000_000L;
+  }
+
+  /**
+   * @return the smallest non-{@code null} value of the column or {@code null} if there is none
+   */
+  public String getMinValue(int column) {
+    return minValues[column];
+  }
+
+  /**
+   * @return the greatest non-{@code null} value of the column or {@code null} if there is none
+   */
+  public String getMaxValue(int column) {
+    return maxValues[column];
+  }
+
+  /**
+   * Write {@link ColumnStatistics} as tab-separated values with a header.
+   *
+   * @param statistics the {@link ColumnStatistics}
+   * @param file the file to write to
+   */
+  static void write(Collection<ColumnStatistics> statistics, File file) throws IOException {
+    try (PrintWriter writer = new PrintWriter(
+        Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))) {
+      writer.println("relation\tcolumn\trows\tnulls\tnull_ratio\tchars\tdistinct_values\tmin\tmax"
+          + "\tparse_ms");
+      for (ColumnStatistics relationStatistics : statistics) {
+        for (int i = 0; i < relationStatistics.columnNames.size(); i++) {
+          writer.printf("%s\t%s\t%d\t%d\t%.4f\t%d\t%d\t%s\t%s\t%d%n",
+              relationStatistics.relationName,
+              relationStatistics.columnNames.get(i),
+              relationStatistics.numRows,
+              relationStatistics.getNumNulls(i),
+              relationStatistics.getNullRatio(i),
+              relationStatistics.getNumChars(i),
+              relationStatistics.getNumDistinctValues(i),
+              escape(relationStatistics.getMinValue(i)),
+              escape(relationStatistics.getMaxValue(i)),
+              relationStatistics.getParseMillis(i));
+        }
+      }
+      if (writer.checkError()) {
+        throw new IOException("Could not write column statistics to " + file + ".");
+      }
+    }
+  }
+
+  private static String escape(String value) {
+    if (value == null) {
+      return "";
+    }
+    return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n")
+        .replace("\r", "\\r");
+  }
+}
@@ -0,0 +1,102 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+import de.metanome.algorithm_integration.input.InputGenerationException;
+import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.algorithm_integration.input.RelationalInputGenerator;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Decorates a {@link RelationalInputGenerator}, so that {@link ColumnStatistics} are gathered
+ * while the algorithm reads its first {@link RelationalInput}. Further {@link RelationalInput}s
+ * are not profiled, because they would only repeat the statistics.
+ */
+class ColumnStatisticsInputGenerator implements RelationalInputGenerator {
+
+  private final RelationalInputGenerator delegate;
+
+  private final Collection<ColumnStatistics> statistics;
+
+  private boolean isProfiled = false;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param delegate the {@link RelationalInputGenerator} to decorate
+   * @param statistics receives the {@link ColumnStatistics} once the first
+   *     {@link RelationalInput} has been created; must be thread-safe
+   */
+  ColumnStatisticsInputGenerator(RelationalInputGenerator delegate,
+      Collection<ColumnStatistics> statistics) {
+    this.delegate = delegate;
+    this.statistics = statistics;
+  }
+
+  @Override
+  public RelationalInput generateNewCopy()
+      throws InputGenerationException, AlgorithmConfigurationException {
+    RelationalInput input = delegate.generateNewCopy();
+    synchronized (this) {
+      if (isProfiled) {
+        return input;
+      }
+      isProfiled = true;
+    }
+    ColumnStatistics columnStatistics =
+        new ColumnStatistics(input.relationName(), input.columnNames());
+    statistics.add(columnStatistics);
+    return new ProfilingInput(input, columnStatistics);
+  }
+
+  @Override
+  public void close() throws Exception {
+    delegate.close();
+  }
+
+  private static class ProfilingInput implements RelationalInput {
+
+    private final RelationalInput input;
+
+    private final ColumnStatistics columnStatistics;
+
+    private ProfilingInput(RelationalInput input, ColumnStatistics columnStatistics) {
+      this.input = input;
+      this.columnStatistics = columnStatistics;
+    }
+
+    @Override
+    public boolean hasNext() throws InputIterationException {
+      return input.hasNext();
+    }
+
+    @Override
+    public List<String> next() throws InputIterationException {
+      long startNanos = System.nanoTime();
+      List<String> row = input.next();
+      columnStatistics.update(row, System.nanoTime() - startNanos);
+      return row;
+    }
+
+    @Override
+    public int numberOfColumns() {
+      return input.numberOfColumns();
+    }
+
+    @Override
+    public String relationName() {
+      return input.relationName();
+    }
+
+    @Override
+    public List<String> columnNames() {
+      return input.columnNames();
+    }
+
+    @Override
+    public void close() throws Exception {
+      input.close();
+    }
+  }
+}
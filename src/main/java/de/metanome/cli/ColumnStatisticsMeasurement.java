@@ -0,0 +1,100 @@
+package de.metanome.cli;
+
+import de.hpi.isg.profiledb.store.model.Measurement;
+import de.hpi.isg.profiledb.store.model.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A ProfileDB {@link Measurement} that holds the {@link ColumnStatistics} of a relation.
+ */
+@Type("column-statistics")
+public class ColumnStatisticsMeasurement extends Measurement {
+
+  private long rows;
+
+  private List<Column> columns;
+
+  /**
+   * Required for deserialization.
+   */
+  private ColumnStatisticsMeasurement() {
+  }
+
+  ColumnStatisticsMeasurement(ColumnStatistics statistics) {
+    this("column-statistics-" + statistics.getRelationName(), statistics);
+  }
+
+  ColumnStatisticsMeasurement(String id, ColumnStatistics statistics) {
+    super(id);
+    this.rows = statistics.getNumRows();
+    this.columns = new ArrayList<>();
+    for (int i = 0; i < statistics.getColumnNames().size(); i++) {
+      Column column = new Column();
+      column.name = statistics.getColumnNames().get(i);
+      column.nulls = statistics.getNumNulls(i);
+      column.chars = statistics.getNumChars(i);
+      column.distinctValues = statistics.getNumDistinctValues(i);
+      column.minValue = statistics.getMinValue(i);
+      column.maxValue = statistics.getMaxValue(i);
+      column.parseMillis = statistics.getParseMillis(i);
+      this.columns.add(column);
+    }
+  }
+
+  public long getRows() {
+    return rows;
+  }
+
+  public List<Column> getColumns() {
+    return columns;
+  }
+
+  /**
+   * Statistics on a single column.
+   */
+  public static class Column {
+
+    private String name;
+
+    private long nulls;
+
+    private long chars;
+
+    private long distinctValues;
+
+    private String minValue;
+
+    private String maxValue;
+
+    private long parseMillis;
+
+    public String getName() {
+      return name;
+    }
+
+    public long getNulls() {
+      return nulls;
+    }
+
+    public long getChars() {
+      return chars;
+    }
+
+    public long getDistinctValues() {
+      return distinctValues;
+    }
+
+    public String getMinValue() {
+      return minValue;
+    }
+
+    public String getMaxValue() {
+      return maxValue;
+    }
+
+    public long getParseMillis() {
+      return parseMillis;
+    }
+  }
+}
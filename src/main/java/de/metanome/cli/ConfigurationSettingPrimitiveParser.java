@@ -1,6 +1,8 @@
 package de.metanome.cli;
 
+import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableMap;
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
 import de.metanome.algorithm_integration.configuration.ConfigurationRequirement;
 import de.metanome.algorithm_integration.configuration.ConfigurationRequirementBoolean;
 import de.metanome.algorithm_integration.configuration.ConfigurationRequirementCheckBox;
@@ -13,6 +15,9 @@ import de.metanome.algorithm_integration.configuration.ConfigurationSettingInteg
 import de.metanome.algorithm_integration.configuration.ConfigurationSettingListBox;
 import de.metanome.algorithm_integration.configuration.ConfigurationSettingPrimitive;
 import de.metanome.algorithm_integration.configuration.ConfigurationSettingString;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +25,12 @@ import org.slf4j.LoggerFactory;
 /**
  * Parse a string value into the matching instance of a subclass of
  * {@link ConfigurationSettingPrimitive} given the source configuration requirement.
+ *
+ * <p>Values are validated strictly, so that misconfigurations are reported before the inputs
+ * are set up: booleans must be {@code true}/{@code false} (or {@code yes}/{@code no},
+ * {@code 1}/{@code 0}), integers may carry size suffixes (e.g., {@code 512m}) but must fit into
+ * an {@code int}, and list box and check box values must be among the offered options. Check
+ * boxes accept several comma-separated selections.</p>
  */
 class ConfigurationSettingPrimitiveParser {
 
@@ -29,7 +40,8 @@ class ConfigurationSettingPrimitiveParser {
   @FunctionalInterface
   interface Parser {
 
-    ConfigurationSettingPrimitive<?> parse(String value);
+    ConfigurationSettingPrimitive<?> parse(ConfigurationRequirement<?> requirement, String value)
+        throws AlgorithmConfigurationException;
   }
 
   private final Map<Class<? extends ConfigurationRequirement<?>>, Parser> requirementToParser;
@@ -49,30 +61,92 @@ class ConfigurationSettingPrimitiveParser {
   }
 
   ConfigurationSettingPrimitive<?> parse(final ConfigurationRequirement<?> requirement,
-      final String value) {
+      final String value) throws AlgorithmConfigurationException {
 
     LOG.trace("Parsing configuration value with key {}", requirement.getIdentifier());
-    return requirementToParser.get(requirement.getClass()).parse(value);
+    return requirementToParser.get(requirement.getClass()).parse(requirement, value);
   }
 
-  private ConfigurationSettingPrimitive<?> parseBoolean(final String value) {
-    return new ConfigurationSettingBoolean(Boolean.parseBoolean(value));
+  private ConfigurationSettingPrimitive<?> parseBoolean(final ConfigurationRequirement<?> requirement,
+      final String value) throws AlgorithmConfigurationException {
+
+    switch (value.trim().toLowerCase()) {
+      case "true":
+      case "yes":
+      case "1":
+        return new ConfigurationSettingBoolean(true);
+      case "false":
+      case "no":
+      case "0":
+        return new ConfigurationSettingBoolean(false);
+      default:
+        throw invalidValue(requirement, value, "expected true or false");
+    }
   }
 
-  private ConfigurationSettingPrimitive<?> parseInteger(final String value) {
-    return new ConfigurationSettingInteger(Integer.parseInt(value));
+  private ConfigurationSettingPrimitive<?> parseInteger(final ConfigurationRequirement<?> requirement,
+      final String value) throws AlgorithmConfigurationException {
+
+    final String trimmedValue = value.trim();
+    long parsedValue;
+    try {
+      parsedValue = Long.parseLong(trimmedValue);
+    } catch (final NumberFormatException e) {
+      try {
+        // Sizes such as 512m are a convenience for memory and buffer parameters.
+        parsedValue = ByteSizeConverter.parse(trimmedValue);
+      } catch (final IllegalArgumentException e2) {
+        throw invalidValue(requirement, value, "expected an integer, optionally with a size suffix");
+      }
+    }
+    if (parsedValue < Integer.MIN_VALUE || parsedValue > Integer.MAX_VALUE) {
+      throw invalidValue(requirement, value,
+          "exceeds the integer range [" + Integer.MIN_VALUE + ", " + Integer.MAX_VALUE + "]");
+    }
+    return new ConfigurationSettingInteger((int) parsedValue);
   }
 
-  private ConfigurationSettingPrimitive<?> parseString(final String value) {
+  private ConfigurationSettingPrimitive<?> parseString(final ConfigurationRequirement<?> requirement,
+      final String value) {
     return new ConfigurationSettingString(value);
   }
 
-  private ConfigurationSettingPrimitive<?> parseListBox(final String value) {
+  private ConfigurationSettingPrimitive<?> parseListBox(final ConfigurationRequirement<?> requirement,
+      final String value) throws AlgorithmConfigurationException {
+
+    final List<String> options = ((ConfigurationRequirementListBox) requirement).getValues();
+    checkOption(requirement, value, options);
     return new ConfigurationSettingListBox(value);
   }
 
-  private ConfigurationSettingPrimitive<?> parseCheckBox(final String value) {
-    // Currently restricted to single selection
-    return new ConfigurationSettingCheckBox(new String[]{value});
+  private ConfigurationSettingPrimitive<?> parseCheckBox(final ConfigurationRequirement<?> requirement,
+      final String value) throws AlgorithmConfigurationException {
+
+    final String[] options = ((ConfigurationRequirementCheckBox) requirement).getValues();
+    final List<String> selection = new ArrayList<>();
+    for (final String selectedValue : value.split(",")) {
+      final String trimmedValue = selectedValue.trim();
+      if (!trimmedValue.isEmpty()) {
+        checkOption(requirement, trimmedValue, options == null ? null : Arrays.asList(options));
+        selection.add(trimmedValue);
+      }
+    }
+    return new ConfigurationSettingCheckBox(selection.toArray(new String[0]));
+  }
+
+  private static void checkOption(final ConfigurationRequirement<?> requirement,
+      final String value, final List<String> options) throws AlgorithmConfigurationException {
+
+    if (options != null && !options.isEmpty() && !options.contains(value)) {
+      throw invalidValue(requirement, value,
+          "expected one of " + Joiner.on(", ").join(options));
+    }
+  }
+
+  private static AlgorithmConfigurationException invalidValue(
+      final ConfigurationRequirement<?> requirement, final String value, final String reason) {
+    return new AlgorithmConfigurationException(String.format(
+        "invalid value '%s' for configuration requirement %s: %s",
+        value, requirement.getIdentifier(), reason));
   }
 }
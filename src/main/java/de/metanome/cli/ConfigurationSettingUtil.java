@@ -14,12 +14,21 @@ import de.metanome.algorithm_integration.configuration.ConfigurationSettingCheck
 import de.metanome.algorithm_integration.configuration.ConfigurationSettingInteger;
 import de.metanome.algorithm_integration.configuration.ConfigurationSettingListBox;
 import de.metanome.algorithm_integration.configuration.ConfigurationSettingString;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.apache.commons.lang3.reflect.ConstructorUtils;
 
 class ConfigurationSettingUtil {
 
+  private static final MethodType SETTING_CONSTRUCTOR_TYPE =
+      MethodType.methodType(ConfigurationSetting.class, Object.class);
+
   private static final Map<Class<? extends ConfigurationRequirementDefaultValue<?, ?>>, Class<? extends ConfigurationSetting>> requirementToSetting = new HashMap<>();
 
   static {
@@ -35,14 +44,65 @@ class ConfigurationSettingUtil {
         .put(ConfigurationRequirementCheckBox.class, ConfigurationSettingCheckBox.class);
   }
 
+  /**
+   * Setting constructors by requirement class and value class. The constructors are looked up
+   * once and then invoked via {@link MethodHandle}s.
+   */
+  private static final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, MethodHandle>> settingConstructors =
+      new ConcurrentHashMap<>();
+
   static ConfigurationSetting newSettingsInstance(final ConfigurationRequirement<?> requirement,
-      final Object value) throws AlgorithmConfigurationException {
+      final Object value, final boolean useCaches) throws AlgorithmConfigurationException {
+
+    if (!useCaches) {
+      try {
+        return ConstructorUtils
+            .invokeConstructor(requirementToSetting.get(requirement.getClass()), value);
+      } catch (final ReflectiveOperationException e) {
+        throw new AlgorithmConfigurationException("failed to create setting", e);
+      }
+    }
+    final MethodHandle constructor = getSettingConstructor(requirement.getClass(), value.getClass());
+    try {
+      return (ConfigurationSetting) constructor.invokeExact(value);
+    } catch (final Throwable t) {
+      throw new AlgorithmConfigurationException("failed to create setting", t);
+    }
+  }
 
+  private static MethodHandle getSettingConstructor(final Class<?> requirementClass,
+      final Class<?> valueClass) throws AlgorithmConfigurationException {
+
+    final ConcurrentMap<Class<?>, MethodHandle> constructorsByValueClass = settingConstructors
+        .computeIfAbsent(requirementClass, key -> new ConcurrentHashMap<>());
+    MethodHandle constructor = constructorsByValueClass.get(valueClass);
+    if (constructor == null) {
+      constructor = lookUpSettingConstructor(requirementClass, valueClass);
+      constructorsByValueClass.putIfAbsent(valueClass, constructor);
+    }
+    return constructor;
+  }
+
+  private static MethodHandle lookUpSettingConstructor(final Class<?> requirementClass,
+      final Class<?> valueClass) throws AlgorithmConfigurationException {
+
+    final Class<? extends ConfigurationSetting> settingClass =
+        requirementToSetting.get(requirementClass);
+    if (settingClass == null) {
+      throw new AlgorithmConfigurationException(
+          "no setting type known for requirement type " + requirementClass.getName());
+    }
+    final Constructor<? extends ConfigurationSetting> constructor =
+        ConstructorUtils.getMatchingAccessibleConstructor(settingClass, valueClass);
+    if (constructor == null) {
+      throw new AlgorithmConfigurationException(String.format(
+          "no constructor %s(%s) found", settingClass.getName(), valueClass.getName()));
+    }
     try {
-      return ConstructorUtils
-          .invokeConstructor(requirementToSetting.get(requirement.getClass()), value);
-    } catch (final ReflectiveOperationException e) {
-      throw new AlgorithmConfigurationException("failed to create setting", e);
+      return MethodHandles.publicLookup().unreflectConstructor(constructor)
+          .asType(SETTING_CONSTRUCTOR_TYPE);
+    } catch (final IllegalAccessException e) {
+      throw new AlgorithmConfigurationException("failed to access setting constructor", e);
     }
   }
 
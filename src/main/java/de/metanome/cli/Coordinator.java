@@ -0,0 +1,384 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.result_receiver.OmniscientResultReceiver;
+import de.metanome.algorithm_integration.results.Result;
+import de.hpi.isg.profiledb.store.model.Experiment;
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the tasks of a job in worker JVMs, which are started as local processes or on remote hosts
+ * via SSH, and collects their results and ProfileDB experiments.
+ *
+ * <p>Each worker runs the CLI with the original arguments, except that it works on its task's
+ * inputs or configuration and streams its results in binary form to a socket of the coordinator.
+ * The results of an attempt are spooled to a file and only delivered to the result receiver once
+ * the worker has succeeded, so that restarted tasks do not produce duplicate results. Remote
+ * workers need the same class path and a spool directory on a shared file system, where they
+ * place their ProfileDB experiments.</p>
+ */
+class Coordinator {
+
+  private static final Logger LOG = LoggerFactory.getLogger(Coordinator.class);
+
+  /**
+   * Time to wait for a worker to connect before checking whether it is still alive.
+   */
+  private static final int ACCEPT_TIMEOUT_MILLIS = 1000;
+
+  /**
+   * Marks options for {@link #removeOptions(List, Map)} that take all values up to the next
+   * option.
+   */
+  static final int VARIABLE_ARITY = -1;
+
+  /**
+   * A unit of work for a single worker.
+   */
+  static class Task {
+
+    private final String id;
+
+    private final List<String> arguments;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param id identifies the task, e.g., in file names
+     * @param arguments are appended to the common worker arguments
+     */
+    Task(String id, List<String> arguments) {
+      this.id = id;
+      this.arguments = arguments;
+    }
+
+    String getId() {
+      return id;
+    }
+  }
+
+  private final List<String> commonArguments;
+
+  private final List<String> hosts;
+
+  private final List<String> jvmOptions;
+
+  private final int numWorkers;
+
+  private final int maxRetries;
+
+  private final String coordinatorHost;
+
+  private final File spoolDirectory;
+
+  private final boolean isCollectingExperiments;
+
+  private final List<Experiment> experiments = new ArrayList<>();
+
+  /**
+   * Creates a new instance.
+   *
+   * @param commonArguments the CLI arguments for all workers
+   * @param hosts hosts to start workers on in a round-robin fashion or an empty list to start
+   * them locally
+   * @param jvmOptions the JVM options for the workers
+   * @param numWorkers the maximum number of concurrent workers
+   * @param maxRetries the number of times to restart a failed task
+   * @param coordinatorHost the address for remote workers to reach the coordinator or {@code null}
+   * @param spoolDirectory the directory for spooled results and ProfileDB experiments
+   * @param isCollectingExperiments whether the workers store ProfileDB experiments
+   */
+  Coordinator(List<String> commonArguments, List<String> hosts, List<String> jvmOptions,
+      int numWorkers, int maxRetries, String coordinatorHost, File spoolDirectory,
+      boolean isCollectingExperiments) {
+    this.commonArguments = commonArguments;
+    this.hosts = hosts;
+    this.jvmOptions = jvmOptions;
+    this.numWorkers = numWorkers;
+    this.maxRetries = maxRetries;
+    this.coordinatorHost = coordinatorHost;
+    this.spoolDirectory = spoolDirectory;
+    this.isCollectingExperiments = isCollectingExperiments;
+  }
+
+  /**
+   * Run the given tasks.
+   *
+   * @param tasks the tasks
+   * @param resultReceiver receives the results of all succeeded tasks
+   * @return {@code 0} if all tasks succeeded or else the exit code of a failed task
+   */
+  int run(List<Task> tasks, OmniscientResultReceiver resultReceiver) {
+    LOG.info("Running {} tasks on {} workers.", tasks.size(), numWorkers);
+    ExecutorService executor = Executors.newFixedThreadPool(numWorkers);
+    List<Future<Integer>> exitCodes = new ArrayList<>();
+    for (int i = 0; i < tasks.size(); i++) {
+      Task task = tasks.get(i);
+      String host = hosts.isEmpty() ? null : hosts.get(i % hosts.size());
+      exitCodes.add(executor.submit(() -> runWithRetries(task, host, resultReceiver)));
+    }
+    executor.shutdown();
+
+    int exitCode = 0;
+    for (int i = 0; i < exitCodes.size(); i++) {
+      int taskExitCode;
+      try {
+        taskExitCode = exitCodes.get(i).get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        executor.shutdownNow();
+        return 1;
+      } catch (ExecutionException e) {
+        LOG.error("Task {} failed.", tasks.get(i).getId(), e.getCause());
+        taskExitCode = AlgorithmExecutor.Outcome.FAILURE.getExitCode();
+      }
+      if (exitCode == 0) {
+        exitCode = taskExitCode;
+      }
+    }
+    return exitCode;
+  }
+
+  /**
+   * Provide the ProfileDB experiments of the succeeded tasks.
+   */
+  synchronized List<Experiment> getExperiments() {
+    return new ArrayList<>(experiments);
+  }
+
+  private int runWithRetries(Task task, String host, OmniscientResultReceiver resultReceiver)
+      throws IOException, InterruptedException {
+    int exitCode = 1;
+    for (int attempt = 0; attempt <= maxRetries; attempt++) {
+      if (attempt > 0) {
+        LOG.warn("Restarting task {} (attempt {} of {}).", task.getId(), attempt + 1,
+            maxRetries + 1);
+      }
+      exitCode = runAttempt(task, host, attempt, resultReceiver);
+      if (exitCode == 0) {
+        return 0;
+      }
+      LOG.error("Task {} failed with exit code {}.", task.getId(), exitCode);
+    }
+    return exitCode;
+  }
+
+  private int runAttempt(Task task, String host, int attempt,
+      OmniscientResultReceiver resultReceiver) throws IOException, InterruptedException {
+    String attemptId = task.getId() + "-" + attempt;
+    File resultFile = new File(spoolDirectory, "worker-" + attemptId + ".results");
+    File experimentFile = new File(spoolDirectory, "worker-" + attemptId + ".profiledb");
+    Files.deleteIfExists(experimentFile.toPath());
+    try {
+      InetAddress bindAddress = host == null ? InetAddress.getLoopbackAddress() : null;
+      try (ServerSocket serverSocket = new ServerSocket(0, 1, bindAddress)) {
+        serverSocket.setSoTimeout(ACCEPT_TIMEOUT_MILLIS);
+        String address = host == null ?
+            bindAddress.getHostAddress() :
+            (coordinatorHost != null ? coordinatorHost : InetAddress.getLocalHost().getHostName());
+        List<String> command = createCommand(host, task,
+            "stream:binary:tcp:" + address + ":" + serverSocket.getLocalPort(), experimentFile);
+        LOG.debug("Starting worker for task {}: {}", task.getId(), command);
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        try {
+          Socket socket = accept(serverSocket, process);
+          if (socket != null) {
+            try (InputStream in = socket.getInputStream()) {
+              Files.copy(in, resultFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+          }
+          int exitCode = process.waitFor();
+          if (exitCode != 0) {
+            return exitCode;
+          }
+          if (socket == null) {
+            LOG.error("Worker for task {} did not stream any results.", task.getId());
+            return 1;
+          }
+        } finally {
+          process.destroy();
+        }
+      }
+
+      deliverResults(resultFile, resultReceiver);
+      if (isCollectingExperiments && experimentFile.isFile()) {
+        Collection<Experiment> taskExperiments = App.createProfileDB().load(experimentFile);
+        synchronized (this) {
+          experiments.addAll(taskExperiments);
+        }
+      }
+      return 0;
+    } finally {
+      // Failed attempts leave their spooled results behind, too.
+      Files.deleteIfExists(resultFile.toPath());
+      Files.deleteIfExists(experimentFile.toPath());
+    }
+  }
+
+  /**
+   * Wait for the worker to connect.
+   *
+   * @return the connection or {@code null} if the worker terminated without connecting
+   */
+  private static Socket accept(ServerSocket serverSocket, Process process) throws IOException {
+    while (true) {
+      try {
+        return serverSocket.accept();
+      } catch (SocketTimeoutException e) {
+        if (!process.isAlive()) {
+          return null;
+        }
+      }
+    }
+  }
+
+  private void deliverResults(File resultFile, OmniscientResultReceiver resultReceiver)
+      throws IOException {
+    int numResults = 0;
+    // Results of concurrently finishing tasks must not interleave in the result receiver.
+    synchronized (resultReceiver) {
+      try (ObjectInputStream in = new ObjectInputStream(
+          new BufferedInputStream(new FileInputStream(resultFile), 1 << 16))) {
+        while (true) {
+          Result result;
+          try {
+            result = (Result) in.readObject();
+          } catch (EOFException e) {
+            break;
+          }
+          result.sendResultTo(resultReceiver);
+          numResults++;
+        }
+      } catch (ClassNotFoundException e) {
+        throw new IOException("Could not deserialize result.", e);
+      } catch (Exception e) {
+        if (e instanceof IOException) {
+          throw (IOException) e;
+        }
+        throw new IOException("Could not deliver result.", e);
+      }
+    }
+    LOG.info("Delivered {} results from {}.", numResults, resultFile.getName());
+  }
+
+  private List<String> createCommand(String host, Task task, String output, File experimentFile) {
+    List<String> command = new ArrayList<>();
+    command.add(host == null ?
+        new File(new File(System.getProperty("java.home"), "bin"), "java").getPath() :
+        "java");
+    command.addAll(jvmOptions);
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(App.class.getName());
+    command.addAll(commonArguments);
+    command.addAll(task.arguments);
+    command.add("--output");
+    command.add(output);
+    if (isCollectingExperiments) {
+      command.add("--profiledb");
+      command.add(experimentFile.getAbsolutePath());
+    }
+    if (host == null) {
+      return command;
+    }
+    String remoteCommand = "cd " + quote(new File("").getAbsolutePath()) + " && "
+        + command.stream().map(Coordinator::quote).collect(Collectors.joining(" "));
+    return Arrays.asList("ssh", "-o", "BatchMode=yes", host, remoteCommand);
+  }
+
+  private static String quote(String token) {
+    return "'" + token.replace("'", "'\\''") + "'";
+  }
+
+  /**
+   * Remove options along with their values from CLI arguments.
+   *
+   * @param arguments the CLI arguments
+   * @param options the options to remove, mapped to their numbers of values or
+   * {@link #VARIABLE_ARITY}
+   * @return the remaining arguments
+   */
+  static List<String> removeOptions(List<String> arguments, Map<String, Integer> options) {
+    List<String> result = new ArrayList<>();
+    for (int i = 0; i < arguments.size(); i++) {
+      Integer arity = options.get(arguments.get(i));
+      if (arity == null) {
+        result.add(arguments.get(i));
+      } else if (arity == VARIABLE_ARITY) {
+        while (i + 1 < arguments.size() && !isOption(arguments.get(i + 1))) {
+          i++;
+        }
+      } else {
+        i += arity;
+      }
+    }
+    return result;
+  }
+
+  private static boolean isOption(String argument) {
+    return argument.length() > 1 && argument.charAt(0) == '-'
+        && Character.isLetter(argument.charAt(argument.startsWith("--") ? 2 : 1));
+  }
+
+  /**
+   * Split inputs into partitions of similar total weight by assigning the heaviest remaining
+   * input to the lightest partition.
+   *
+   * @param inputs the inputs
+   * @param numPartitions the maximum number of partitions
+   * @param weight estimates the effort for an input, e.g., by its file size
+   * @return the non-empty partitions
+   */
+  static List<List<String>> partition(List<String> inputs, int numPartitions,
+      ToLongFunction<String> weight) {
+    List<String> sortedInputs = new ArrayList<>(inputs);
+    sortedInputs.sort(Comparator.comparingLong(weight).reversed());
+    int actualNumPartitions = Math.min(numPartitions, inputs.size());
+    List<List<String>> partitions = new ArrayList<>();
+    long[] partitionWeights = new long[actualNumPartitions];
+    for (int i = 0; i < actualNumPartitions; i++) {
+      partitions.add(new ArrayList<>());
+    }
+    for (String input : sortedInputs) {
+      int lightestPartition = 0;
+      for (int i = 1; i < actualNumPartitions; i++) {
+        if (partitionWeights[i] < partitionWeights[lightestPartition]) {
+          lightestPartition = i;
+        }
+      }
+      partitions.get(lightestPartition).add(input);
+      partitionWeights[lightestPartition] += Math.max(weight.applyAsLong(input), 1L);
+    }
+    for (List<String> partition : partitions) {
+      // Keep the order of the input specification.
+      partition.sort(Comparator.comparingInt(inputs::indexOf));
+    }
+    return Collections.unmodifiableList(partitions);
+  }
+}
@@ -0,0 +1,28 @@
+package de.metanome.cli;
+
+import de.hpi.isg.profiledb.store.model.Measurement;
+import de.hpi.isg.profiledb.store.model.Type;
+
+/**
+ * A ProfileDB {@link Measurement} that holds a count, e.g., of results or input rows.
+ */
+@Type("counter")
+public class CounterMeasurement extends Measurement {
+
+  private long value;
+
+  /**
+   * Required for deserialization.
+   */
+  private CounterMeasurement() {
+  }
+
+  public CounterMeasurement(String id, long value) {
+    super(id);
+    this.value = value;
+  }
+
+  public long getValue() {
+    return value;
+  }
+}
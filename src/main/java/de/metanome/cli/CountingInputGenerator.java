@@ -0,0 +1,100 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+import de.metanome.algorithm_integration.input.InputGenerationException;
+import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.algorithm_integration.input.RelationalInputGenerator;
+import java.util.List;
+
+/**
+ * Decorates a {@link RelationalInputGenerator}, so that the rows read from its
+ * {@link RelationalInput}s are counted in some {@link RunCounters}.
+ */
+class CountingInputGenerator implements RelationalInputGenerator {
+
+  /**
+   * Number of rows after which a {@link RelationalInput} publishes its local count.
+   */
+  private static final int PUBLISH_INTERVAL = 1024;
+
+  private final RelationalInputGenerator delegate;
+
+  private final RunCounters counters;
+
+  CountingInputGenerator(RelationalInputGenerator delegate, RunCounters counters) {
+    this.delegate = delegate;
+    this.counters = counters;
+  }
+
+  @Override
+  public RelationalInput generateNewCopy()
+      throws InputGenerationException, AlgorithmConfigurationException {
+    return new CountingInput(delegate.generateNewCopy());
+  }
+
+  @Override
+  public void close() throws Exception {
+    delegate.close();
+  }
+
+  /**
+   * Counts rows locally and publishes them in batches to keep the overhead per row low.
+   */
+  private class CountingInput implements RelationalInput {
+
+    private final RelationalInput input;
+
+    private int numUnpublishedRows = 0;
+
+    private CountingInput(RelationalInput input) {
+      this.input = input;
+    }
+
+    @Override
+    public boolean hasNext() throws InputIterationException {
+      boolean hasNext = input.hasNext();
+      if (!hasNext) {
+        publish();
+      }
+      return hasNext;
+    }
+
+    @Override
+    public List<String> next() throws InputIterationException {
+      List<String> row = input.next();
+      if (++numUnpublishedRows == PUBLISH_INTERVAL) {
+        publish();
+      }
+      return row;
+    }
+
+    private void publish() {
+      if (numUnpublishedRows > 0) {
+        counters.countRows(numUnpublishedRows);
+        numUnpublishedRows = 0;
+      }
+    }
+
+    @Override
+    public int numberOfColumns() {
+      return input.numberOfColumns();
+    }
+
+    @Override
+    public String relationName() {
+      return input.relationName();
+    }
+
+    @Override
+    public List<String> columnNames() {
+      return input.columnNames();
+    }
+
+    @Override
+    public void close() throws Exception {
+      publish();
+      input.close();
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.result_receiver.ColumnNameMismatchException;
+import de.metanome.algorithm_integration.result_receiver.CouldNotReceiveResultException;
+import de.metanome.algorithm_integration.result_receiver.OmniscientResultReceiver;
+import de.metanome.algorithm_integration.results.Result;
+import java.io.FileNotFoundException;
+
+/**
+ * Counts all results passing through in some {@link RunCounters}.
+ */
+class CountingResultReceiver extends ForwardingResultReceiver {
+
+  private final RunCounters counters;
+
+  CountingResultReceiver(OmniscientResultReceiver delegate, RunCounters counters)
+      throws FileNotFoundException {
+    super("counted-execution", delegate);
+    this.counters = counters;
+  }
+
+  @Override
+  protected void receive(Result result)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    counters.countResult(result);
+    super.receive(result);
+  }
+}
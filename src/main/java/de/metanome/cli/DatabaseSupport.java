@@ -0,0 +1,130 @@
+package de.metanome.cli;
+
+import static java.util.stream.Collectors.toList;
+
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+import de.metanome.algorithm_integration.configuration.ConfigurationSettingDatabaseConnection;
+import de.metanome.algorithm_integration.configuration.ConfigurationSettingTableInput;
+import de.metanome.algorithm_integration.configuration.DbSystem;
+import de.metanome.algorithm_integration.input.DatabaseConnectionGenerator;
+import de.metanome.backend.input.database.DefaultDatabaseConnectionGenerator;
+import de.metanome.backend.input.database.DefaultTableInputGenerator;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Creates the database inputs of the {@link App}. Keeping them apart from the {@link App} defers
+ * loading the JDBC-related classes until {@code --db-connection} is given.
+ */
+final class DatabaseSupport {
+
+  private DatabaseSupport() {
+  }
+
+  static ConfigurationSettingDatabaseConnection loadConfigurationSettingDatabaseConnection(
+      String pgpassPath, String dbType) throws AlgorithmConfigurationException {
+    try {
+      String firstLine = Files.lines(new File(pgpassPath).toPath()).findFirst().orElseThrow(
+          () -> new AlgorithmConfigurationException("Could not load PGPass file.")
+      );
+      int colonPos1 = firstLine.indexOf(':');
+      int colonPos2 = firstLine.indexOf(':', colonPos1 + 1);
+      int colonPos3 = firstLine.indexOf(':', colonPos2 + 1);
+      int colonPos4 = firstLine.indexOf(':', colonPos3 + 1);
+      if (colonPos4 == -1) {
+        throw new IllegalArgumentException("Cannot parse PGPass file.");
+      }
+      String host = firstLine.substring(0, colonPos1);
+      String port = firstLine.substring(colonPos1 + 1, colonPos2);
+      String dbName = firstLine.substring(colonPos2 + 1, colonPos3);
+      String user = firstLine.substring(colonPos3 + 1, colonPos4);
+      String password = firstLine.substring(colonPos4 + 1);
+
+      // TODO: Consider special JDBC URL formats, such as Oracle Thin.
+      // The Postgres JDBC driver only accepts its full name.
+      String jdbcType = "postgres".equalsIgnoreCase(dbType) ? "postgresql" : dbType;
+      String jdbcUrl = String.format("jdbc:%s://%s:%s/%s", jdbcType, host, port, dbName);
+      DbSystem dbSystem = DbSystem.PostgreSQL;
+      if ("postgres".equalsIgnoreCase(dbType) || "postgresql".equalsIgnoreCase(dbType)) {
+        dbSystem = DbSystem.PostgreSQL;
+      } else if ("mysql".equalsIgnoreCase(dbType)) {
+        dbSystem = DbSystem.MySQL;
+      } else {
+        // TODO: Consider other DB types. But it does not seem that this is a crucial piece of information for Metanome.
+      }
+      return new ConfigurationSettingDatabaseConnection(
+          jdbcUrl, user, password, dbSystem
+      );
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Create a {@link DefaultTableInputGenerator}s.
+   *
+   * @param parameters defines how to configure the {@link DefaultTableInputGenerator}
+   * @param parameterIndex index of the dataset parameter to create the {@link DefaultTableInputGenerator}s for
+   * @return the {@link DefaultTableInputGenerator}s
+   */
+  static Collection<DefaultTableInputGenerator> createTableInputGenerators(
+      App.Parameters parameters,
+      int parameterIndex,
+      ConfigurationSettingDatabaseConnection databaseSettings)
+      throws AlgorithmConfigurationException {
+    final String parameter = parameters.inputDatasets.get(parameterIndex);
+    if (parameter.startsWith("load:")) {
+      try {
+        return Files.lines(Paths.get(parameter.substring("load:".length())))
+            .map(table -> {
+              try {
+                return createTableInputGenerator(databaseSettings, table);
+              } catch (AlgorithmConfigurationException e) {
+                throw new RuntimeException("Could not create input generator.", e);
+              }
+            })
+            .collect(toList());
+      } catch (IOException e) {
+        throw new UncheckedIOException("Could not load input specification file.", e);
+      } catch (RuntimeException e) {
+        if (e.getCause() != null && (e.getCause() instanceof AlgorithmConfigurationException)) {
+          throw (AlgorithmConfigurationException) e.getCause();
+        } else {
+          throw e;
+        }
+      }
+    } else {
+      return Collections.singleton(
+          createTableInputGenerator(databaseSettings, parameter)
+      );
+    }
+  }
+
+  private static DefaultTableInputGenerator createTableInputGenerator(
+      ConfigurationSettingDatabaseConnection configurationSettingDatabaseConnection, String table)
+      throws AlgorithmConfigurationException {
+    ConfigurationSettingTableInput setting = new ConfigurationSettingTableInput(
+        table, configurationSettingDatabaseConnection
+    );
+    if (configurationSettingDatabaseConnection.getDbUrl().startsWith("jdbc:postgresql:")) {
+      return new PostgresCopyTableInputGenerator(setting);
+    }
+    return new DefaultTableInputGenerator(setting);
+  }
+
+  static DatabaseConnectionGenerator createDatabaseConnectionGenerator(
+      ConfigurationSettingDatabaseConnection configurationSettingDatabaseConnection)
+      throws AlgorithmConfigurationException {
+    return new DefaultDatabaseConnectionGenerator(new ConfigurationSettingDatabaseConnection(
+        configurationSettingDatabaseConnection.getDbUrl(),
+        configurationSettingDatabaseConnection.getUsername(),
+        configurationSettingDatabaseConnection.getPassword(),
+        configurationSettingDatabaseConnection.getSystem()
+    ));
+  }
+}
@@ -0,0 +1,163 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.ColumnCombination;
+import de.metanome.algorithm_integration.ColumnIdentifier;
+import de.metanome.algorithm_integration.ColumnPermutation;
+import de.metanome.algorithm_integration.result_receiver.ColumnNameMismatchException;
+import de.metanome.algorithm_integration.result_receiver.CouldNotReceiveResultException;
+import de.metanome.algorithm_integration.result_receiver.OmniscientResultReceiver;
+import de.metanome.algorithm_integration.results.FunctionalDependency;
+import de.metanome.algorithm_integration.results.InclusionDependency;
+import de.metanome.algorithm_integration.results.Result;
+import de.metanome.algorithm_integration.results.UniqueColumnCombination;
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Forwards only those results that have not been received before and, optionally, only minimal
+ * FDs and UCCs.
+ *
+ * <p>Instead of keeping the results themselves, columns are mapped to integer IDs and each result
+ * is represented by a 64-bit hash of its column sets. Accidental hash collisions would suppress a
+ * result, but are extremely unlikely for realistic result sizes.</p>
+ *
+ * <p>Minimality is checked against the results received so far: if a non-minimal result arrives
+ * before its minimal counterpart, it cannot be retracted anymore.</p>
+ */
+class DeduplicatingResultReceiver extends ForwardingResultReceiver {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DeduplicatingResultReceiver.class);
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final boolean isFilteringNonMinimal;
+
+  private final Map<String, Integer> columnIds = new HashMap<>();
+
+  private final LongHashSet signatures = new LongHashSet();
+
+  private final ColumnSetTrie uccs = new ColumnSetTrie();
+
+  private final Map<Integer, ColumnSetTrie> fdLhsByRhs = new HashMap<>();
+
+  private long numDiscardedResults = 0L;
+
+  DeduplicatingResultReceiver(OmniscientResultReceiver delegate, boolean isFilteringNonMinimal)
+      throws FileNotFoundException {
+    super("deduplicated-execution", delegate);
+    this.isFilteringNonMinimal = isFilteringNonMinimal;
+  }
+
+  @Override
+  protected void receive(Result result)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    final boolean isForwarding;
+    synchronized (this) {
+      isForwarding = isNew(result);
+      if (!isForwarding) {
+        numDiscardedResults++;
+      }
+    }
+    if (isForwarding) {
+      super.receive(result);
+    }
+  }
+
+  private boolean isNew(Result result) {
+    if (result instanceof FunctionalDependency) {
+      FunctionalDependency fd = (FunctionalDependency) result;
+      int[] lhs = toColumnIds(fd.getDeterminant());
+      int rhs = toColumnId(fd.getDependant());
+      if (isFilteringNonMinimal) {
+        if (Arrays.binarySearch(lhs, rhs) >= 0) {
+          return false;
+        }
+        ColumnSetTrie lhsTrie = fdLhsByRhs.computeIfAbsent(rhs, key -> new ColumnSetTrie());
+        if (lhsTrie.containsSubsetOf(lhs)) {
+          return false;
+        }
+        lhsTrie.add(lhs);
+        return true;
+      }
+      return signatures.add(mix(hash(FNV_OFFSET_BASIS, lhs), rhs));
+
+    } else if (result instanceof UniqueColumnCombination) {
+      int[] columns = toColumnIds(((UniqueColumnCombination) result).getColumnCombination());
+      if (isFilteringNonMinimal) {
+        if (uccs.containsSubsetOf(columns)) {
+          return false;
+        }
+        uccs.add(columns);
+        return true;
+      }
+      return signatures.add(mix(hash(FNV_OFFSET_BASIS, columns), -1));
+
+    } else if (result instanceof InclusionDependency) {
+      InclusionDependency ind = (InclusionDependency) result;
+      long hash = hash(FNV_OFFSET_BASIS, toColumnIds(ind.getDependant()));
+      hash = hash(mix(hash, -2), toColumnIds(ind.getReferenced()));
+      return signatures.add(hash);
+    }
+
+    // Other result types are rare, so we simply hash their textual representation.
+    long hash = hash(FNV_OFFSET_BASIS, result.getClass().getName());
+    return signatures.add(hash(hash, result.toString()));
+  }
+
+  private int toColumnId(ColumnIdentifier column) {
+    String key = column.getTableIdentifier() + '\0' + column.getColumnIdentifier();
+    return columnIds.computeIfAbsent(key, k -> columnIds.size());
+  }
+
+  /**
+   * Encode a {@link ColumnCombination} as sorted column IDs.
+   */
+  private int[] toColumnIds(ColumnCombination columnCombination) {
+    int[] ids = columnCombination.getColumnIdentifiers().stream()
+        .mapToInt(this::toColumnId)
+        .toArray();
+    Arrays.sort(ids);
+    return ids;
+  }
+
+  /**
+   * Encode a {@link ColumnPermutation} as column IDs in the original order.
+   */
+  private int[] toColumnIds(ColumnPermutation columnPermutation) {
+    return columnPermutation.getColumnIdentifiers().stream()
+        .mapToInt(this::toColumnId)
+        .toArray();
+  }
+
+  private static long hash(long hash, int[] values) {
+    for (int value : values) {
+      hash = mix(hash, value);
+    }
+    return mix(hash, values.length);
+  }
+
+  private static long hash(long hash, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+    }
+    return hash;
+  }
+
+  private static long mix(long hash, int value) {
+    for (int shift = 0; shift < 32; shift += 8) {
+      hash = (hash ^ ((value >>> shift) & 0xFF)) * FNV_PRIME;
+    }
+    return hash;
+  }
+
+  @Override
+  public synchronized void close() {
+    LOG.info("Discarded {} duplicate or non-minimal results.", numDiscardedResults);
+  }
+}
@@ -0,0 +1,60 @@
+package de.metanome.cli;
+
+import com.beust.jcommander.ParameterException;
+import com.beust.jcommander.converters.BaseConverter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts durations such as {@code 500ms}, {@code 90s}, {@code 30m}, {@code 2h}, or {@code 1d}
+ * into milliseconds. Numbers without unit are interpreted as seconds.
+ */
+public class DurationConverter extends BaseConverter<Long> {
+
+  public DurationConverter(String optionName) {
+    super(optionName);
+  }
+
+  @Override
+  public Long convert(String value) {
+    try {
+      return parse(value);
+    } catch (IllegalArgumentException e) {
+      throw new ParameterException(getErrorString(value, "a duration (e.g., 90s or 2h)"));
+    }
+  }
+
+  /**
+   * Parse a duration.
+   *
+   * @param value the duration specification
+   * @return the duration in milliseconds
+   * @throws IllegalArgumentException if the duration cannot be parsed
+   */
+  public static long parse(String value) {
+    String spec = value.trim().toLowerCase();
+    TimeUnit unit;
+    if (spec.endsWith("ms")) {
+      unit = TimeUnit.MILLISECONDS;
+      spec = spec.substring(0, spec.length() - 2);
+    } else if (spec.endsWith("s")) {
+      unit = TimeUnit.SECONDS;
+      spec = spec.substring(0, spec.length() - 1);
+    } else if (spec.endsWith("m")) {
+      unit = TimeUnit.MINUTES;
+      spec = spec.substring(0, spec.length() - 1);
+    } else if (spec.endsWith("h")) {
+      unit = TimeUnit.HOURS;
+      spec = spec.substring(0, spec.length() - 1);
+    } else if (spec.endsWith("d")) {
+      unit = TimeUnit.DAYS;
+      spec = spec.substring(0, spec.length() - 1);
+    } else {
+      unit = TimeUnit.SECONDS;
+    }
+    final long duration = Long.parseLong(spec);
+    if (duration < 0) {
+      throw new IllegalArgumentException(String.format("Illegal duration: \"%s\"", value));
+    }
+    return unit.toMillis(duration);
+  }
+}
@@ -0,0 +1,78 @@
+package de.metanome.cli;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Summarizes the execution times of repeated runs.
+ */
+class ExecutionTimeStatistics {
+
+  private final List<Long> sortedMillis;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param millis the execution times in milliseconds; must not be empty
+   */
+  ExecutionTimeStatistics(List<Long> millis) {
+    if (millis.isEmpty()) {
+      throw new IllegalArgumentException("No execution times given.");
+    }
+    this.sortedMillis = new ArrayList<>(millis);
+    Collections.sort(this.sortedMillis);
+  }
+
+  long getMin() {
+    return sortedMillis.get(0);
+  }
+
+  long getMax() {
+    return sortedMillis.get(sortedMillis.size() - 1);
+  }
+
+  long getMedian() {
+    int size = sortedMillis.size();
+    if (size % 2 == 1) {
+      return sortedMillis.get(size / 2);
+    }
+    return (sortedMillis.get(size / 2 - 1) + sortedMillis.get(size / 2)) / 2;
+  }
+
+  /**
+   * Determine a percentile with the nearest-rank method.
+   *
+   * @param percentile the percentile, e.g., {@code 95}
+   * @return the execution time
+   */
+  long getPercentile(int percentile) {
+    int rank = (int) Math.ceil(percentile / 100d * sortedMillis.size());
+    return sortedMillis.get(Math.max(rank, 1) - 1);
+  }
+
+  double getMean() {
+    double sum = 0d;
+    for (long millis : sortedMillis) {
+      sum += millis;
+    }
+    return sum / sortedMillis.size();
+  }
+
+  /**
+   * Determine the sample standard deviation.
+   *
+   * @return the standard deviation or {@code 0} for a single execution time
+   */
+  double getStandardDeviation() {
+    if (sortedMillis.size() < 2) {
+      return 0d;
+    }
+    double mean = getMean();
+    double sumOfSquares = 0d;
+    for (long millis : sortedMillis) {
+      sumOfSquares += (millis - mean) * (millis - mean);
+    }
+    return Math.sqrt(sumOfSquares / (sortedMillis.size() - 1));
+  }
+}
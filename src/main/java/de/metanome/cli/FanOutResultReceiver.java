@@ -0,0 +1,302 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.result_receiver.ColumnNameMismatchException;
+import de.metanome.algorithm_integration.result_receiver.CouldNotReceiveResultException;
+import de.metanome.algorithm_integration.result_receiver.OmniscientResultReceiver;
+import de.metanome.algorithm_integration.results.BasicStatistic;
+import de.metanome.algorithm_integration.results.ConditionalFunctionalDependency;
+import de.metanome.algorithm_integration.results.ConditionalUniqueColumnCombination;
+import de.metanome.algorithm_integration.results.DenialConstraint;
+import de.metanome.algorithm_integration.results.FunctionalDependency;
+import de.metanome.algorithm_integration.results.InclusionDependency;
+import de.metanome.algorithm_integration.results.MatchingDependency;
+import de.metanome.algorithm_integration.results.MultivaluedDependency;
+import de.metanome.algorithm_integration.results.OrderDependency;
+import de.metanome.algorithm_integration.results.Result;
+import de.metanome.algorithm_integration.results.UniqueColumnCombination;
+import de.metanome.backend.result_receiver.ResultReceiver;
+import java.io.FileNotFoundException;
+import java.io.Flushable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers every result to several result sinks. Each sink is fed by its own thread from a
+ * bounded queue, so that a slow sink delays the algorithm only once its queue is full.
+ *
+ * <p>If a sink fails, it is logged and the sink receives no further results, while the other
+ * sinks are not affected. The {@link App} checks {@link #hasFailedSinks()} to report the lost
+ * results in its exit code. Closing this instance waits for all queues to be drained; the sinks
+ * themselves are closed by the {@link App} according to their output modes.</p>
+ */
+class FanOutResultReceiver extends ResultReceiver {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FanOutResultReceiver.class);
+
+  /**
+   * Maximum number of results that a sink thread takes from its queue at once.
+   */
+  private static final int MAX_BATCH_SIZE = 1024;
+
+  /**
+   * Time to wait for space in a queue before checking whether its sink thread is still alive.
+   */
+  private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+  /**
+   * Signals the end of the results in a queue.
+   */
+  private static final Object END_OF_RESULTS = new Object();
+
+  private final List<AsyncSink> sinks = new ArrayList<>();
+
+  private boolean isClosed = false;
+
+  /**
+   * Creates a new instance and starts the sink threads.
+   *
+   * @param sinks the result sinks along with their output specifications
+   * @param queueCapacity the maximum number of pending results per sink
+   */
+  FanOutResultReceiver(List<Pair<String, OmniscientResultReceiver>> sinks, int queueCapacity)
+      throws FileNotFoundException {
+    super("fan-out-execution", null);
+    for (Pair<String, OmniscientResultReceiver> sink : sinks) {
+      this.sinks.add(new AsyncSink(sink.getLeft(), sink.getRight(), queueCapacity));
+    }
+    for (AsyncSink sink : this.sinks) {
+      sink.start();
+    }
+  }
+
+  /**
+   * Provide the result sinks.
+   *
+   * @return the result sinks along with their output specifications
+   */
+  List<Pair<String, OmniscientResultReceiver>> getSinks() {
+    List<Pair<String, OmniscientResultReceiver>> result = new ArrayList<>();
+    for (AsyncSink sink : sinks) {
+      result.add(Pair.of(sink.output, sink.sink));
+    }
+    return result;
+  }
+
+  /**
+   * Tell how many results are waiting to be delivered to each sink.
+   *
+   * @return the output specifications along with their queue depths
+   */
+  List<Pair<String, Integer>> getQueueDepths() {
+    List<Pair<String, Integer>> result = new ArrayList<>();
+    for (AsyncSink sink : sinks) {
+      result.add(Pair.of(sink.output, sink.queue.size()));
+    }
+    return result;
+  }
+
+  /**
+   * Tell whether any sink failed and thus missed results.
+   */
+  boolean hasFailedSinks() {
+    for (AsyncSink sink : sinks) {
+      if (sink.failure != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void receive(Result result) throws CouldNotReceiveResultException {
+    for (AsyncSink sink : sinks) {
+      sink.put(result);
+    }
+  }
+
+  @Override
+  public void receiveResult(BasicStatistic statistic)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(statistic);
+  }
+
+  @Override
+  public void receiveResult(ConditionalUniqueColumnCombination conditionalUniqueColumnCombination)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(conditionalUniqueColumnCombination);
+  }
+
+  @Override
+  public void receiveResult(FunctionalDependency functionalDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(functionalDependency);
+  }
+
+  @Override
+  public void receiveResult(InclusionDependency inclusionDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(inclusionDependency);
+  }
+
+  @Override
+  public void receiveResult(MultivaluedDependency multivaluedDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(multivaluedDependency);
+  }
+
+  @Override
+  public void receiveResult(OrderDependency orderDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(orderDependency);
+  }
+
+  @Override
+  public void receiveResult(UniqueColumnCombination uniqueColumnCombination)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(uniqueColumnCombination);
+  }
+
+  @Override
+  public void receiveResult(DenialConstraint denialConstraint)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(denialConstraint);
+  }
+
+  @Override
+  public void receiveResult(MatchingDependency matchingDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(matchingDependency);
+  }
+
+  @Override
+  public void receiveResult(ConditionalFunctionalDependency conditionalFunctionalDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(conditionalFunctionalDependency);
+  }
+
+  /**
+   * Wait until all pending results are delivered and stop the sink threads.
+   */
+  @Override
+  public synchronized void close() {
+    if (isClosed) {
+      return;
+    }
+    isClosed = true;
+    for (AsyncSink sink : sinks) {
+      sink.finish();
+    }
+  }
+
+  /**
+   * Feeds a single result sink from a bounded queue.
+   */
+  private static class AsyncSink extends Thread {
+
+    private final String output;
+
+    private final OmniscientResultReceiver sink;
+
+    private final BlockingQueue<Object> queue;
+
+    private volatile Throwable failure;
+
+    AsyncSink(String output, OmniscientResultReceiver sink, int queueCapacity) {
+      super("result-sink-" + output);
+      setDaemon(true);
+      this.output = output;
+      this.sink = sink;
+      this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    void put(Result result) throws CouldNotReceiveResultException {
+      if (failure != null) {
+        return;
+      }
+      try {
+        enqueue(result);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new CouldNotReceiveResultException("Interrupted while passing on result.", e);
+      }
+    }
+
+    void finish() {
+      try {
+        enqueue(END_OF_RESULTS);
+        join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        LOG.error("Interrupted while waiting for result sink \"{}\".", output, e);
+      }
+    }
+
+    /**
+     * Put an element into the queue unless the sink thread has terminated, in which case nobody
+     * would ever take it.
+     */
+    private void enqueue(Object element) throws InterruptedException {
+      while (!queue.offer(element, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+        if (!isAlive()) {
+          if (failure == null) {
+            failure = new IllegalStateException("Result sink thread terminated.");
+          }
+          return;
+        }
+      }
+    }
+
+    @Override
+    public void run() {
+      final List<Object> batch = new ArrayList<>(MAX_BATCH_SIZE);
+      try {
+        while (true) {
+          batch.add(queue.take());
+          queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+          for (Object element : batch) {
+            if (element == END_OF_RESULTS) {
+              flush();
+              return;
+            }
+            if (failure == null) {
+              deliver((Result) element);
+            }
+          }
+          batch.clear();
+          flush();
+        }
+      } catch (InterruptedException e) {
+        failure = e;
+        LOG.error("Result sink \"{}\" was interrupted.", output, e);
+      } catch (Throwable t) {
+        failure = t;
+        LOG.error("Result sink \"{}\" terminated unexpectedly.", output, t);
+      }
+    }
+
+    private void deliver(Result result) {
+      try {
+        result.sendResultTo(sink);
+      } catch (Throwable e) {
+        failure = e;
+        LOG.error("Result sink \"{}\" failed. It will not receive further results.", output, e);
+      }
+    }
+
+    private void flush() {
+      if (failure == null && sink instanceof Flushable) {
+        try {
+          ((Flushable) sink).flush();
+        } catch (Throwable e) {
+          failure = e;
+          LOG.error("Could not flush result sink \"{}\".", output, e);
+        }
+      }
+    }
+  }
+}
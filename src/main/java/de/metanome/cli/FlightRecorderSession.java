@@ -0,0 +1,178 @@
+package de.metanome.cli;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordingFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the execution of an algorithm with the JDK Flight Recorder and summarizes the
+ * recording as a {@link FlightRecordingMeasurement}.
+ *
+ * <p>The recording is started right before and stopped right after the algorithm execution, so
+ * that it does not contain the setup of the CLI. Requires a JVM that ships the Flight Recorder,
+ * i.e., Java 11+ or Java 8u262+.</p>
+ */
+class FlightRecorderSession {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FlightRecorderSession.class);
+
+  /**
+   * Number of hot methods to put into the summary.
+   */
+  private static final int NUM_HOT_METHODS = 10;
+
+  private final Recording recording;
+
+  private final File file;
+
+  private long startMillis;
+
+  private long stopMillis;
+
+  private FlightRecorderSession(Recording recording, File file) {
+    this.recording = recording;
+    this.file = file;
+  }
+
+  /**
+   * Start a new recording.
+   *
+   * @param settings the name of a predefined configuration (e.g., {@code default} or
+   * {@code profile}) or the path to a {@code .jfc} file
+   * @param file the file to write the recording to
+   * @return the new instance
+   */
+  static FlightRecorderSession start(String settings, File file)
+      throws IOException, ParseException {
+    if (!FlightRecorder.isAvailable()) {
+      throw new IllegalStateException("The Flight Recorder is not available in this JVM.");
+    }
+    Path settingsPath = Paths.get(settings);
+    Configuration configuration = Files.isRegularFile(settingsPath) ?
+        Configuration.create(settingsPath) :
+        Configuration.getConfiguration(settings);
+    Recording recording = new Recording(configuration);
+    recording.setName("metanome-cli-" + file.getName());
+    recording.setToDisk(true);
+    FlightRecorderSession session = new FlightRecorderSession(recording, file);
+    LOG.info("Starting Flight Recorder with settings \"{}\".", configuration.getName());
+    session.startMillis = System.currentTimeMillis();
+    recording.start();
+    return session;
+  }
+
+  /**
+   * Stop recording. Cheap enough to be called right after the algorithm execution.
+   */
+  void stop() {
+    recording.stop();
+    stopMillis = System.currentTimeMillis();
+  }
+
+  /**
+   * Write the recording to its file and summarize it.
+   *
+   * @param measurementId the ID for the {@link FlightRecordingMeasurement}
+   * @return the summary
+   */
+  FlightRecordingMeasurement summarize(String measurementId) throws IOException {
+    File directory = file.getAbsoluteFile().getParentFile();
+    if (directory != null) {
+      Files.createDirectories(directory.toPath());
+    }
+    try {
+      recording.dump(file.toPath());
+    } finally {
+      recording.close();
+    }
+    LOG.info("Wrote Flight Recorder recording to {}.", file);
+
+    FlightRecordingMeasurement summary =
+        new FlightRecordingMeasurement(measurementId, file.getPath());
+    summary.setRecordingMillis(stopMillis - startMillis);
+    Map<String, Long> methodSamples = new HashMap<>();
+    long executionSamples = 0, sampledAllocatedBytes = 0, tlabAllocatedBytes = 0;
+    long gcCount = 0, gcPauseNanos = 0, gcLongestPauseNanos = 0;
+    long monitorContentions = 0, monitorContentionNanos = 0;
+    try (RecordingFile recordingFile = new RecordingFile(file.toPath())) {
+      while (recordingFile.hasMoreEvents()) {
+        RecordedEvent event = recordingFile.readEvent();
+        switch (event.getEventType().getName()) {
+          case "jdk.ExecutionSample":
+            executionSamples++;
+            if (event.getStackTrace() != null && !event.getStackTrace().getFrames().isEmpty()) {
+              methodSamples.merge(format(event.getStackTrace().getFrames().get(0)), 1L, Long::sum);
+            }
+            break;
+          case "jdk.ObjectAllocationSample":
+            sampledAllocatedBytes += event.getLong("weight");
+            break;
+          case "jdk.ObjectAllocationInNewTLAB":
+            tlabAllocatedBytes += event.getLong("tlabSize");
+            break;
+          case "jdk.ObjectAllocationOutsideTLAB":
+            tlabAllocatedBytes += event.getLong("allocationSize");
+            break;
+          case "jdk.GarbageCollection":
+            gcCount++;
+            gcPauseNanos += event.getDuration("sumOfPauses").toNanos();
+            gcLongestPauseNanos =
+                Math.max(gcLongestPauseNanos, event.getDuration("longestPause").toNanos());
+            break;
+          case "jdk.JavaMonitorEnter":
+            monitorContentions++;
+            monitorContentionNanos += event.getDuration().toNanos();
+            break;
+          default:
+            break;
+        }
+      }
+    }
+
+    summary.setExecutionSamples(executionSamples);
+    List<Map.Entry<String, Long>> hotMethods = methodSamples.entrySet().stream()
+        .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+        .limit(NUM_HOT_METHODS)
+        .collect(Collectors.toList());
+    for (Map.Entry<String, Long> hotMethod : hotMethods) {
+      summary.addHotMethod(hotMethod.getKey(), hotMethod.getValue());
+    }
+    // Allocation samples (Java 16+) estimate all allocations, TLAB events only the sampled ones.
+    summary.setAllocatedBytes(
+        sampledAllocatedBytes > 0 ? sampledAllocatedBytes : tlabAllocatedBytes);
+    summary.setGcPauses(gcCount, toMillis(gcPauseNanos), toMillis(gcLongestPauseNanos));
+    summary.setMonitorContention(monitorContentions, toMillis(monitorContentionNanos));
+    LOG.info("Flight recording: {}", summary);
+    return summary;
+  }
+
+  private static String format(RecordedFrame frame) {
+    RecordedMethod method = frame.getMethod();
+    if (method == null) {
+      return "<unknown>";
+    }
+    return method.getType().getName() + "." + method.getName();
+  }
+
+  private static long toMillis(long nanos) {
+    return Duration.ofNanos(nanos).toMillis();
+  }
+}
@@ -0,0 +1,155 @@
+package de.metanome.cli;
+
+import de.hpi.isg.profiledb.store.model.Measurement;
+import de.hpi.isg.profiledb.store.model.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A ProfileDB {@link Measurement} that summarizes a Flight Recorder recording of an algorithm
+ * execution (see {@link FlightRecorderSession}).
+ */
+@Type("flight-recording")
+public class FlightRecordingMeasurement extends Measurement {
+
+  private String file;
+
+  private long recordingMillis;
+
+  private long executionSamples;
+
+  private List<HotMethod> hotMethods = new ArrayList<>();
+
+  private long allocatedBytes;
+
+  private long allocatedBytesPerSecond;
+
+  private long gcCount;
+
+  private long gcPauseMillis;
+
+  private long gcLongestPauseMillis;
+
+  private long monitorContentions;
+
+  private long monitorContentionMillis;
+
+  /**
+   * Required for deserialization.
+   */
+  private FlightRecordingMeasurement() {
+  }
+
+  FlightRecordingMeasurement(String id, String file) {
+    super(id);
+    this.file = file;
+  }
+
+  public String getFile() {
+    return file;
+  }
+
+  public long getRecordingMillis() {
+    return recordingMillis;
+  }
+
+  void setRecordingMillis(long recordingMillis) {
+    this.recordingMillis = recordingMillis;
+  }
+
+  public long getExecutionSamples() {
+    return executionSamples;
+  }
+
+  void setExecutionSamples(long executionSamples) {
+    this.executionSamples = executionSamples;
+  }
+
+  public List<HotMethod> getHotMethods() {
+    return hotMethods;
+  }
+
+  void addHotMethod(String method, long samples) {
+    HotMethod hotMethod = new HotMethod();
+    hotMethod.method = method;
+    hotMethod.samples = samples;
+    hotMethods.add(hotMethod);
+  }
+
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  void setAllocatedBytes(long allocatedBytes) {
+    this.allocatedBytes = allocatedBytes;
+    this.allocatedBytesPerSecond =
+        recordingMillis > 0 ? allocatedBytes * 1000L / recordingMillis : 0L;
+  }
+
+  public long getAllocatedBytesPerSecond() {
+    return allocatedBytesPerSecond;
+  }
+
+  public long getGcCount() {
+    return gcCount;
+  }
+
+  public long getGcPauseMillis() {
+    return gcPauseMillis;
+  }
+
+  public long getGcLongestPauseMillis() {
+    return gcLongestPauseMillis;
+  }
+
+  void setGcPauses(long gcCount, long gcPauseMillis, long gcLongestPauseMillis) {
+    this.gcCount = gcCount;
+    this.gcPauseMillis = gcPauseMillis;
+    this.gcLongestPauseMillis = gcLongestPauseMillis;
+  }
+
+  public long getMonitorContentions() {
+    return monitorContentions;
+  }
+
+  public long getMonitorContentionMillis() {
+    return monitorContentionMillis;
+  }
+
+  void setMonitorContention(long monitorContentions, long monitorContentionMillis) {
+    this.monitorContentions = monitorContentions;
+    this.monitorContentionMillis = monitorContentionMillis;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d ms recorded, %d execution samples, hot methods %s, "
+            + "%d bytes allocated (%d bytes/s), %d GCs pausing %d ms (longest %d ms), "
+            + "%d contended monitor enters blocking %d ms", recordingMillis, executionSamples,
+        hotMethods, allocatedBytes, allocatedBytesPerSecond, gcCount, gcPauseMillis,
+        gcLongestPauseMillis, monitorContentions, monitorContentionMillis);
+  }
+
+  /**
+   * A method along with the number of execution samples in which it was on top of the stack.
+   */
+  public static class HotMethod {
+
+    private String method;
+
+    private long samples;
+
+    public String getMethod() {
+      return method;
+    }
+
+    public long getSamples() {
+      return samples;
+    }
+
+    @Override
+    public String toString() {
+      return method + "=" + samples;
+    }
+  }
+}
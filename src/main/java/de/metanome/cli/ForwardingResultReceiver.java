@@ -0,0 +1,161 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.result_receiver.ColumnNameMismatchException;
+import de.metanome.algorithm_integration.result_receiver.CouldNotReceiveResultException;
+import de.metanome.algorithm_integration.result_receiver.OmniscientResultReceiver;
+import de.metanome.algorithm_integration.results.BasicStatistic;
+import de.metanome.algorithm_integration.results.ConditionalFunctionalDependency;
+import de.metanome.algorithm_integration.results.ConditionalUniqueColumnCombination;
+import de.metanome.algorithm_integration.results.DenialConstraint;
+import de.metanome.algorithm_integration.results.FunctionalDependency;
+import de.metanome.algorithm_integration.results.InclusionDependency;
+import de.metanome.algorithm_integration.results.MatchingDependency;
+import de.metanome.algorithm_integration.results.MultivaluedDependency;
+import de.metanome.algorithm_integration.results.OrderDependency;
+import de.metanome.algorithm_integration.results.Result;
+import de.metanome.algorithm_integration.results.UniqueColumnCombination;
+import de.metanome.backend.result_receiver.ResultReceiver;
+import java.io.FileNotFoundException;
+
+/**
+ * Decorates an {@link OmniscientResultReceiver}. All results are funneled through
+ * {@link #receive(Result)}, which subclasses can override to inspect, filter, or record them.
+ *
+ * <p>Closing this instance does not close the delegate, because the final handling of the
+ * result sinks depends on the output mode (see {@link App}).</p>
+ */
+abstract class ForwardingResultReceiver extends ResultReceiver {
+
+  private final OmniscientResultReceiver delegate;
+
+  ForwardingResultReceiver(String name, OmniscientResultReceiver delegate)
+      throws FileNotFoundException {
+    super(name, null);
+    this.delegate = delegate;
+  }
+
+  /**
+   * Handle any kind of {@link Result}. By default, it is forwarded to the delegate.
+   *
+   * @param result the {@link Result}
+   */
+  protected void receive(Result result)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    result.sendResultTo(delegate);
+  }
+
+  OmniscientResultReceiver getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * Strip all {@link ForwardingResultReceiver}s off the given {@link OmniscientResultReceiver}.
+   *
+   * @param resultReceiver the possibly decorated {@link OmniscientResultReceiver}
+   * @return the innermost {@link OmniscientResultReceiver}
+   */
+  static OmniscientResultReceiver unwrap(OmniscientResultReceiver resultReceiver) {
+    while (resultReceiver instanceof ForwardingResultReceiver) {
+      resultReceiver = ((ForwardingResultReceiver) resultReceiver).getDelegate();
+    }
+    return resultReceiver;
+  }
+
+  /**
+   * Find a {@link ForwardingResultReceiver} of the given type on the given
+   * {@link OmniscientResultReceiver}.
+   *
+   * @param resultReceiver the possibly decorated {@link OmniscientResultReceiver}
+   * @param type the type of the {@link ForwardingResultReceiver}
+   * @return the outermost {@link ForwardingResultReceiver} of the type or {@code null} if none
+   */
+  static <T extends ForwardingResultReceiver> T find(OmniscientResultReceiver resultReceiver,
+      Class<T> type) {
+    while (resultReceiver instanceof ForwardingResultReceiver) {
+      if (type.isInstance(resultReceiver)) {
+        return type.cast(resultReceiver);
+      }
+      resultReceiver = ((ForwardingResultReceiver) resultReceiver).getDelegate();
+    }
+    return null;
+  }
+
+  /**
+   * Close all {@link ForwardingResultReceiver}s on the given {@link OmniscientResultReceiver},
+   * from the outermost to the innermost one. The innermost result sink is not closed.
+   *
+   * @param resultReceiver the possibly decorated {@link OmniscientResultReceiver}
+   */
+  static void closeDecorators(OmniscientResultReceiver resultReceiver) {
+    while (resultReceiver instanceof ForwardingResultReceiver) {
+      ForwardingResultReceiver decorator = (ForwardingResultReceiver) resultReceiver;
+      decorator.close();
+      resultReceiver = decorator.getDelegate();
+    }
+  }
+
+  @Override
+  public void receiveResult(BasicStatistic statistic)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(statistic);
+  }
+
+  @Override
+  public void receiveResult(ConditionalUniqueColumnCombination conditionalUniqueColumnCombination)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(conditionalUniqueColumnCombination);
+  }
+
+  @Override
+  public void receiveResult(FunctionalDependency functionalDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(functionalDependency);
+  }
+
+  @Override
+  public void receiveResult(InclusionDependency inclusionDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(inclusionDependency);
+  }
+
+  @Override
+  public void receiveResult(MultivaluedDependency multivaluedDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(multivaluedDependency);
+  }
+
+  @Override
+  public void receiveResult(OrderDependency orderDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(orderDependency);
+  }
+
+  @Override
+  public void receiveResult(UniqueColumnCombination uniqueColumnCombination)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(uniqueColumnCombination);
+  }
+
+  @Override
+  public void receiveResult(DenialConstraint denialConstraint)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(denialConstraint);
+  }
+
+  @Override
+  public void receiveResult(MatchingDependency matchingDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(matchingDependency);
+  }
+
+  @Override
+  public void receiveResult(ConditionalFunctionalDependency conditionalFunctionalDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(conditionalFunctionalDependency);
+  }
+
+  @Override
+  public void close() {
+    // The delegate is closed separately.
+  }
+}
@@ -0,0 +1,334 @@
+package de.metanome.cli;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Assigns dense {@code int} ids to values across all inputs of a run, so that algorithms can
+ * compare values by their ids rather than by their contents.
+ *
+ * <p>The value bytes are stored off-heap in chunks of direct memory. Once the memory limit or the
+ * JVM's direct memory is exhausted, further chunks are memory-mapped from a temporary spill file,
+ * which lets the operating system page them out. On the heap, each value takes only its slot in a
+ * hash table and its address. The dictionary is split into independently locked stripes, so that
+ * several inputs can be encoded concurrently.</p>
+ */
+public class GlobalValueDictionary implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GlobalValueDictionary.class);
+
+    /**
+     * The id of {@code null} values.
+     */
+    public static final int NULL_ID = -1;
+
+    private static final int NUM_STRIPE_BITS = 6;
+
+    private static final int NUM_STRIPES = 1 << NUM_STRIPE_BITS;
+
+    /**
+     * The largest index of a value within a stripe that still yields a non-negative id.
+     */
+    private static final int MAX_LOCAL_INDEX = Integer.MAX_VALUE >>> NUM_STRIPE_BITS;
+
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    private static final int INITIAL_TABLE_SIZE = 1 << 10;
+
+    private final Stripe[] stripes = new Stripe[NUM_STRIPES];
+
+    private final long memoryLimit;
+
+    private final File spillDirectory;
+
+    private final AtomicLong offHeapBytes = new AtomicLong();
+
+    private final AtomicLong spilledBytes = new AtomicLong();
+
+    /**
+     * Set once the JVM refused to allocate direct memory, e.g., because of
+     * {@code -XX:MaxDirectMemorySize}, so that all further chunks are spilled.
+     */
+    private volatile boolean directMemoryExhausted = false;
+
+    private File spillFile;
+
+    private FileChannel spillChannel;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param memoryLimit    the number of bytes to allocate off-heap before spilling
+     * @param spillDirectory the directory to create the spill file in
+     */
+    public GlobalValueDictionary(long memoryLimit, File spillDirectory) {
+        this.memoryLimit = memoryLimit;
+        this.spillDirectory = spillDirectory;
+        for (int i = 0; i < NUM_STRIPES; i++) {
+            this.stripes[i] = new Stripe(i);
+        }
+    }
+
+    /**
+     * Provide the id of a value, adding it if necessary.
+     *
+     * @param value the value
+     * @return the id or {@link #NULL_ID} for {@code null}
+     */
+    public int getOrAdd(String value) {
+        if (value == null) {
+            return NULL_ID;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return this.getOrAdd(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Provide the id of a UTF-8 encoded value, adding it if necessary. Unlike
+     * {@link #getOrAdd(String)}, this does not allocate anything for values that are already known.
+     *
+     * @param data   contains the value
+     * @param start  the offset of the value in {@code data}
+     * @param length the number of bytes of the value
+     * @return the id
+     * @throws IllegalStateException if the value is new and no more ids are available
+     */
+    public int getOrAdd(byte[] data, int start, int length) {
+        long hash = hash(data, start, length);
+        Stripe stripe = this.stripes[(int) hash & (NUM_STRIPES - 1)];
+        synchronized (stripe) {
+            return stripe.getOrAdd((int) (hash >>> 32), data, start, length);
+        }
+    }
+
+    /**
+     * Decode an id.
+     *
+     * @param id an id provided by this instance or {@link #NULL_ID}
+     * @return the value
+     */
+    public String getString(int id) {
+        if (id == NULL_ID) {
+            return null;
+        }
+        Stripe stripe = this.stripes[id & (NUM_STRIPES - 1)];
+        synchronized (stripe) {
+            return stripe.getString(id >>> NUM_STRIPE_BITS);
+        }
+    }
+
+    /**
+     * @return the number of distinct values
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : this.stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    public long getOffHeapBytes() {
+        return this.offHeapBytes.get();
+    }
+
+    public long getSpilledBytes() {
+        return this.spilledBytes.get();
+    }
+
+    private static long hash(byte[] data, int start, int length) {
+        long hash = 0L;
+        for (int i = start; i < start + length; i++) {
+            hash = 31 * hash + (data[i] & 0xFF);
+        }
+        return HyperLogLog.mix(hash + length);
+    }
+
+    private ByteBuffer allocateChunk(int size) {
+        if (!this.directMemoryExhausted) {
+            if (this.offHeapBytes.addAndGet(size) <= this.memoryLimit) {
+                try {
+                    return ByteBuffer.allocateDirect(size);
+                } catch (OutOfMemoryError e) {
+                    this.directMemoryExhausted = true;
+                    LOG.warn("Direct memory is exhausted after {} bytes, spilling the value dictionary: {}",
+                            this.offHeapBytes.get() - size, e.getMessage());
+                }
+            }
+            this.offHeapBytes.addAndGet(-size);
+        }
+        try {
+            long position;
+            FileChannel channel;
+            synchronized (this) {
+                if (this.spillChannel == null) {
+                    this.spillFile = File.createTempFile("value-dictionary", ".spill", this.spillDirectory);
+                    this.spillFile.deleteOnExit();
+                    this.spillChannel = new RandomAccessFile(this.spillFile, "rw").getChannel();
+                    LOG.info("Spilling value dictionary to {}.", this.spillFile);
+                }
+                channel = this.spillChannel;
+                position = this.spilledBytes.getAndAdd(size);
+            }
+            return channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not spill value dictionary.", e);
+        }
+    }
+
+    /**
+     * Release the memory and delete the spill file.
+     */
+    @Override
+    public void close() throws IOException {
+        LOG.debug("Value dictionary holds {} values in {} bytes off-heap and {} bytes spilled.",
+                this.size(), this.getOffHeapBytes(), this.getSpilledBytes());
+        for (Stripe stripe : this.stripes) {
+            synchronized (stripe) {
+                stripe.chunks.clear();
+            }
+        }
+        synchronized (this) {
+            if (this.spillChannel != null) {
+                this.spillChannel.close();
+                this.spillChannel = null;
+                if (!this.spillFile.delete()) {
+                    LOG.warn("Could not delete {}.", this.spillFile);
+                }
+            }
+        }
+    }
+
+    /**
+     * An open-addressing hash table over a part of the values, which are stored as length-prefixed
+     * byte sequences in off-heap chunks.
+     */
+    private class Stripe {
+
+        private final int index;
+
+        /**
+         * Local indices of the values, shifted by one, so that {@code 0} marks free slots.
+         */
+        private int[] slots = new int[INITIAL_TABLE_SIZE];
+
+        private int[] slotHashes = new int[INITIAL_TABLE_SIZE];
+
+        /**
+         * Per local index, the chunk index (upper 32 bits) and the offset (lower 32 bits) of the value.
+         */
+        private long[] addresses = new long[INITIAL_TABLE_SIZE / 2];
+
+        private int size = 0;
+
+        private final List<ByteBuffer> chunks = new ArrayList<>();
+
+        private Stripe(int index) {
+            this.index = index;
+        }
+
+        private int getOrAdd(int hash, byte[] data, int start, int length) {
+            int mask = this.slots.length - 1;
+            int position = hash & mask;
+            while (this.slots[position] != 0) {
+                int localIndex = this.slots[position] - 1;
+                if (this.slotHashes[position] == hash && this.equals(localIndex, data, start, length)) {
+                    return this.toId(localIndex);
+                }
+                position = (position + 1) & mask;
+            }
+
+            if (this.size > MAX_LOCAL_INDEX) {
+                throw new IllegalStateException(String.format(
+                        "Value dictionary cannot hold more than %d values per stripe.",
+                        MAX_LOCAL_INDEX + 1));
+            }
+            int localIndex = this.size++;
+            if (localIndex == this.addresses.length) {
+                this.addresses = Arrays.copyOf(this.addresses, 2 * this.addresses.length);
+            }
+            this.addresses[localIndex] = this.store(data, start, length);
+            this.slots[position] = localIndex + 1;
+            this.slotHashes[position] = hash;
+            if (2 * this.size > this.slots.length) {
+                this.grow();
+            }
+            return this.toId(localIndex);
+        }
+
+        private int toId(int localIndex) {
+            return (localIndex << NUM_STRIPE_BITS) | this.index;
+        }
+
+        private boolean equals(int localIndex, byte[] data, int start, int length) {
+            ByteBuffer chunk = this.chunks.get((int) (this.addresses[localIndex] >>> 32));
+            int offset = (int) this.addresses[localIndex];
+            if (chunk.getInt(offset) != length) {
+                return false;
+            }
+            offset += Integer.BYTES;
+            for (int i = 0; i < length; i++) {
+                if (chunk.get(offset + i) != data[start + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long store(byte[] data, int start, int length) {
+            int requiredBytes = Integer.BYTES + length;
+            ByteBuffer chunk = this.chunks.isEmpty() ? null : this.chunks.get(this.chunks.size() - 1);
+            if (chunk == null || chunk.remaining() < requiredBytes) {
+                chunk = GlobalValueDictionary.this.allocateChunk(Math.max(CHUNK_SIZE, requiredBytes));
+                this.chunks.add(chunk);
+            }
+            long address = ((long) (this.chunks.size() - 1) << 32) | chunk.position();
+            chunk.putInt(length);
+            chunk.put(data, start, length);
+            return address;
+        }
+
+        private String getString(int localIndex) {
+            if (localIndex >= this.size) {
+                throw new IllegalArgumentException("Unknown value id.");
+            }
+            ByteBuffer chunk = this.chunks.get((int) (this.addresses[localIndex] >>> 32)).duplicate();
+            chunk.position((int) this.addresses[localIndex]);
+            byte[] bytes = new byte[chunk.getInt()];
+            chunk.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private void grow() {
+            int[] newSlots = new int[2 * this.slots.length];
+            int[] newSlotHashes = new int[newSlots.length];
+            int mask = newSlots.length - 1;
+            for (int i = 0; i < this.slots.length; i++) {
+                if (this.slots[i] != 0) {
+                    int position = this.slotHashes[i] & mask;
+                    while (newSlots[position] != 0) {
+                        position = (position + 1) & mask;
+                    }
+                    newSlots[position] = this.slots[i];
+                    newSlotHashes[position] = this.slotHashes[i];
+                }
+            }
+            this.slots = newSlots;
+            this.slotHashes = newSlotHashes;
+        }
+    }
+
+}
@@ -0,0 +1,126 @@
+package de.metanome.cli;
+
+import java.io.Serializable;
+
+/**
+ * A HyperLogLog sketch to estimate the number of distinct values, e.g., in a column.
+ *
+ * <p>Adding values does not allocate any objects. With the default precision, the sketch occupies
+ * 4 KiB and its estimates have a standard error of about 1.6%.</p>
+ */
+class HyperLogLog implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final int DEFAULT_PRECISION = 12;
+
+  private final int precision;
+
+  private final byte[] registers;
+
+  HyperLogLog() {
+    this(DEFAULT_PRECISION);
+  }
+
+  /**
+   * Creates a new instance.
+   *
+   * @param precision number of hash bits that select a register; between 4 and 18
+   */
+  HyperLogLog(int precision) {
+    if (precision < 4 || precision > 18) {
+      throw new IllegalArgumentException("Illegal precision: " + precision);
+    }
+    this.precision = precision;
+    this.registers = new byte[1 << precision];
+  }
+
+  /**
+   * Add a value to this sketch.
+   *
+   * @param value the value; must not be {@code null}
+   */
+  void add(String value) {
+    addHash(hash(value));
+  }
+
+  /**
+   * Add a value to this sketch by means of its hash.
+   *
+   * @param hash a well-mixed 64-bit hash of the value
+   */
+  void addHash(long hash) {
+    int index = (int) (hash >>> (64 - precision));
+    // Set the lowest bit, so that the rank is bounded even if the remaining bits are all zero.
+    int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+    if (rank > registers[index]) {
+      registers[index] = (byte) rank;
+    }
+  }
+
+  /**
+   * Add all values of another sketch with the same precision to this sketch.
+   *
+   * @param that the other sketch
+   */
+  void merge(HyperLogLog that) {
+    if (this.precision != that.precision) {
+      throw new IllegalArgumentException("Cannot merge sketches with different precisions.");
+    }
+    for (int i = 0; i < registers.length; i++) {
+      if (that.registers[i] > registers[i]) {
+        registers[i] = that.registers[i];
+      }
+    }
+  }
+
+  /**
+   * Estimate the number of distinct values added to this sketch.
+   *
+   * @return the estimate
+   */
+  long estimate() {
+    int m = registers.length;
+    double sum = 0d;
+    int numZeroRegisters = 0;
+    for (byte register : registers) {
+      sum += 1d / (1L << register);
+      if (register == 0) {
+        numZeroRegisters++;
+      }
+    }
+    double alpha = 0.7213 / (1 + 1.079 / m);
+    double estimate = alpha * m * m / sum;
+    if (estimate <= 2.5 * m && numZeroRegisters > 0) {
+      // Use linear counting for small cardinalities.
+      estimate = m * Math.log((double) m / numZeroRegisters);
+    }
+    return Math.round(estimate);
+  }
+
+  /**
+   * Calculate a 64-bit hash for a {@link String}.
+   *
+   * @param value the {@link String}
+   * @return the hash
+   */
+  static long hash(String value) {
+    long hash = 0L;
+    for (int i = 0; i < value.length(); i++) {
+      hash = 31 * hash + value.charAt(i);
+    }
+    return mix(hash + value.length());
+  }
+
+  /**
+   * Finalizer of MurmurHash3 to spread the bits of a hash.
+   */
+  static long mix(long hash) {
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,41 @@
+package de.metanome.cli;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Identifies the contents of an input file along with the settings it is parsed with, so that
+ * data derived from it can be cached. The file is identified by its path, size, and modification
+ * time rather than by its contents, which would have to be read completely.
+ */
+final class InputFingerprint {
+
+  private InputFingerprint() {
+  }
+
+  /**
+   * Calculate the fingerprint of an input file.
+   *
+   * @param file the input file
+   * @param settings describes how the file is parsed
+   * @return the fingerprint as a hex string
+   */
+  static String of(File file, String settings) throws IOException {
+    String description = file.getCanonicalPath() + '\0' + file.length() + '\0'
+        + file.lastModified() + '\0' + settings;
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256")
+          .digest(description.getBytes(StandardCharsets.UTF_8));
+      StringBuilder sb = new StringBuilder(2 * digest.length);
+      for (byte b : digest) {
+        sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return sb.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available.", e);
+    }
+  }
+}
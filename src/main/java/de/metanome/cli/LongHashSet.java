@@ -0,0 +1,75 @@
+package de.metanome.cli;
+
+/**
+ * A set of {@code long}s with open addressing that does not box its elements.
+ */
+class LongHashSet {
+
+  private static final long EMPTY = 0L;
+
+  private long[] slots = new long[1 << 10];
+
+  private int size = 0;
+
+  /**
+   * Whether {@link #EMPTY} has been added, which cannot be stored in the {@link #slots}.
+   */
+  private boolean containsEmpty = false;
+
+  /**
+   * Add a value to this set.
+   *
+   * @param value the value
+   * @return whether the value was not yet contained
+   */
+  boolean add(long value) {
+    if (value == EMPTY) {
+      if (containsEmpty) {
+        return false;
+      }
+      containsEmpty = true;
+      size++;
+      return true;
+    }
+    if (2 * (size + 1) > slots.length) {
+      grow();
+    }
+    if (insert(slots, value)) {
+      size++;
+      return true;
+    }
+    return false;
+  }
+
+  int size() {
+    return size;
+  }
+
+  private static boolean insert(long[] slots, long value) {
+    int mask = slots.length - 1;
+    int index = spread(value) & mask;
+    while (slots[index] != EMPTY) {
+      if (slots[index] == value) {
+        return false;
+      }
+      index = (index + 1) & mask;
+    }
+    slots[index] = value;
+    return true;
+  }
+
+  private void grow() {
+    long[] newSlots = new long[slots.length << 1];
+    for (long value : slots) {
+      if (value != EMPTY) {
+        insert(newSlots, value);
+      }
+    }
+    slots = newSlots;
+  }
+
+  private static int spread(long value) {
+    long h = value * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+}
@@ -0,0 +1,103 @@
+package de.metanome.cli;
+
+import de.hpi.isg.mdms.clients.parameters.MetadataStoreParameters;
+import de.hpi.isg.mdms.clients.util.MetadataStoreUtil;
+import de.hpi.isg.mdms.model.MetadataStore;
+import de.hpi.isg.mdms.model.targets.Target;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the Metacrate stores opened by the runs in this JVM, e.g., of a sweep, so that every
+ * store is loaded only once and its scopes are looked up only once by name.
+ *
+ * <p>Writes to a shared store must be synchronized on its {@link Handle} (see
+ * {@link BatchingMetacrateResultReceiver}).</p>
+ */
+final class MetacrateStoreCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MetacrateStoreCache.class);
+
+  private static final ConcurrentMap<String, Handle> HANDLES = new ConcurrentHashMap<>();
+
+  private MetacrateStoreCache() {
+  }
+
+  /**
+   * Provide the store at the given location, opening it if no run in this JVM did so before.
+   * Concurrent callers for the same location wait for a single opening.
+   *
+   * @param location the location of the store
+   * @return the {@link Handle} for the store
+   */
+  static Handle open(String location) {
+    return open(location, MetacrateStoreCache::loadMetadataStore);
+  }
+
+  /**
+   * Provide the store at the given location, loading it with the given function if no run in
+   * this JVM opened it before.
+   *
+   * @param location the location of the store
+   * @param loader loads the store from its location
+   * @return the {@link Handle} for the store
+   */
+  static Handle open(String location, Function<String, MetadataStore> loader) {
+    return HANDLES.computeIfAbsent(location, key -> new Handle(key, loader));
+  }
+
+  private static MetadataStore loadMetadataStore(String location) {
+    MetadataStoreParameters metadataStoreParameters = new MetadataStoreParameters();
+    metadataStoreParameters.metadataStore = location;
+    return MetadataStoreUtil.loadMetadataStore(metadataStoreParameters);
+  }
+
+  /**
+   * A shared Metacrate store along with its resolved scopes.
+   */
+  static class Handle {
+
+    private final MetadataStore metadataStore;
+
+    private final long loadMillis;
+
+    private final ConcurrentMap<String, Target> scopes = new ConcurrentHashMap<>();
+
+    private Handle(String location, Function<String, MetadataStore> loader) {
+      long startMillis = System.currentTimeMillis();
+      this.metadataStore = loader.apply(location);
+      this.loadMillis = System.currentTimeMillis() - startMillis;
+      LOG.info("Opened Metacrate store {} in {} ms.", location, loadMillis);
+    }
+
+    MetadataStore getMetadataStore() {
+      return metadataStore;
+    }
+
+    /**
+     * Tell how long it took to open the store.
+     */
+    long getLoadMillis() {
+      return loadMillis;
+    }
+
+    /**
+     * Look up a scope by its name. The lookup is done only once per name, as it may have to
+     * scan the targets of the store.
+     *
+     * @param name the name of the scope
+     * @return the scope or {@code null} if there is no such target
+     */
+    Target getScope(String name) {
+      // Synchronized with writes, which might add targets.
+      return scopes.computeIfAbsent(name, key -> {
+        synchronized (this) {
+          return metadataStore.getTargetByName(key);
+        }
+      });
+    }
+  }
+}
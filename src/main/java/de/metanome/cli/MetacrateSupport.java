@@ -0,0 +1,123 @@
+package de.metanome.cli;
+
+import de.hpi.isg.mdms.clients.MetacrateClient;
+import de.hpi.isg.mdms.metanome.MetacrateResultReceiver;
+import de.hpi.isg.mdms.model.MetadataStore;
+import de.hpi.isg.mdms.model.targets.Schema;
+import de.hpi.isg.mdms.model.targets.Target;
+import de.metanome.algorithm_integration.result_receiver.OmniscientResultReceiver;
+import java.io.FileNotFoundException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Connects the {@link App} to Metacrate. Keeping the Metacrate integration apart from the
+ * {@link App} defers loading the Metacrate classes until a {@code crate:} output is used.
+ */
+final class MetacrateSupport {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MetacrateSupport.class);
+
+  private MetacrateSupport() {
+  }
+
+  /**
+   * Tell whether an output specification refers to Metacrate, i.e., is of the form
+   * {@code crate:<store>:<scope>}.
+   */
+  static boolean isMetacrateOutput(String output) {
+    return output.startsWith("crate:");
+  }
+
+  /**
+   * Create a result sink that stores results in a Metacrate store. The store is shared with
+   * other runs in this JVM (see {@link MetacrateStoreCache}).
+   *
+   * @param output the output specification of the form {@code crate:<store>:<scope>}
+   * @param algorithmClassName names the algorithm in the descriptions of the result constraints
+   * @return the result sink
+   */
+  static OmniscientResultReceiver createResultReceiver(String output, String algorithmClassName) {
+    int lastColonIndex = output.lastIndexOf(":");
+    if (lastColonIndex == "crate:".length() - 1) {
+      throw new IllegalArgumentException(
+          String.format("Could not parse output \"%s\".", output));
+    }
+    String scopeIdentifier = output.substring(lastColonIndex + 1);
+    String cratePath = output.substring("crate:".length(), lastColonIndex);
+    long startMillis = System.currentTimeMillis();
+    MetacrateStoreCache.Handle handle = MetacrateStoreCache.open(cratePath);
+    MetadataStore metadataStore = handle.getMetadataStore();
+    Target scope = handle.getScope(scopeIdentifier);
+    if (scope == null) {
+      throw new IllegalArgumentException("No such schema element: \"" + scopeIdentifier + "\".");
+    }
+    MetacrateResultReceiver metacrateResultReceiver;
+    // Concurrent runs might be writing to the store.
+    synchronized (handle) {
+      int schemaId = metadataStore.getIdUtils().getSchemaId(scope.getId());
+      Schema schema = metadataStore.getSchemaById(schemaId);
+      metacrateResultReceiver = new MetacrateResultReceiver(
+          metadataStore,
+          schema,
+          Collections.singleton(scope),
+          String.format("%s (%s, %s)", algorithmClassName, new Date(), "%s")
+      );
+    }
+    long loadMillis = System.currentTimeMillis() - startMillis;
+    LOG.debug("Prepared Metacrate output {} in {} ms.", output, loadMillis);
+    try {
+      return new BatchingMetacrateResultReceiver(handle, metacrateResultReceiver, loadMillis);
+    } catch (FileNotFoundException e) {
+      throw new RuntimeException("Unexpected exception.", e);
+    }
+  }
+
+  /**
+   * Tell how long a run spent on opening the store and looking up the scope of a result sink
+   * created by {@link #createResultReceiver(String, String)}.
+   */
+  static long getLoadMillis(OmniscientResultReceiver resultReceiver) {
+    return ((BatchingMetacrateResultReceiver) resultReceiver).getLoadMillis();
+  }
+
+  /**
+   * Write the pending results of a result sink created by
+   * {@link #createResultReceiver(String, String)} and flush its Metacrate store.
+   */
+  static void flush(OmniscientResultReceiver resultReceiver) {
+    try {
+      ((BatchingMetacrateResultReceiver) resultReceiver).flushStore();
+    } catch (Exception e) {
+      LOG.error("Could not flush Metacrate.", e);
+    }
+  }
+
+  /**
+   * Close a result sink created by {@link #createResultReceiver(String, String)}.
+   */
+  static void close(OmniscientResultReceiver resultReceiver) throws Exception {
+    ((BatchingMetacrateResultReceiver) resultReceiver).close();
+  }
+
+  /**
+   * Pass the Metacrate store of the first Metacrate result sink to an algorithm. The algorithm
+   * accesses the store without synchronizing on its {@link MetacrateStoreCache.Handle}, so there
+   * must be no concurrent runs that share the store.
+   *
+   * @param algorithm the algorithm
+   * @param resultSinks the result sinks of the run
+   */
+  static void setMetadataStore(MetacrateClient algorithm,
+      List<OmniscientResultReceiver> resultSinks) {
+    for (OmniscientResultReceiver sink : resultSinks) {
+      if (sink instanceof BatchingMetacrateResultReceiver) {
+        algorithm.setMetadataStore(((BatchingMetacrateResultReceiver) sink).getMetadataStore());
+        break;
+      }
+    }
+  }
+}
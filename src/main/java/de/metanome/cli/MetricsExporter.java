@@ -0,0 +1,207 @@
+package de.metanome.cli;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes {@link RunMetrics} as a JMX MBean, via an HTTP endpoint in the Prometheus text format,
+ * and/or as periodic snapshots in the same format to a file.
+ */
+class MetricsExporter implements AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MetricsExporter.class);
+
+  private static final String OBJECT_NAME = "de.metanome.cli:type=RunMetrics";
+
+  private final RunMetrics metrics;
+
+  private ObjectName objectName;
+
+  private HttpServer httpServer;
+
+  private ScheduledExecutorService snapshotScheduler;
+
+  private File snapshotFile;
+
+  /**
+   * Creates a new instance and starts publishing.
+   *
+   * @param metrics the {@link RunMetrics} to publish
+   * @param isRegisteringMBean whether to register the {@link RunMetrics} as MBean
+   * @param runId distinguishes the MBeans of concurrent runs or {@code null}
+   * @param port local port to serve the Prometheus endpoint on or {@code 0} to not serve it
+   * @param snapshotFile file to write snapshots to or {@code null} to not write any
+   * @param snapshotIntervalMillis the time between two snapshots
+   */
+  MetricsExporter(RunMetrics metrics, boolean isRegisteringMBean, String runId, int port,
+      String snapshotFile, long snapshotIntervalMillis) throws IOException {
+    this.metrics = metrics;
+    try {
+      if (isRegisteringMBean) {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        this.objectName = new ObjectName(
+            runId == null ? OBJECT_NAME : OBJECT_NAME + ",run=" + ObjectName.quote(runId));
+        mBeanServer.registerMBean(metrics, this.objectName);
+      }
+      if (port > 0) {
+        startHttpServer(port);
+      }
+      if (snapshotFile != null) {
+        startSnapshots(new File(snapshotFile), snapshotIntervalMillis);
+      }
+    } catch (JMException e) {
+      close();
+      throw new IOException("Could not register metrics MBean.", e);
+    } catch (IOException | RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  private void startHttpServer(int port) throws IOException {
+    httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    httpServer.createContext("/metrics", exchange -> {
+      byte[] body = formatPrometheus(metrics).getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream responseBody = exchange.getResponseBody()) {
+        responseBody.write(body);
+      }
+    });
+    httpServer.setExecutor(Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "metrics-http-server");
+      thread.setDaemon(true);
+      return thread;
+    }));
+    httpServer.start();
+    LOG.info("Serving metrics at http://{}:{}/metrics.",
+        httpServer.getAddress().getHostString(), httpServer.getAddress().getPort());
+  }
+
+  private void startSnapshots(File snapshotFile, long intervalMillis) {
+    this.snapshotFile = snapshotFile;
+    snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "metrics-snapshots");
+      thread.setDaemon(true);
+      return thread;
+    });
+    snapshotScheduler.scheduleAtFixedRate(
+        this::writeSnapshot, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS
+    );
+  }
+
+  /**
+   * Replace the snapshot file atomically, so that readers never see a partial snapshot.
+   */
+  private void writeSnapshot() {
+    try {
+      Path target = snapshotFile.getAbsoluteFile().toPath();
+      Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+      Files.write(temp, formatPrometheus(metrics).getBytes(StandardCharsets.UTF_8));
+      Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      LOG.warn("Could not write metrics snapshot to {}.", snapshotFile, e);
+    }
+  }
+
+  /**
+   * Format {@link RunMetrics} in the Prometheus text exposition format.
+   *
+   * @param metrics the {@link RunMetrics}
+   * @return the formatted metrics
+   */
+  static String formatPrometheus(RunMetrics metrics) {
+    StringBuilder sb = new StringBuilder();
+    appendHeader(sb, "metanome_rows_read_total", "counter", "Rows read from the inputs.");
+    sb.append("metanome_rows_read_total ").append(metrics.getRowsRead()).append('\n');
+
+    appendHeader(sb, "metanome_results_total", "counter", "Results emitted by the algorithm.");
+    for (Map.Entry<String, Long> entry : metrics.getResultsEmittedPerType().entrySet()) {
+      appendSample(sb, "metanome_results_total", "type", entry.getKey(), entry.getValue());
+    }
+
+    appendHeader(sb, "metanome_phase_seconds", "gauge", "Time spent in the phases of the run.");
+    for (Map.Entry<String, Long> entry : metrics.getPhaseMillis().entrySet()) {
+      appendSample(sb, "metanome_phase_seconds", "phase", entry.getKey(),
+          entry.getValue() / 1000d);
+    }
+
+    appendHeader(sb, "metanome_temp_file_bytes", "gauge", "Size of the temporary files.");
+    sb.append("metanome_temp_file_bytes ").append(metrics.getTempFileBytes()).append('\n');
+
+    appendHeader(sb, "metanome_result_queue_depth", "gauge",
+        "Results waiting to be delivered to an output.");
+    for (Map.Entry<String, Integer> entry : metrics.getResultQueueDepths().entrySet()) {
+      appendSample(sb, "metanome_result_queue_depth", "output", entry.getKey(),
+          entry.getValue());
+    }
+    return sb.toString();
+  }
+
+  private static void appendHeader(StringBuilder sb, String name, String type, String help) {
+    sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  private static void appendSample(StringBuilder sb, String name, String label, String labelValue,
+      Number value) {
+    sb.append(name).append('{').append(label).append("=\"");
+    for (int i = 0; i < labelValue.length(); i++) {
+      char c = labelValue.charAt(i);
+      switch (c) {
+        case '\\':
+          sb.append("\\\\");
+          break;
+        case '"':
+          sb.append("\\\"");
+          break;
+        case '\n':
+          sb.append("\\n");
+          break;
+        default:
+          sb.append(c);
+      }
+    }
+    sb.append("\"} ").append(value).append('\n');
+  }
+
+  /**
+   * Stop publishing. A final snapshot is written, so that it reflects the complete run.
+   */
+  @Override
+  public void close() {
+    if (snapshotScheduler != null) {
+      snapshotScheduler.shutdownNow();
+      writeSnapshot();
+    }
+    if (httpServer != null) {
+      httpServer.stop(0);
+    }
+    if (objectName != null) {
+      try {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+      } catch (JMException e) {
+        LOG.warn("Could not unregister metrics MBean.", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.Algorithm;
+import de.metanome.algorithm_integration.algorithm_types.FunctionalDependencyAlgorithm;
+import de.metanome.algorithm_integration.algorithm_types.RelationalInputParameterAlgorithm;
+import de.metanome.algorithm_integration.configuration.ConfigurationRequirement;
+import de.metanome.algorithm_integration.input.RelationalInputGenerator;
+import de.metanome.algorithm_integration.result_receiver.FunctionalDependencyResultReceiver;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This {@link Algorithm} accepts relational inputs but does nothing except for logging how long
+ * after the JVM start its execution began. It serves to measure the startup overhead of the CLI
+ * and to train class-data sharing archives (see the {@code cds} build profile).
+ */
+public class NoopAlgorithm implements RelationalInputParameterAlgorithm, FunctionalDependencyAlgorithm {
+
+    /**
+     * Prefixes the logged time to execution, so that benchmarks can find it in the output.
+     */
+    public static final String TIME_TO_EXECUTE_MARKER = "Time to execute() [ms]: ";
+
+    private static final Logger LOG = LoggerFactory.getLogger(NoopAlgorithm.class);
+
+    @Override
+    public ArrayList<ConfigurationRequirement<?>> getConfigurationRequirements() {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public void setRelationalInputConfigurationValue(String identifier, RelationalInputGenerator... values) {
+    }
+
+    @Override
+    public void setResultReceiver(FunctionalDependencyResultReceiver resultReceiver) {
+    }
+
+    @Override
+    public void execute() {
+        long executionStartMillis = System.currentTimeMillis();
+        // Only query the JVM start time now, so that loading the management classes does not count.
+        long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+        LOG.info(TIME_TO_EXECUTE_MARKER + (executionStartMillis - jvmStartMillis));
+    }
+
+    @Override
+    public String getAuthors() {
+        return "Metanome CLI";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Does nothing; measures the startup time of the Metanome CLI.";
+    }
+}
@@ -0,0 +1,254 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+import de.metanome.algorithm_integration.input.InputGenerationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.algorithm_integration.input.RelationalInputGenerator;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link PliProvider} that persists the {@link PositionListIndex}es of input files, so that later
+ * runs on the same files can memory-map them instead of building them again.
+ *
+ * <p>The cache file of an input is placed either into a cache directory or next to the input file
+ * and is named after the {@link InputFingerprint} of the input. It consists of big-endian
+ * {@code int}s: a magic number, the number of columns and rows, and then per column the number of
+ * clusters, the number of clustered rows, the cluster offsets, and the row ids. Inputs that are not
+ * local files, e.g., database tables, are not persisted.</p>
+ */
+class PliCache implements PliProvider {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PliCache.class);
+
+  private static final int MAGIC_NUMBER = 0x504c4901;
+
+  private static final String FILE_SUFFIX = ".pli";
+
+  private final List<RelationalInputGenerator> inputGenerators;
+
+  private final List<File> inputFiles;
+
+  private final String settings;
+
+  private final File cacheDirectory;
+
+  private final ExecutorService executor;
+
+  private final List<List<PositionListIndex>> positionListIndices;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param inputGenerators provide the inputs
+   * @param inputFiles the files of the inputs or {@code null}s for inputs that are not persisted
+   * @param settings describes how the inputs are parsed
+   * @param cacheDirectory the directory for the cache files or {@code null} to place them next to
+   * the input files
+   * @param executor builds the {@link PositionListIndex}es of the columns in parallel
+   */
+  PliCache(List<RelationalInputGenerator> inputGenerators, List<File> inputFiles, String settings,
+      File cacheDirectory, ExecutorService executor) {
+    this.inputGenerators = inputGenerators;
+    this.inputFiles = inputFiles;
+    this.settings = settings;
+    this.cacheDirectory = cacheDirectory;
+    this.executor = executor;
+    this.positionListIndices = new ArrayList<>();
+    for (int i = 0; i < inputGenerators.size(); i++) {
+      this.positionListIndices.add(null);
+    }
+  }
+
+  @Override
+  public int getNumInputs() {
+    return inputGenerators.size();
+  }
+
+  @Override
+  public synchronized List<PositionListIndex> getPositionListIndices(int inputIndex)
+      throws InputGenerationException, AlgorithmConfigurationException {
+    List<PositionListIndex> result = positionListIndices.get(inputIndex);
+    if (result == null) {
+      result = load(inputIndex);
+      positionListIndices.set(inputIndex, result);
+    }
+    return result;
+  }
+
+  private List<PositionListIndex> load(int inputIndex)
+      throws InputGenerationException, AlgorithmConfigurationException {
+    File cacheFile = getCacheFile(inputFiles.get(inputIndex));
+    if (cacheFile != null && cacheFile.isFile()) {
+      try {
+        List<PositionListIndex> result = read(cacheFile);
+        LOG.info("Loaded position list indices from {}.", cacheFile);
+        return result;
+      } catch (IOException | RuntimeException e) {
+        LOG.warn("Could not read position list indices from {}. Rebuilding them.", cacheFile, e);
+      }
+    }
+
+    long startMillis = System.currentTimeMillis();
+    List<PositionListIndex> result = build(inputGenerators.get(inputIndex));
+    LOG.info("Built {} position list indices in {} ms.", result.size(),
+        System.currentTimeMillis() - startMillis);
+    if (cacheFile != null) {
+      try {
+        write(result, cacheFile);
+      } catch (IOException e) {
+        LOG.warn("Could not write position list indices to {}.", cacheFile, e);
+      }
+    }
+    return result;
+  }
+
+  private File getCacheFile(File inputFile) {
+    if (inputFile == null || !inputFile.isFile()) {
+      return null;
+    }
+    try {
+      String fingerprint = InputFingerprint.of(inputFile, settings);
+      if (cacheDirectory != null) {
+        return new File(cacheDirectory, fingerprint + FILE_SUFFIX);
+      }
+      return new File(inputFile.getAbsoluteFile().getParentFile(),
+          inputFile.getName() + "." + fingerprint.substring(0, 16) + FILE_SUFFIX);
+    } catch (IOException e) {
+      LOG.warn("Could not fingerprint {}.", inputFile, e);
+      return null;
+    }
+  }
+
+  /**
+   * Read an input once and build the {@link PositionListIndex}es of its columns in parallel.
+   */
+  private List<PositionListIndex> build(RelationalInputGenerator inputGenerator)
+      throws InputGenerationException, AlgorithmConfigurationException {
+    List<Map<String, Integer>> dictionaries = new ArrayList<>();
+    int[][] valueIds;
+    int numRows = 0;
+    try (RelationalInput input = inputGenerator.generateNewCopy()) {
+      int numColumns = input.numberOfColumns();
+      valueIds = new int[numColumns][1024];
+      for (int column = 0; column < numColumns; column++) {
+        dictionaries.add(new HashMap<>());
+      }
+      while (input.hasNext()) {
+        List<String> row = input.next();
+        if (numRows == valueIds[0].length) {
+          for (int column = 0; column < numColumns; column++) {
+            valueIds[column] = Arrays.copyOf(valueIds[column], 2 * numRows);
+          }
+        }
+        for (int column = 0; column < numColumns; column++) {
+          Map<String, Integer> dictionary = dictionaries.get(column);
+          valueIds[column][numRows] =
+              dictionary.computeIfAbsent(row.get(column), value -> dictionary.size());
+        }
+        numRows++;
+      }
+    } catch (InputGenerationException | AlgorithmConfigurationException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new InputGenerationException("Could not read input for position list indices.", e);
+    }
+
+    List<Future<PositionListIndex>> futures = new ArrayList<>();
+    for (int column = 0; column < valueIds.length; column++) {
+      final int[] columnValueIds = valueIds[column];
+      final int numValues = dictionaries.get(column).size();
+      final int finalNumRows = numRows;
+      futures.add(executor.submit(
+          () -> PositionListIndex.build(columnValueIds, finalNumRows, numValues)
+      ));
+    }
+    List<PositionListIndex> result = new ArrayList<>();
+    try {
+      for (Future<PositionListIndex> future : futures) {
+        result.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InputGenerationException("Interrupted while building position list indices.", e);
+    } catch (ExecutionException e) {
+      throw new InputGenerationException("Could not build position list indices.", e.getCause());
+    }
+    return result;
+  }
+
+  static void write(List<PositionListIndex> positionListIndices, File file) throws IOException {
+    Path target = file.getAbsoluteFile().toPath();
+    Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(new FileOutputStream(temp.toFile()), 1 << 16))) {
+      out.writeInt(MAGIC_NUMBER);
+      out.writeInt(positionListIndices.size());
+      out.writeInt(positionListIndices.isEmpty() ? 0 : positionListIndices.get(0).getNumRows());
+      for (PositionListIndex positionListIndex : positionListIndices) {
+        IntBuffer clusterOffsets = positionListIndex.getClusterOffsets();
+        IntBuffer rowIds = positionListIndex.getRowIds();
+        out.writeInt(positionListIndex.getNumClusters());
+        out.writeInt(positionListIndex.getNumClusteredRows());
+        while (clusterOffsets.hasRemaining()) {
+          out.writeInt(clusterOffsets.get());
+        }
+        while (rowIds.hasRemaining()) {
+          out.writeInt(rowIds.get());
+        }
+      }
+    }
+    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  static List<PositionListIndex> read(File file) throws IOException {
+    MappedByteBuffer buffer;
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        FileChannel channel = randomAccessFile.getChannel()) {
+      // The mapping remains valid after closing the channel.
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    IntBuffer ints = buffer.asIntBuffer();
+    if (ints.get() != MAGIC_NUMBER) {
+      throw new IOException("Not a position list index file.");
+    }
+    int numColumns = ints.get();
+    int numRows = ints.get();
+    List<PositionListIndex> result = new ArrayList<>(numColumns);
+    for (int column = 0; column < numColumns; column++) {
+      int numClusters = ints.get();
+      int numClusteredRows = ints.get();
+      IntBuffer clusterOffsets = slice(ints, numClusters + 1);
+      IntBuffer rowIds = slice(ints, numClusteredRows);
+      result.add(new PositionListIndex(numRows, clusterOffsets, rowIds));
+    }
+    return result;
+  }
+
+  private static IntBuffer slice(IntBuffer buffer, int length) {
+    IntBuffer slice = buffer.slice();
+    slice.limit(length);
+    buffer.position(buffer.position() + length);
+    return slice;
+  }
+}
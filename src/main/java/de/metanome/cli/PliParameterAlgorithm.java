@@ -0,0 +1,21 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.Algorithm;
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+
+/**
+ * An {@link Algorithm} that starts from the single-column {@link PositionListIndex}es of its
+ * inputs and takes them from a {@link PliProvider} rather than building them itself.
+ */
+public interface PliParameterAlgorithm extends Algorithm {
+
+    /**
+     * Sets the {@link PliProvider} for the inputs of the algorithm.
+     *
+     * @param pliProvider the {@link PliProvider}
+     * @throws AlgorithmConfigurationException if the algorithm cannot be correctly configured using the received
+     *                                         configuration values
+     */
+    void setPliProvider(PliProvider pliProvider) throws AlgorithmConfigurationException;
+
+}
@@ -0,0 +1,29 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+import de.metanome.algorithm_integration.input.InputGenerationException;
+import java.util.List;
+
+/**
+ * Provides the single-column {@link PositionListIndex}es of the inputs of a run. They are built
+ * on first use and might be served from a cache that is shared with other runs.
+ */
+public interface PliProvider {
+
+    /**
+     * @return the number of inputs, which are in the same order as the other input configuration values
+     */
+    int getNumInputs();
+
+    /**
+     * Provide the {@link PositionListIndex}es of an input.
+     *
+     * @param inputIndex the index of the input
+     * @return one {@link PositionListIndex} per column
+     * @throws InputGenerationException        if the input could not be read
+     * @throws AlgorithmConfigurationException if the input is misconfigured
+     */
+    List<PositionListIndex> getPositionListIndices(int inputIndex)
+            throws InputGenerationException, AlgorithmConfigurationException;
+
+}
@@ -0,0 +1,137 @@
+package de.metanome.cli;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * A stripped position list index (PLI) of a column: the clusters of rows that share the same value,
+ * leaving out clusters of a single row. Rows are identified by their position in the input, and
+ * the rows within a cluster are in ascending order. {@code null} values are considered equal.
+ *
+ * <p>The clusters are kept in {@link IntBuffer}s, so that they can be served directly from a
+ * memory-mapped cache file.</p>
+ */
+public class PositionListIndex {
+
+    /**
+     * Marks rows without a cluster in {@link #getProbingTable()}.
+     */
+    public static final int SINGLETON = -1;
+
+    private final int numRows;
+
+    /**
+     * The start offsets of the clusters in {@link #rowIds}, followed by the end offset of the last cluster.
+     */
+    private final IntBuffer clusterOffsets;
+
+    private final IntBuffer rowIds;
+
+    PositionListIndex(int numRows, IntBuffer clusterOffsets, IntBuffer rowIds) {
+        this.numRows = numRows;
+        this.clusterOffsets = clusterOffsets;
+        this.rowIds = rowIds;
+    }
+
+    /**
+     * Build a PLI from a dictionary-encoded column.
+     *
+     * @param valueIds  the value ids of the column; must be in {@code [0, numValues)}
+     * @param numRows   the number of rows in the column
+     * @param numValues the number of distinct values in the column
+     * @return the PLI
+     */
+    static PositionListIndex build(int[] valueIds, int numRows, int numValues) {
+        int[] counts = new int[numValues];
+        for (int row = 0; row < numRows; row++) {
+            counts[valueIds[row]]++;
+        }
+
+        // Assign the values that occur more than once to consecutive clusters.
+        int[] clusterStarts = new int[numValues];
+        int[] clusterOffsets = new int[numValues + 1];
+        int numClusters = 0;
+        int numClusteredRows = 0;
+        for (int value = 0; value < numValues; value++) {
+            if (counts[value] > 1) {
+                clusterOffsets[numClusters++] = numClusteredRows;
+                clusterStarts[value] = numClusteredRows;
+                numClusteredRows += counts[value];
+            } else {
+                clusterStarts[value] = SINGLETON;
+            }
+        }
+        clusterOffsets[numClusters] = numClusteredRows;
+
+        int[] rowIds = new int[numClusteredRows];
+        for (int row = 0; row < numRows; row++) {
+            int position = clusterStarts[valueIds[row]];
+            if (position != SINGLETON) {
+                rowIds[position] = row;
+                clusterStarts[valueIds[row]]++;
+            }
+        }
+        return new PositionListIndex(numRows,
+                IntBuffer.wrap(Arrays.copyOf(clusterOffsets, numClusters + 1)), IntBuffer.wrap(rowIds));
+    }
+
+    public int getNumRows() {
+        return this.numRows;
+    }
+
+    public int getNumClusters() {
+        return this.clusterOffsets.limit() - 1;
+    }
+
+    /**
+     * @return the number of rows that belong to any cluster
+     */
+    public int getNumClusteredRows() {
+        return this.rowIds.limit();
+    }
+
+    /**
+     * @return whether the column does not contain duplicate values
+     */
+    public boolean isUnique() {
+        return this.getNumClusters() == 0;
+    }
+
+    public int getClusterSize(int cluster) {
+        return this.clusterOffsets.get(cluster + 1) - this.clusterOffsets.get(cluster);
+    }
+
+    /**
+     * @param cluster the index of the cluster
+     * @param index   the index of the row within the cluster
+     * @return the position of the row in the input
+     */
+    public int getRowId(int cluster, int index) {
+        return this.rowIds.get(this.clusterOffsets.get(cluster) + index);
+    }
+
+    /**
+     * Create an array that maps each row to its cluster or to {@link #SINGLETON}.
+     *
+     * @return the probing table
+     */
+    public int[] getProbingTable() {
+        int[] probingTable = new int[this.numRows];
+        Arrays.fill(probingTable, SINGLETON);
+        for (int cluster = 0; cluster < this.getNumClusters(); cluster++) {
+            for (int i = this.clusterOffsets.get(cluster); i < this.clusterOffsets.get(cluster + 1); i++) {
+                probingTable[this.rowIds.get(i)] = cluster;
+            }
+        }
+        return probingTable;
+    }
+
+    IntBuffer getClusterOffsets() {
+        return this.clusterOffsets.duplicate();
+    }
+
+    IntBuffer getRowIds() {
+        return this.rowIds.duplicate();
+    }
+
+}
@@ -0,0 +1,185 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+import de.metanome.algorithm_integration.configuration.ConfigurationSettingDatabaseConnection;
+import de.metanome.algorithm_integration.configuration.ConfigurationSettingTableInput;
+import de.metanome.algorithm_integration.input.InputGenerationException;
+import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.backend.input.database.DefaultTableInputGenerator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link DefaultTableInputGenerator} for Postgres that reads whole tables via
+ * {@code COPY (SELECT ...) TO STDOUT} in CSV format rather than via JDBC {@link ResultSet}s, which
+ * is considerably faster for large tables. Sorting and filtering queries are still answered via
+ * JDBC. If the Postgres driver is missing or the connection is not a Postgres connection, all
+ * inputs fall back to JDBC. Other failures, e.g., a temporarily unreachable database, only affect
+ * the current input.
+ */
+class PostgresCopyTableInputGenerator extends DefaultTableInputGenerator {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PostgresCopyTableInputGenerator.class);
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final ConfigurationSettingTableInput setting;
+
+  private volatile boolean isCopyUnavailable = false;
+
+  PostgresCopyTableInputGenerator(ConfigurationSettingTableInput setting)
+      throws AlgorithmConfigurationException {
+    super(setting);
+    this.setting = setting;
+  }
+
+  @Override
+  public RelationalInput generateNewCopy() throws InputGenerationException {
+    if (!isCopyUnavailable) {
+      try {
+        return new CopyInput(setting.getDatabaseConnection(), setting.getTable());
+      } catch (CopyUnsupportedException | LinkageError e) {
+        // Missing drivers and non-Postgres connections are not going to change.
+        isCopyUnavailable = true;
+        LOG.warn("Cannot read {} via COPY. Falling back to JDBC.", setting.getTable(), e);
+      } catch (SQLException | IOException e) {
+        LOG.warn("Could not read {} via COPY. Falling back to JDBC for this input.",
+            setting.getTable(), e);
+      }
+    }
+    return super.generateNewCopy();
+  }
+
+  /**
+   * Tell whether new inputs are read via {@code COPY}.
+   */
+  boolean isCopyAvailable() {
+    return !isCopyUnavailable;
+  }
+
+  /**
+   * Signals that a connection is not a Postgres connection and hence does not support
+   * {@code COPY}.
+   */
+  private static class CopyUnsupportedException extends SQLException {
+
+    private CopyUnsupportedException(String message) {
+      super(message);
+    }
+  }
+
+  /**
+   * Streams the rows of a table from an own connection.
+   */
+  private static class CopyInput implements RelationalInput {
+
+    private final Connection connection;
+
+    private final String table;
+
+    private final List<String> columnNames;
+
+    private final BufferedReader reader;
+
+    private final PostgresCsvReader csvReader;
+
+    private List<String> nextRow;
+
+    private boolean isExhausted = false;
+
+    private CopyInput(ConfigurationSettingDatabaseConnection databaseSettings, String table)
+        throws SQLException, IOException {
+      this.table = table;
+      this.connection = DriverManager.getConnection(databaseSettings.getDbUrl(),
+          databaseSettings.getUsername(), databaseSettings.getPassword());
+      try {
+        List<String> columnNames = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+            ResultSet resultSet = statement.executeQuery("SELECT * FROM " + table + " LIMIT 0")) {
+          ResultSetMetaData metaData = resultSet.getMetaData();
+          for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            columnNames.add(metaData.getColumnName(i));
+          }
+        }
+        this.columnNames = Collections.unmodifiableList(columnNames);
+        if (!connection.isWrapperFor(PGConnection.class)) {
+          throw new CopyUnsupportedException("Not a Postgres connection: " + connection);
+        }
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        this.reader = new BufferedReader(new InputStreamReader(
+            new PGCopyInputStream(pgConnection,
+                "COPY (SELECT * FROM " + table + ") TO STDOUT WITH (FORMAT csv)"),
+            StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.csvReader = new PostgresCsvReader(reader, columnNames.size());
+      } catch (SQLException | RuntimeException e) {
+        connection.close();
+        throw e;
+      }
+    }
+
+    @Override
+    public boolean hasNext() throws InputIterationException {
+      if (nextRow == null && !isExhausted) {
+        try {
+          nextRow = csvReader.readRecord();
+        } catch (IOException e) {
+          throw new InputIterationException("Could not read " + table + " via COPY.", e);
+        }
+        isExhausted = nextRow == null;
+      }
+      return nextRow != null;
+    }
+
+    @Override
+    public List<String> next() throws InputIterationException {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      List<String> row = nextRow;
+      nextRow = null;
+      return row;
+    }
+
+    @Override
+    public int numberOfColumns() {
+      return columnNames.size();
+    }
+
+    @Override
+    public String relationName() {
+      return table;
+    }
+
+    @Override
+    public List<String> columnNames() {
+      return columnNames;
+    }
+
+    @Override
+    public void close() throws Exception {
+      try {
+        // Closing the stream cancels an unfinished COPY.
+        reader.close();
+      } finally {
+        connection.close();
+      }
+    }
+  }
+}
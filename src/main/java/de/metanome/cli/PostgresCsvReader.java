@@ -0,0 +1,78 @@
+package de.metanome.cli;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the CSV output of the Postgres {@code COPY} command with its default settings: fields are
+ * separated by commas, quoted with double quotes, and quotes are escaped by doubling them. An
+ * unquoted empty field denotes {@code null}, while a quoted empty field is an empty string.
+ */
+class PostgresCsvReader {
+
+  private final Reader reader;
+
+  private final StringBuilder field = new StringBuilder();
+
+  private final int expectedNumFields;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param reader provides the CSV data; should be buffered
+   * @param expectedNumFields the expected number of fields per record, used to size the rows
+   */
+  PostgresCsvReader(Reader reader, int expectedNumFields) {
+    this.reader = reader;
+    this.expectedNumFields = expectedNumFields;
+  }
+
+  /**
+   * Read the next record.
+   *
+   * @return the fields of the record or {@code null} if there are no more records
+   */
+  List<String> readRecord() throws IOException {
+    int c = reader.read();
+    if (c == -1) {
+      return null;
+    }
+    List<String> record = new ArrayList<>(expectedNumFields);
+    while (true) {
+      field.setLength(0);
+      boolean isQuoted = c == '"';
+      if (isQuoted) {
+        while (true) {
+          c = reader.read();
+          if (c == -1) {
+            throw new EOFException("Unterminated quoted field.");
+          } else if (c == '"') {
+            c = reader.read();
+            if (c != '"') {
+              break;
+            }
+          }
+          field.append((char) c);
+        }
+      } else {
+        while (c != ',' && c != '\n' && c != '\r' && c != -1) {
+          field.append((char) c);
+          c = reader.read();
+        }
+      }
+      record.add(!isQuoted && field.length() == 0 ? null : field.toString());
+
+      if (c == ',') {
+        c = reader.read();
+      } else {
+        if (c == '\r') {
+          reader.read();
+        }
+        return record;
+      }
+    }
+  }
+}
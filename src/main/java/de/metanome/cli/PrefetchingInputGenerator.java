@@ -0,0 +1,193 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+import de.metanome.algorithm_integration.input.InputGenerationException;
+import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.algorithm_integration.input.RelationalInputGenerator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decorates a {@link RelationalInputGenerator}, so that each of its {@link RelationalInput}s is
+ * read and parsed ahead on a separate thread. Rows are handed over to the algorithm in batches
+ * through a {@link SpscRingBuffer}, which keeps the synchronization cost per row low.
+ */
+class PrefetchingInputGenerator implements RelationalInputGenerator {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PrefetchingInputGenerator.class);
+
+  /**
+   * Number of rows that are handed over at once.
+   */
+  static final int BATCH_SIZE = 256;
+
+  /**
+   * Time to back off when the ring buffer is full or empty.
+   */
+  private static final long WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+
+  /**
+   * Marks the end of the input in the ring buffer.
+   */
+  private static final List<List<String>> END_OF_INPUT = Collections.emptyList();
+
+  private final RelationalInputGenerator delegate;
+
+  private final int depth;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param delegate provides the actual {@link RelationalInput}s
+   * @param depth the maximum number of row batches to read ahead
+   */
+  PrefetchingInputGenerator(RelationalInputGenerator delegate, int depth) {
+    this.delegate = delegate;
+    this.depth = depth;
+  }
+
+  @Override
+  public RelationalInput generateNewCopy()
+      throws InputGenerationException, AlgorithmConfigurationException {
+    return new PrefetchingInput(delegate.generateNewCopy(), depth);
+  }
+
+  @Override
+  public void close() throws Exception {
+    delegate.close();
+  }
+
+  /**
+   * Reads a {@link RelationalInput} on a producer thread and serves its rows to the consumer.
+   */
+  private static class PrefetchingInput implements RelationalInput {
+
+    private final RelationalInput input;
+
+    private final String relationName;
+
+    private final List<String> columnNames;
+
+    private final SpscRingBuffer<List<List<String>>> buffer;
+
+    private final Thread producer;
+
+    private volatile Throwable failure;
+
+    private volatile boolean isClosed = false;
+
+    private List<List<String>> currentBatch = Collections.emptyList();
+
+    private int nextRowIndex = 0;
+
+    private boolean isExhausted = false;
+
+    private PrefetchingInput(RelationalInput input, int depth) {
+      this.input = input;
+      // Capture the metadata up front, so that only the producer thread touches the input.
+      this.relationName = input.relationName();
+      this.columnNames = input.columnNames();
+      this.buffer = new SpscRingBuffer<>(depth);
+      this.producer = new Thread(this::produce, "input-prefetcher-" + relationName);
+      this.producer.setDaemon(true);
+      this.producer.start();
+    }
+
+    private void produce() {
+      List<List<String>> batch = Collections.emptyList();
+      try {
+        boolean hasNext = input.hasNext();
+        while (hasNext && !isClosed) {
+          batch = new ArrayList<>(BATCH_SIZE);
+          do {
+            batch.add(input.next());
+            hasNext = input.hasNext();
+          } while (hasNext && batch.size() < BATCH_SIZE);
+          put(batch);
+          batch = Collections.emptyList();
+        }
+      } catch (Throwable t) {
+        // Hand over any failure, including errors, so the consumer does not miss rows silently.
+        failure = t;
+        if (!batch.isEmpty()) {
+          put(batch);
+        }
+      } finally {
+        put(END_OF_INPUT);
+      }
+    }
+
+    private void put(List<List<String>> batch) {
+      while (!buffer.offer(batch)) {
+        if (isClosed) {
+          return;
+        }
+        LockSupport.parkNanos(WAIT_NANOS);
+      }
+    }
+
+    @Override
+    public boolean hasNext() throws InputIterationException {
+      while (nextRowIndex == currentBatch.size()) {
+        if (isExhausted) {
+          return false;
+        }
+        List<List<String>> batch = buffer.poll();
+        if (batch == null) {
+          LockSupport.parkNanos(WAIT_NANOS);
+        } else if (batch == END_OF_INPUT) {
+          isExhausted = true;
+          if (failure != null) {
+            throw new InputIterationException("Could not read ahead input.", failure);
+          }
+        } else {
+          currentBatch = batch;
+          nextRowIndex = 0;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public List<String> next() throws InputIterationException {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return currentBatch.get(nextRowIndex++);
+    }
+
+    @Override
+    public int numberOfColumns() {
+      return columnNames.size();
+    }
+
+    @Override
+    public String relationName() {
+      return relationName;
+    }
+
+    @Override
+    public List<String> columnNames() {
+      return columnNames;
+    }
+
+    @Override
+    public void close() throws Exception {
+      isClosed = true;
+      try {
+        producer.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        LOG.error("Interrupted while waiting for the prefetcher of {}.", relationName, e);
+      }
+      input.close();
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.Algorithm;
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+import java.util.List;
+
+/**
+ * An {@link Algorithm} that takes the {@link ColumnStatistics} of its inputs as gathered by a
+ * pre-scan before the algorithm is executed.
+ */
+public interface PrescanParameterAlgorithm extends Algorithm {
+
+    /**
+     * Sets the {@link ColumnStatistics} of the inputs.
+     *
+     * @param statistics one {@link ColumnStatistics} per input, in the order of the input configuration values
+     * @throws AlgorithmConfigurationException if the algorithm cannot be correctly configured using the received
+     *                                         configuration values
+     */
+    void setColumnStatistics(List<ColumnStatistics> statistics) throws AlgorithmConfigurationException;
+
+}
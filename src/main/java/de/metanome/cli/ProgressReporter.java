@@ -0,0 +1,71 @@
+package de.metanome.cli;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Periodically logs the progress of a run, i.e., the throughput of results and input rows as
+ * well as the heap usage.
+ */
+class ProgressReporter implements AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ProgressReporter.class);
+
+  private static final long MEBIBYTE = 1L << 20;
+
+  private final RunCounters counters;
+
+  private final ScheduledExecutorService scheduler;
+
+  private long lastReportNanos;
+
+  private long lastNumResults = 0L;
+
+  private long lastNumRows = 0L;
+
+  /**
+   * Creates a new instance and starts reporting.
+   *
+   * @param counters the {@link RunCounters} to report on
+   * @param intervalMillis the time between two reports
+   */
+  ProgressReporter(RunCounters counters, long intervalMillis) {
+    this.counters = counters;
+    this.lastReportNanos = System.nanoTime();
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "progress-reporter");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.scheduler
+        .scheduleAtFixedRate(this::report, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  private void report() {
+    long nowNanos = System.nanoTime();
+    long numResults = counters.getNumResults();
+    long numRows = counters.getNumRows();
+    double elapsedSeconds = Math.max(nowNanos - lastReportNanos, 1L) / 1e9;
+    MemoryUsage heapUsage = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+    LOG.info("Progress: {} results ({} results/s), {} rows ({} rows/s), heap {}/{} MiB.",
+        numResults, Math.round((numResults - lastNumResults) / elapsedSeconds),
+        numRows, Math.round((numRows - lastNumRows) / elapsedSeconds),
+        heapUsage.getUsed() / MEBIBYTE, heapUsage.getMax() / MEBIBYTE);
+    lastReportNanos = nowNanos;
+    lastNumResults = numResults;
+    lastNumRows = numRows;
+  }
+
+  /**
+   * Stop reporting.
+   */
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+}
@@ -0,0 +1,86 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+import de.metanome.algorithm_integration.input.InputGenerationException;
+import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.algorithm_integration.input.RelationalInputGenerator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Serves the {@link ColumnBatch}es of a {@link ColumnBatchInputGenerator} row by row, so that
+ * they can be consumed by regular Metanome algorithms.
+ */
+public class RelationalInputAdapter implements RelationalInputGenerator {
+
+    private final ColumnBatchInputGenerator delegate;
+
+    public RelationalInputAdapter(ColumnBatchInputGenerator delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public RelationalInput generateNewCopy() throws InputGenerationException, AlgorithmConfigurationException {
+        return new AdaptedInput(this.delegate.generateNewCopy());
+    }
+
+    @Override
+    public void close() throws Exception {
+        this.delegate.close();
+    }
+
+    private static class AdaptedInput implements RelationalInput {
+
+        private final ColumnBatchInput input;
+
+        private final ColumnBatch batch;
+
+        private int nextRowIndex = 0;
+
+        private AdaptedInput(ColumnBatchInput input) {
+            this.input = input;
+            this.batch = input.createBatch();
+        }
+
+        @Override
+        public boolean hasNext() throws InputIterationException {
+            while (this.nextRowIndex == this.batch.getSize()) {
+                if (!this.input.nextBatch(this.batch)) {
+                    return false;
+                }
+                this.nextRowIndex = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public List<String> next() throws InputIterationException {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return this.batch.getRow(this.nextRowIndex++);
+        }
+
+        @Override
+        public int numberOfColumns() {
+            return this.input.numberOfColumns();
+        }
+
+        @Override
+        public String relationName() {
+            return this.input.relationName();
+        }
+
+        @Override
+        public List<String> columnNames() {
+            return this.input.columnNames();
+        }
+
+        @Override
+        public void close() throws Exception {
+            this.input.close();
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.Algorithm;
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+import de.metanome.algorithm_integration.algorithm_types.TempFileAlgorithm;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * An {@link Algorithm} that uses the resources that the CLI manages centrally instead of sizing
+ * its own thread pools and memory structures. Besides a temporary file generator (see
+ * {@link TempFileAlgorithm}), it receives a shared thread pool and a memory budget, which are
+ * controlled via {@code --threads} and {@code --memory-budget}.
+ */
+public interface ResourceParameterAlgorithm extends TempFileAlgorithm {
+
+    /**
+     * Sets the thread pool to run parallel work on. The pool is a
+     * {@link java.util.concurrent.ForkJoinPool} that might be shared with other algorithm runs
+     * in the same JVM, so the algorithm must not shut it down.
+     *
+     * @param executorService the thread pool
+     * @param parallelism     the number of threads of the pool
+     * @throws AlgorithmConfigurationException if the algorithm cannot be correctly configured using the received
+     *                                         configuration values
+     */
+    void setExecutorService(ExecutorService executorService, int parallelism)
+            throws AlgorithmConfigurationException;
+
+    /**
+     * Sets the number of bytes that the algorithm may occupy in main memory.
+     *
+     * @param memoryBudget the memory budget in bytes
+     * @throws AlgorithmConfigurationException if the algorithm cannot be correctly configured using the received
+     *                                         configuration values
+     */
+    void setMemoryBudget(long memoryBudget) throws AlgorithmConfigurationException;
+
+}
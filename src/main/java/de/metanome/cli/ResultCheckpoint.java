@@ -0,0 +1,205 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.results.JsonConverter;
+import de.metanome.algorithm_integration.results.Result;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Durably records {@link Result}s of a run, so that they survive crashes of long-running
+ * executions.
+ *
+ * <p>Results are appended to segment files in a directory per run. Each line holds the result
+ * class and its JSON representation. Writes are synced to disk in batches: after a number of
+ * results and periodically in the background. A torn last line (e.g., after a crash) is skipped
+ * when loading.</p>
+ */
+class ResultCheckpoint implements Closeable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ResultCheckpoint.class);
+
+  private static final String SEGMENT_PREFIX = "segment-";
+
+  private static final String SEGMENT_SUFFIX = ".log";
+
+  /**
+   * Number of results after which a segment is synced to disk.
+   */
+  private static final int SYNC_BATCH_SIZE = 1000;
+
+  /**
+   * Size in bytes after which a new segment is started.
+   */
+  private static final long MAX_SEGMENT_BYTES = 64L << 20;
+
+  private final File directory;
+  private final long syncIntervalMillis;
+  private final JsonConverter<Result> jsonConverter = new JsonConverter<>();
+  private final ScheduledExecutorService syncer;
+
+  private int segmentIndex;
+  private FileOutputStream segmentStream;
+  private BufferedWriter segmentWriter;
+  private long segmentBytes;
+  private int numUnsyncedResults;
+  private long lastSyncMillis;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param baseDirectory directory that holds the checkpoints of all runs
+   * @param runId identifies the run; an existing checkpoint of this run is continued
+   * @param syncIntervalMillis maximum time between syncing appended results
+   */
+  ResultCheckpoint(File baseDirectory, String runId, long syncIntervalMillis) throws IOException {
+    this.directory = new File(baseDirectory, runId);
+    if (!this.directory.isDirectory() && !this.directory.mkdirs()) {
+      throw new IOException("Could not create checkpoint directory " + this.directory);
+    }
+    this.syncIntervalMillis = syncIntervalMillis;
+    File[] segments = listSegments();
+    this.segmentIndex = segments.length == 0 ? 0 : parseSegmentIndex(segments[segments.length - 1]) + 1;
+    this.lastSyncMillis = System.currentTimeMillis();
+    this.syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "result-checkpoint");
+      thread.setDaemon(true);
+      return thread;
+    });
+    if (syncIntervalMillis > 0) {
+      this.syncer.scheduleWithFixedDelay(this::syncIfDue,
+          syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  File getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Load all {@link Result}s recorded so far for this run.
+   *
+   * @return the {@link Result}s in the order they were recorded
+   */
+  List<Result> load() throws IOException {
+    final List<Result> results = new ArrayList<>();
+    for (File segment : listSegments()) {
+      try (BufferedReader reader = Files.newBufferedReader(segment.toPath(), StandardCharsets.UTF_8)) {
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+          lineNumber++;
+          try {
+            results.add(parse(line));
+          } catch (IOException | ReflectiveOperationException | RuntimeException e) {
+            LOG.warn("Skipping unreadable line {} in {}.", lineNumber, segment, e);
+          }
+        }
+      }
+    }
+    return results;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Result parse(String line) throws IOException, ReflectiveOperationException {
+    int tabIndex = line.indexOf('\t');
+    if (tabIndex == -1) {
+      throw new IOException("Malformed checkpoint entry.");
+    }
+    Class<? extends Result> resultClass = (Class<? extends Result>) Class.forName(line.substring(0, tabIndex));
+    return jsonConverter.fromJsonString(line.substring(tabIndex + 1), (Class<Result>) resultClass);
+  }
+
+  /**
+   * Append a {@link Result} to the current segment.
+   *
+   * @param result the {@link Result}
+   */
+  synchronized void append(Result result) throws IOException {
+    if (segmentWriter == null || segmentBytes >= MAX_SEGMENT_BYTES) {
+      openNextSegment();
+    }
+    String line = result.getClass().getName() + '\t' + jsonConverter.toJsonString(result) + '\n';
+    segmentWriter.write(line);
+    segmentBytes += line.length();
+    if (++numUnsyncedResults >= SYNC_BATCH_SIZE) {
+      sync();
+    }
+  }
+
+  private void openNextSegment() throws IOException {
+    closeSegment();
+    File segment = new File(directory,
+        String.format("%s%05d%s", SEGMENT_PREFIX, segmentIndex++, SEGMENT_SUFFIX));
+    segmentStream = new FileOutputStream(segment, true);
+    segmentWriter = new BufferedWriter(
+        new OutputStreamWriter(segmentStream, StandardCharsets.UTF_8), 1 << 16);
+    segmentBytes = 0L;
+  }
+
+  private synchronized void syncIfDue() {
+    if (numUnsyncedResults > 0
+        && System.currentTimeMillis() - lastSyncMillis >= syncIntervalMillis) {
+      try {
+        sync();
+      } catch (IOException e) {
+        LOG.error("Could not sync result checkpoint.", e);
+      }
+    }
+  }
+
+  private synchronized void sync() throws IOException {
+    if (segmentWriter != null) {
+      segmentWriter.flush();
+      segmentStream.getFD().sync();
+    }
+    numUnsyncedResults = 0;
+    lastSyncMillis = System.currentTimeMillis();
+  }
+
+  private void closeSegment() throws IOException {
+    if (segmentWriter != null) {
+      sync();
+      segmentWriter.close();
+      segmentWriter = null;
+      segmentStream = null;
+    }
+  }
+
+  private File[] listSegments() {
+    File[] segments = directory.listFiles((dir, name) ->
+        name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+    if (segments == null) {
+      throw new UncheckedIOException(new IOException("Cannot list " + directory));
+    }
+    Arrays.sort(segments);
+    return segments;
+  }
+
+  private static int parseSegmentIndex(File segment) {
+    String name = segment.getName();
+    return Integer.parseInt(
+        name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    syncer.shutdownNow();
+    closeSegment();
+  }
+}
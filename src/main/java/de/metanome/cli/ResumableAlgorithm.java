@@ -0,0 +1,24 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.Algorithm;
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+import de.metanome.algorithm_integration.results.Result;
+import java.util.List;
+
+/**
+ * An {@link Algorithm} that can continue an interrupted run given the {@link Result}s that the
+ * run had already found. The CLI passes these results when a run is resumed via {@code --resume}.
+ */
+public interface ResumableAlgorithm extends Algorithm {
+
+    /**
+     * Sets the {@link Result}s of the resumed run. They have already been delivered to the
+     * result receiver, so the algorithm may skip the work that led to them.
+     *
+     * @param results the previously found results
+     * @throws AlgorithmConfigurationException if the algorithm cannot be correctly configured using the received
+     *                                         configuration values
+     */
+    void setResumedResults(List<Result> results) throws AlgorithmConfigurationException;
+
+}
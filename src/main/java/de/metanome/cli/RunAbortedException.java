@@ -0,0 +1,20 @@
+package de.metanome.cli;
+
+/**
+ * Signals that a run cannot be carried out, e.g., because the algorithm cannot be configured.
+ * The cause has already been logged; this exception only carries the exit code of the run, so
+ * that a sweep can continue with its other runs.
+ */
+class RunAbortedException extends Exception {
+
+  private final int exitCode;
+
+  RunAbortedException(int exitCode, String message) {
+    super(message);
+    this.exitCode = exitCode;
+  }
+
+  int getExitCode() {
+    return exitCode;
+  }
+}
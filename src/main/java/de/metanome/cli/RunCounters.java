@@ -0,0 +1,64 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.results.Result;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the results and input rows of a run. All counters can be updated and read concurrently.
+ */
+class RunCounters {
+
+  private final ConcurrentMap<String, LongAdder> resultCounters = new ConcurrentHashMap<>();
+
+  private final LongAdder numRows = new LongAdder();
+
+  /**
+   * Count a {@link Result} by its type.
+   *
+   * @param result the {@link Result}
+   */
+  void countResult(Result result) {
+    String type = result.getClass().getSimpleName();
+    LongAdder counter = resultCounters.get(type);
+    if (counter == null) {
+      counter = resultCounters.computeIfAbsent(type, key -> new LongAdder());
+    }
+    counter.increment();
+  }
+
+  /**
+   * Count input rows.
+   *
+   * @param numRows the number of rows that have been read
+   */
+  void countRows(long numRows) {
+    this.numRows.add(numRows);
+  }
+
+  /**
+   * Provide the number of results per type.
+   *
+   * @return the result types along with their counts, ordered by the type
+   */
+  Map<String, Long> getResultCounts() {
+    Map<String, Long> resultCounts = new TreeMap<>();
+    resultCounters.forEach((type, counter) -> resultCounts.put(type, counter.sum()));
+    return resultCounts;
+  }
+
+  long getNumResults() {
+    long numResults = 0L;
+    for (LongAdder counter : resultCounters.values()) {
+      numResults += counter.sum();
+    }
+    return numResults;
+  }
+
+  long getNumRows() {
+    return numRows.sum();
+  }
+}
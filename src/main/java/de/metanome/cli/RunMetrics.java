@@ -0,0 +1,100 @@
+package de.metanome.cli;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * Gathers the metrics of a run: the {@link RunCounters}, the durations of the phases of the run,
+ * the size of the temporary files, and the queue depths of the result sinks.
+ *
+ * <p>All values are computed on demand, so that the run is not slowed down as long as nobody
+ * asks for them.</p>
+ */
+class RunMetrics implements RunMetricsMXBean {
+
+  private final RunCounters counters;
+
+  private final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+
+  private String currentPhase;
+
+  private long currentPhaseStartMillis;
+
+  private volatile TempFileGenerator tempFileGenerator;
+
+  private volatile FanOutResultReceiver fanOutResultReceiver;
+
+  RunMetrics(RunCounters counters) {
+    this.counters = counters;
+  }
+
+  /**
+   * Start a new phase of the run and end the current one, if any.
+   *
+   * @param phase the name of the new phase or {@code null} to only end the current phase
+   */
+  synchronized void startPhase(String phase) {
+    long nowMillis = System.currentTimeMillis();
+    if (currentPhase != null) {
+      phaseMillis.merge(currentPhase, nowMillis - currentPhaseStartMillis, Long::sum);
+    }
+    currentPhase = phase;
+    currentPhaseStartMillis = nowMillis;
+  }
+
+  void setTempFileGenerator(TempFileGenerator tempFileGenerator) {
+    this.tempFileGenerator = tempFileGenerator;
+  }
+
+  void setFanOutResultReceiver(FanOutResultReceiver fanOutResultReceiver) {
+    this.fanOutResultReceiver = fanOutResultReceiver;
+  }
+
+  @Override
+  public long getRowsRead() {
+    return counters.getNumRows();
+  }
+
+  @Override
+  public long getResultsEmitted() {
+    return counters.getNumResults();
+  }
+
+  @Override
+  public Map<String, Long> getResultsEmittedPerType() {
+    return counters.getResultCounts();
+  }
+
+  @Override
+  public synchronized String getCurrentPhase() {
+    return currentPhase;
+  }
+
+  @Override
+  public synchronized Map<String, Long> getPhaseMillis() {
+    Map<String, Long> result = new LinkedHashMap<>(phaseMillis);
+    if (currentPhase != null) {
+      result.merge(currentPhase, System.currentTimeMillis() - currentPhaseStartMillis, Long::sum);
+    }
+    return result;
+  }
+
+  @Override
+  public long getTempFileBytes() {
+    TempFileGenerator tempFileGenerator = this.tempFileGenerator;
+    return tempFileGenerator == null ? 0L : tempFileGenerator.getUsedBytes();
+  }
+
+  @Override
+  public Map<String, Integer> getResultQueueDepths() {
+    Map<String, Integer> result = new LinkedHashMap<>();
+    FanOutResultReceiver fanOutResultReceiver = this.fanOutResultReceiver;
+    if (fanOutResultReceiver != null) {
+      for (Pair<String, Integer> queueDepth : fanOutResultReceiver.getQueueDepths()) {
+        result.put(queueDepth.getLeft(), queueDepth.getRight());
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,23 @@
+package de.metanome.cli;
+
+import java.util.Map;
+
+/**
+ * JMX view on the {@link RunMetrics} of a run.
+ */
+public interface RunMetricsMXBean {
+
+  long getRowsRead();
+
+  long getResultsEmitted();
+
+  Map<String, Long> getResultsEmittedPerType();
+
+  String getCurrentPhase();
+
+  Map<String, Long> getPhaseMillis();
+
+  long getTempFileBytes();
+
+  Map<String, Integer> getResultQueueDepths();
+}
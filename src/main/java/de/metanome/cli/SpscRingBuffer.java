@@ -0,0 +1,85 @@
+package de.metanome.cli;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, lock-free queue for exactly one producer thread and one consumer thread.
+ *
+ * <p>The producer publishes an element by advancing the tail index with release semantics after
+ * storing it, and the consumer frees a slot by advancing the head index in the same way, so that
+ * neither side ever blocks the other. Waiting for a free slot or an element is left to the
+ * callers.</p>
+ *
+ * @param <T> the type of the elements
+ */
+class SpscRingBuffer<T> {
+
+  private final Object[] elements;
+
+  private final int mask;
+
+  /**
+   * Index of the next element to be polled. Only written by the consumer.
+   */
+  private final AtomicLong head = new AtomicLong();
+
+  /**
+   * Index of the next element to be offered. Only written by the producer.
+   */
+  private final AtomicLong tail = new AtomicLong();
+
+  /**
+   * Creates a new instance.
+   *
+   * @param minCapacity the minimum number of elements to hold; rounded up to a power of two
+   */
+  SpscRingBuffer(int minCapacity) {
+    if (minCapacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive.");
+    }
+    int capacity = Integer.highestOneBit(minCapacity);
+    if (capacity < minCapacity) {
+      capacity <<= 1;
+    }
+    this.elements = new Object[capacity];
+    this.mask = capacity - 1;
+  }
+
+  int capacity() {
+    return elements.length;
+  }
+
+  /**
+   * Append an element. Must only be called by the producer thread.
+   *
+   * @param element the element, must not be {@code null}
+   * @return whether there was a free slot for the element
+   */
+  boolean offer(T element) {
+    long currentTail = tail.get();
+    if (currentTail - head.get() == elements.length) {
+      return false;
+    }
+    elements[(int) currentTail & mask] = element;
+    tail.lazySet(currentTail + 1);
+    return true;
+  }
+
+  /**
+   * Remove the oldest element. Must only be called by the consumer thread.
+   *
+   * @return the element or {@code null} if there is none
+   */
+  @SuppressWarnings("unchecked")
+  T poll() {
+    long currentHead = head.get();
+    if (currentHead == tail.get()) {
+      return null;
+    }
+    int index = (int) currentHead & mask;
+    T element = (T) elements[index];
+    elements[index] = null;
+    head.lazySet(currentHead + 1);
+    return element;
+  }
+}
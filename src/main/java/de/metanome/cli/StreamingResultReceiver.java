@@ -0,0 +1,210 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.result_receiver.ColumnNameMismatchException;
+import de.metanome.algorithm_integration.result_receiver.CouldNotReceiveResultException;
+import de.metanome.algorithm_integration.results.BasicStatistic;
+import de.metanome.algorithm_integration.results.ConditionalFunctionalDependency;
+import de.metanome.algorithm_integration.results.ConditionalUniqueColumnCombination;
+import de.metanome.algorithm_integration.results.DenialConstraint;
+import de.metanome.algorithm_integration.results.FunctionalDependency;
+import de.metanome.algorithm_integration.results.InclusionDependency;
+import de.metanome.algorithm_integration.results.JsonConverter;
+import de.metanome.algorithm_integration.results.MatchingDependency;
+import de.metanome.algorithm_integration.results.MultivaluedDependency;
+import de.metanome.algorithm_integration.results.OrderDependency;
+import de.metanome.algorithm_integration.results.Result;
+import de.metanome.algorithm_integration.results.UniqueColumnCombination;
+import de.metanome.backend.result_receiver.ResultReceiver;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams results to a downstream consumer while the algorithm is still running.
+ *
+ * <p>Results are written either as newline-delimited JSON objects of the form
+ * {@code {"type":"FunctionalDependency","result":{...}}} or as serialized Java objects
+ * ({@link ObjectOutputStream}). The target can be the standard output, a TCP endpoint, or a file
+ * path, which includes named pipes. Writes are buffered and only flushed via {@link #flush()},
+ * which the {@link FanOutResultReceiver} calls after each batch of results.</p>
+ *
+ * <p>When streaming to the standard output, the CLI prints its log messages to the standard error
+ * instead (see {@link #isStreamingToStdout(String)}).</p>
+ */
+class StreamingResultReceiver extends ResultReceiver implements Flushable {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Describes how results are encoded.
+   */
+  enum Format {
+    JSON,
+    BINARY
+  }
+
+  private final Format format;
+
+  private final OutputStream outputStream;
+
+  private final ObjectOutputStream objectOutputStream;
+
+  private final boolean isClosingStream;
+
+  private final JsonConverter<Result> jsonConverter = new JsonConverter<>();
+
+  /**
+   * Creates a new instance from a specification of the form {@code [json:|binary:]<target>},
+   * where the target is {@code stdout}, {@code tcp:<host>:<port>}, or a file path.
+   *
+   * @param specification the specification
+   */
+  StreamingResultReceiver(String specification) throws IOException {
+    super("streamed-execution", null);
+    this.format = specification.startsWith("binary:") ? Format.BINARY : Format.JSON;
+    String target = getTarget(specification);
+
+    OutputStream rawStream;
+    if (target.equals("stdout")) {
+      rawStream = System.out;
+      this.isClosingStream = false;
+    } else if (target.startsWith("tcp:")) {
+      int lastColonIndex = target.lastIndexOf(':');
+      if (lastColonIndex == "tcp:".length() - 1) {
+        throw new IllegalArgumentException(
+            String.format("Could not parse stream target \"%s\".", target));
+      }
+      String host = target.substring("tcp:".length(), lastColonIndex);
+      int port = Integer.parseInt(target.substring(lastColonIndex + 1));
+      @SuppressWarnings("resource")
+      Socket socket = new Socket(host, port);
+      rawStream = socket.getOutputStream();
+      this.isClosingStream = true;
+    } else {
+      rawStream = new FileOutputStream(target);
+      this.isClosingStream = true;
+    }
+    this.outputStream = new BufferedOutputStream(rawStream, BUFFER_SIZE);
+    this.objectOutputStream = this.format == Format.BINARY ?
+        new ObjectOutputStream(this.outputStream) :
+        null;
+  }
+
+  private static String getTarget(String specification) {
+    if (specification.startsWith("json:")) {
+      return specification.substring("json:".length());
+    } else if (specification.startsWith("binary:")) {
+      return specification.substring("binary:".length());
+    }
+    return specification;
+  }
+
+  /**
+   * Tell whether an output streams results to the standard output.
+   *
+   * @param output an output as given via {@code --output}
+   * @return whether the output is of the form {@code stream:[json:|binary:]stdout}
+   */
+  static boolean isStreamingToStdout(String output) {
+    return output.startsWith("stream:")
+        && getTarget(output.substring("stream:".length())).equals("stdout");
+  }
+
+  private synchronized void receive(Result result) throws CouldNotReceiveResultException {
+    try {
+      if (format == Format.BINARY) {
+        objectOutputStream.writeObject(result);
+      } else {
+        String line = "{\"type\":\"" + result.getClass().getSimpleName() + "\",\"result\":"
+            + jsonConverter.toJsonString(result) + "}\n";
+        outputStream.write(line.getBytes(StandardCharsets.UTF_8));
+      }
+    } catch (IOException e) {
+      throw new CouldNotReceiveResultException("Could not stream result.", e);
+    }
+  }
+
+  @Override
+  public synchronized void flush() throws IOException {
+    if (objectOutputStream != null) {
+      // Forget about the already written objects, so that the stream does not accumulate them.
+      objectOutputStream.reset();
+      objectOutputStream.flush();
+    } else {
+      outputStream.flush();
+    }
+  }
+
+  @Override
+  public void receiveResult(BasicStatistic statistic)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(statistic);
+  }
+
+  @Override
+  public void receiveResult(ConditionalUniqueColumnCombination conditionalUniqueColumnCombination)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(conditionalUniqueColumnCombination);
+  }
+
+  @Override
+  public void receiveResult(FunctionalDependency functionalDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(functionalDependency);
+  }
+
+  @Override
+  public void receiveResult(InclusionDependency inclusionDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(inclusionDependency);
+  }
+
+  @Override
+  public void receiveResult(MultivaluedDependency multivaluedDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(multivaluedDependency);
+  }
+
+  @Override
+  public void receiveResult(OrderDependency orderDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(orderDependency);
+  }
+
+  @Override
+  public void receiveResult(UniqueColumnCombination uniqueColumnCombination)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(uniqueColumnCombination);
+  }
+
+  @Override
+  public void receiveResult(DenialConstraint denialConstraint)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(denialConstraint);
+  }
+
+  @Override
+  public void receiveResult(MatchingDependency matchingDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(matchingDependency);
+  }
+
+  @Override
+  public void receiveResult(ConditionalFunctionalDependency conditionalFunctionalDependency)
+      throws CouldNotReceiveResultException, ColumnNameMismatchException {
+    receive(conditionalFunctionalDependency);
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    flush();
+    if (isClosingStream) {
+      outputStream.close();
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package de.metanome.cli;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Expands algorithm configuration values with sweep syntax into the cartesian grid of all
+ * combinations. A value can be a range of integers, e.g., {@code maxLhs:1..5}, or a set of
+ * alternatives, e.g., {@code threads:{1,2,4,8}}; all other values are taken as they are. A leading
+ * backslash makes a value literal, e.g., {@code pattern:\{x}} stands for {@code pattern:{x}}.
+ */
+class SweepExpander {
+
+  private static final Pattern RANGE_PATTERN = Pattern.compile("(-?\\d+)\\.\\.(-?\\d+)");
+
+  private SweepExpander() {
+  }
+
+  /**
+   * Expand configuration values of the form {@code <key>:<value>}.
+   *
+   * <p>The command line parser splits values at commas, so that set alternatives and
+   * comma-separated values, e.g., check box selections, may arrive as several values. These are
+   * joined again before expanding.</p>
+   *
+   * @param configurationValues the configuration values with sweep syntax
+   * @return one list of plain configuration values per grid point
+   * @throws IllegalArgumentException if the sweep syntax is malformed
+   */
+  static List<List<String>> expand(List<String> configurationValues) {
+    List<List<String>> grid = new ArrayList<>();
+    grid.add(Collections.emptyList());
+    for (String configurationValue : join(configurationValues)) {
+      int colonPos = configurationValue.indexOf(':');
+      if (colonPos == -1) {
+        throw new IllegalArgumentException(
+            String.format("Illegal configuration value \"%s\" (expected <name>:<value>).",
+                configurationValue));
+      }
+      String key = configurationValue.substring(0, colonPos);
+      List<String> alternatives = expandValue(configurationValue.substring(colonPos + 1));
+
+      List<List<String>> extendedGrid = new ArrayList<>(grid.size() * alternatives.size());
+      for (List<String> point : grid) {
+        for (String alternative : alternatives) {
+          List<String> extendedPoint = new ArrayList<>(point);
+          extendedPoint.add(key + ':' + alternative);
+          extendedGrid.add(extendedPoint);
+        }
+      }
+      grid = extendedGrid;
+    }
+    return grid;
+  }
+
+  /**
+   * Join configuration values that the command line parser has split at commas, but do not expand
+   * them.
+   *
+   * @param configurationValues the configuration values as parsed
+   * @return the configuration values as given on the command line
+   * @throws IllegalArgumentException if a set is not terminated
+   */
+  static List<String> join(List<String> configurationValues) {
+    List<String> joinedValues = new ArrayList<>();
+    StringBuilder openSet = null;
+    for (String configurationValue : configurationValues) {
+      if (openSet != null) {
+        openSet.append(',').append(configurationValue);
+        if (configurationValue.endsWith("}")) {
+          joinedValues.add(openSet.toString());
+          openSet = null;
+        }
+      } else if (configurationValue.contains(":{") && !configurationValue.endsWith("}")) {
+        openSet = new StringBuilder(configurationValue);
+      } else if (!configurationValue.contains(":") && !joinedValues.isEmpty()) {
+        // Continue a comma-separated value.
+        int lastIndex = joinedValues.size() - 1;
+        joinedValues.set(lastIndex, joinedValues.get(lastIndex) + ',' + configurationValue);
+      } else {
+        joinedValues.add(configurationValue);
+      }
+    }
+    if (openSet != null) {
+      throw new IllegalArgumentException(
+          String.format("Unterminated set in configuration value \"%s\".", openSet));
+    }
+    return joinedValues;
+  }
+
+  private static List<String> expandValue(String value) {
+    if (value.startsWith("\\")) {
+      return Collections.singletonList(value.substring(1));
+    }
+    if (value.startsWith("{") && value.endsWith("}")) {
+      List<String> alternatives = new ArrayList<>();
+      for (String alternative : value.substring(1, value.length() - 1).split(",")) {
+        alternatives.add(alternative.trim());
+      }
+      return alternatives;
+    }
+
+    Matcher matcher = RANGE_PATTERN.matcher(value);
+    if (matcher.matches()) {
+      long from = Long.parseLong(matcher.group(1));
+      long to = Long.parseLong(matcher.group(2));
+      if (from > to) {
+        throw new IllegalArgumentException(String.format("Empty range \"%s\".", value));
+      }
+      List<String> alternatives = new ArrayList<>();
+      for (long i = from; i <= to; i++) {
+        alternatives.add(Long.toString(i));
+      }
+      return alternatives;
+    }
+
+    return Collections.singletonList(value);
+  }
+}
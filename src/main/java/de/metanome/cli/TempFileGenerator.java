@@ -11,67 +11,223 @@ import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Hands out temporary files to {@link de.metanome.algorithm_integration.algorithm_types.TempFileAlgorithm}s.
+ *
+ * <p>The files can be striped across several directories (e.g., one per disk), so that spilling
+ * algorithms can use the bandwidth of all of them. Optionally, files are first placed in a
+ * memory-backed directory (e.g., {@code /dev/shm}) as long as the files in there stay within a
+ * given budget.</p>
+ */
 class TempFileGenerator implements FileGenerator {
 
   private static final Logger LOG = LoggerFactory.getLogger(TempFileGenerator.class);
 
+  /**
+   * Describes how temporary files are distributed over the directories.
+   */
+  enum Placement {
+    /**
+     * Use the directories in turn.
+     */
+    ROUND_ROBIN,
+    /**
+     * Use the directory with the most usable space.
+     */
+    FREE_SPACE
+  }
+
   private final String prefix;
   private final String suffix;
-  private final File directory;
-  private final List<File> created;
+  private final List<File> directories;
+  private final Placement placement;
+  private final AtomicInteger nextDirectoryIndex = new AtomicInteger();
+  private final File memoryDirectory;
+  private final long memoryBudget;
+  private final Set<File> created;
   private final boolean clearTempFiles;
   private final boolean clearTempFilesByPrefix;
 
-  TempFileGenerator(final String prefix, final String directory, final boolean clearTempFiles,
-      final boolean clearTempFilesByPrefix) {
+  /**
+   * Creates a new instance.
+   *
+   * @param memoryDirectory a memory-backed directory to place files in first or {@code null}
+   * @param memoryBudget the maximum number of bytes to be occupied in the {@code memoryDirectory}
+   */
+  TempFileGenerator(final String prefix, final List<String> directories,
+      final Placement placement, final String memoryDirectory, final long memoryBudget,
+      final boolean clearTempFiles, final boolean clearTempFilesByPrefix) {
 
     this.prefix = prefix;
     this.suffix = "tmp";
-    this.created = new ArrayList<>();
-    this.directory = new File(directory == null ? System.getProperty("java.io.tmpdir") : directory);
-    this.directory.mkdirs();
+    this.created = new HashSet<>();
+    this.directories = new ArrayList<>();
+    if (directories == null || directories.isEmpty()) {
+      this.directories.add(new File(System.getProperty("java.io.tmpdir")));
+    } else {
+      for (String directory : directories) {
+        this.directories.add(new File(directory));
+      }
+    }
+    for (File directory : this.directories) {
+      directory.mkdirs();
+    }
+    this.placement = placement;
+    if (memoryDirectory != null && memoryBudget > 0) {
+      this.memoryDirectory = new File(memoryDirectory);
+      this.memoryDirectory.mkdirs();
+      if (!this.memoryDirectory.isDirectory() || !this.memoryDirectory.canWrite()) {
+        LOG.warn("Cannot use {} for temporary files. Falling back to disk.", memoryDirectory);
+      }
+    } else {
+      this.memoryDirectory = null;
+    }
+    this.memoryBudget = memoryBudget;
     this.clearTempFiles = clearTempFiles;
     this.clearTempFilesByPrefix = clearTempFilesByPrefix;
   }
 
   @Override
   public File getTemporaryFile() throws FileCreationException {
+    if (isMemoryDirectoryAvailable()) {
+      try {
+        return createTempFile(memoryDirectory);
+      } catch (final IOException e) {
+        LOG.debug("Could not create temporary file in {}. Falling back to disk.", memoryDirectory, e);
+      }
+    }
     try {
-      final File file = File.createTempFile(prefix, suffix, directory);
-      created.add(file);
-      return file;
+      return createTempFile(selectDirectory());
     } catch (final IOException e) {
       throw new FileCreationException("error", e);
     }
   }
 
+  private File createTempFile(File directory) throws IOException {
+    final File file = File.createTempFile(prefix, suffix, directory);
+    synchronized (created) {
+      created.add(file);
+    }
+    return file;
+  }
+
+  /**
+   * Tells whether a new file can be placed in the {@link #memoryDirectory}. Note that the budget
+   * is checked only when handing out a file, as the files grow only afterwards.
+   */
+  private boolean isMemoryDirectoryAvailable() {
+    return memoryDirectory != null && memoryDirectory.canWrite()
+        && getUsedBytes(memoryDirectory) < memoryBudget;
+  }
+
+  private File selectDirectory() {
+    if (directories.size() == 1) {
+      return directories.get(0);
+    }
+    switch (placement) {
+      case FREE_SPACE:
+        File bestDirectory = null;
+        long bestUsableSpace = -1;
+        for (File directory : directories) {
+          long usableSpace = directory.getUsableSpace();
+          if (usableSpace > bestUsableSpace) {
+            bestDirectory = directory;
+            bestUsableSpace = usableSpace;
+          }
+        }
+        return bestDirectory;
+      case ROUND_ROBIN:
+      default:
+        int index = Math.floorMod(nextDirectoryIndex.getAndIncrement(), directories.size());
+        return directories.get(index);
+    }
+  }
+
+  /**
+   * Determine how many bytes are currently occupied by the created temporary files.
+   *
+   * @return the number of bytes
+   */
+  long getUsedBytes() {
+    return getUsedBytes(null);
+  }
+
+  private long getUsedBytes(File directory) {
+    synchronized (created) {
+      long usedBytes = 0;
+      for (File file : created) {
+        if (directory == null || directory.equals(file.getParentFile())) {
+          usedBytes += file.length();
+        }
+      }
+      return usedBytes;
+    }
+  }
+
+  private List<File> getAllDirectories() {
+    if (memoryDirectory == null) {
+      return directories;
+    }
+    final List<File> allDirectories = new ArrayList<>(directories);
+    allDirectories.add(memoryDirectory);
+    return allDirectories;
+  }
+
   @Override
   public void close() {
     // nop
   }
 
   void cleanUp() {
+    logUsage();
     if (clearTempFiles || clearTempFilesByPrefix) {
-      try {
-        removeFiles();
-      } catch (final IOException e) {
-        LOG.error("cannot remove temp files", e);
+      for (File directory : getAllDirectories()) {
+        try {
+          removeFiles(directory);
+        } catch (final IOException e) {
+          LOG.error("cannot remove temp files in {}", directory, e);
+        }
+      }
+      synchronized (created) {
+        created.clear();
+      }
+    }
+  }
+
+  private void logUsage() {
+    if (!LOG.isDebugEnabled()) {
+      return;
+    }
+    synchronized (created) {
+      for (File directory : getAllDirectories()) {
+        long numFiles = 0;
+        long numBytes = 0;
+        for (File file : created) {
+          if (directory.equals(file.getParentFile())) {
+            numFiles++;
+            numBytes += file.length();
+          }
+        }
+        LOG.debug("Temp directory {}: {} files, {} bytes.", directory, numFiles, numBytes);
       }
     }
   }
 
-  private void removeFiles() throws IOException {
+  private void removeFiles(File directory) throws IOException {
     Files.walkFileTree(directory.toPath(), Collections.emptySet(), 1,
         new SimpleFileVisitor<Path>() {
           @Override
           public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
               throws IOException {
 
-            if (clearTempFiles && created.contains(file.toFile())) {
+            if (clearTempFiles && isCreated(file.toFile())) {
               Files.delete(file);
               return FileVisitResult.CONTINUE;
             }
@@ -84,7 +240,11 @@ class TempFileGenerator implements FileGenerator {
           }
 
         });
+  }
 
-    created.clear();
+  private boolean isCreated(File file) {
+    synchronized (created) {
+      return created.contains(file);
+    }
   }
 }
@@ -0,0 +1,35 @@
+package de.metanome.cli;
+
+import com.beust.jcommander.ParameterException;
+import com.beust.jcommander.converters.BaseConverter;
+
+/**
+ * Converts placements such as {@code round-robin} or {@code free-space} into
+ * {@link TempFileGenerator.Placement}s.
+ */
+public class TempFilePlacementConverter extends BaseConverter<TempFileGenerator.Placement> {
+
+  public TempFilePlacementConverter(String optionName) {
+    super(optionName);
+  }
+
+  @Override
+  public TempFileGenerator.Placement convert(String value) {
+    try {
+      return parse(value);
+    } catch (IllegalArgumentException e) {
+      throw new ParameterException(getErrorString(value, "a placement (round-robin/free-space)"));
+    }
+  }
+
+  /**
+   * Parse a placement, case insensitive and with {@code -} or {@code _} as separator.
+   *
+   * @param value the placement specification
+   * @return the placement
+   * @throws IllegalArgumentException if there is no such placement
+   */
+  static TempFileGenerator.Placement parse(String value) {
+    return TempFileGenerator.Placement.valueOf(value.trim().toUpperCase().replace('-', '_'));
+  }
+}
@@ -0,0 +1,21 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+
+/**
+ * A {@link ColumnBatchInputParameterAlgorithm} that compares values via their ids in a
+ * {@link GlobalValueDictionary}. The {@link ColumnBatch}es of its inputs are encoded with the
+ * dictionary, which is shared by all inputs of a run and released after the run.
+ */
+public interface ValueDictionaryParameterAlgorithm extends ColumnBatchInputParameterAlgorithm {
+
+    /**
+     * Sets the {@link GlobalValueDictionary} that encodes the inputs, e.g., to decode ids of results.
+     *
+     * @param dictionary the {@link GlobalValueDictionary}
+     * @throws AlgorithmConfigurationException if the algorithm cannot be correctly configured using the received
+     *                                         configuration values
+     */
+    void setValueDictionary(GlobalValueDictionary dictionary) throws AlgorithmConfigurationException;
+
+}
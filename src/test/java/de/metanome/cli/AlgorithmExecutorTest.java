@@ -0,0 +1,130 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.metanome.algorithm_integration.Algorithm;
+import de.metanome.algorithm_integration.AlgorithmExecutionException;
+import de.metanome.algorithm_integration.configuration.ConfigurationRequirement;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class AlgorithmExecutorTest {
+
+  @Test
+  public void exitCodes() {
+    assertThat(AlgorithmExecutor.Outcome.SUCCESS.getExitCode()).isEqualTo(0);
+    assertThat(AlgorithmExecutor.Outcome.FAILURE.getExitCode()).isEqualTo(23);
+    assertThat(AlgorithmExecutor.Outcome.TIMEOUT.getExitCode()).isEqualTo(24);
+    assertThat(AlgorithmExecutor.Outcome.MEMORY_EXCEEDED.getExitCode()).isEqualTo(25);
+  }
+
+  @Test
+  public void succeedsWithoutLimits() {
+    AlgorithmExecutor executor = new AlgorithmExecutor(0L, 0d);
+
+    assertThat(executor.execute(new StubAlgorithm(() -> { }))).isEqualTo(AlgorithmExecutor.Outcome.SUCCESS);
+    assertThat(executor.isAbandoned()).isFalse();
+  }
+
+  @Test
+  public void succeedsWithinLimits() {
+    AlgorithmExecutor executor = new AlgorithmExecutor(10_000L, 0.99);
+
+    assertThat(executor.execute(new StubAlgorithm(() -> Thread.sleep(10L))))
+        .isEqualTo(AlgorithmExecutor.Outcome.SUCCESS);
+  }
+
+  @Test
+  public void reportsCrashes() {
+    StubAlgorithm crashingAlgorithm = new StubAlgorithm(() -> {
+      throw new AlgorithmExecutionException("Crash.");
+    });
+
+    assertThat(new AlgorithmExecutor(0L, 0d).execute(crashingAlgorithm))
+        .isEqualTo(AlgorithmExecutor.Outcome.FAILURE);
+    assertThat(new AlgorithmExecutor(10_000L, 0d).execute(crashingAlgorithm))
+        .isEqualTo(AlgorithmExecutor.Outcome.FAILURE);
+  }
+
+  @Test(timeout = 10_000)
+  public void interruptsOnTimeout() {
+    AlgorithmExecutor executor = new AlgorithmExecutor(100L, 0d);
+
+    assertThat(executor.execute(new StubAlgorithm(() -> Thread.sleep(60_000L))))
+        .isEqualTo(AlgorithmExecutor.Outcome.TIMEOUT);
+    assertThat(executor.isAbandoned()).isFalse();
+  }
+
+  @Test(timeout = 30_000)
+  public void interruptsOnExceededHeapUsage() {
+    AlgorithmExecutor executor = new AlgorithmExecutor(0L, 0.001);
+
+    AlgorithmExecutor.Outcome outcome = executor.execute(new StubAlgorithm(() -> {
+      List<byte[]> retained = new ArrayList<>();
+      while (true) {
+        retained.add(new byte[1 << 20]);
+        System.gc();
+        Thread.sleep(100L);
+      }
+    }));
+
+    assertThat(outcome).isEqualTo(AlgorithmExecutor.Outcome.MEMORY_EXCEEDED);
+    assertThat(executor.isAbandoned()).isFalse();
+  }
+
+  @Test(timeout = 10_000)
+  public void abandonsUninterruptibleAlgorithm() {
+    AlgorithmExecutor executor = new AlgorithmExecutor(100L, 0d, 100L);
+    StubAlgorithm uninterruptibleAlgorithm = new StubAlgorithm(() -> {
+      long endMillis = System.currentTimeMillis() + 3_000L;
+      while (System.currentTimeMillis() < endMillis) {
+        Thread.interrupted();
+      }
+    });
+
+    assertThat(executor.execute(uninterruptibleAlgorithm))
+        .isEqualTo(AlgorithmExecutor.Outcome.TIMEOUT);
+    assertThat(executor.isAbandoned()).isTrue();
+  }
+
+  private interface Body {
+
+    void run() throws Exception;
+  }
+
+  private static class StubAlgorithm implements Algorithm {
+
+    private final Body body;
+
+    StubAlgorithm(Body body) {
+      this.body = body;
+    }
+
+    @Override
+    public ArrayList<ConfigurationRequirement<?>> getConfigurationRequirements() {
+      return new ArrayList<>();
+    }
+
+    @Override
+    public void execute() throws AlgorithmExecutionException {
+      try {
+        body.run();
+      } catch (AlgorithmExecutionException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new AlgorithmExecutionException("Interrupted.", e);
+      }
+    }
+
+    @Override
+    public String getAuthors() {
+      return "Metanome CLI";
+    }
+
+    @Override
+    public String getDescription() {
+      return "Test stub.";
+    }
+  }
+}
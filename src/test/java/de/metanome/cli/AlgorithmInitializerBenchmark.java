@@ -0,0 +1,117 @@
+package de.metanome.cli;
+
+import static java.util.Arrays.asList;
+
+import de.metanome.algorithm_integration.Algorithm;
+import de.metanome.algorithm_integration.AlgorithmExecutionException;
+import de.metanome.algorithm_integration.algorithm_types.BooleanParameterAlgorithm;
+import de.metanome.algorithm_integration.algorithm_types.IntegerParameterAlgorithm;
+import de.metanome.algorithm_integration.configuration.ConfigurationRequirement;
+import de.metanome.algorithm_integration.configuration.ConfigurationRequirementBoolean;
+import de.metanome.algorithm_integration.configuration.ConfigurationRequirementInteger;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * Compares configuring an algorithm via {@link AlgorithmInitializer} without its caches (as done
+ * before the caches were introduced) and with them, using the same algorithm and settings.
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=de.metanome.cli.AlgorithmInitializerBenchmark}.</p>
+ */
+public class AlgorithmInitializerBenchmark {
+
+  private static final int NUM_WARMUP_ITERATIONS = 20_000;
+
+  private static final int NUM_ITERATIONS = 100_000;
+
+  private static long blackhole;
+
+  public static void main(String[] args) throws Exception {
+    // Default values are logged per run, which would dominate the measurement.
+    System.setProperty("tinylog.level", "warning");
+    final List<Pair<String, String>> config = asList(Pair.of("b0", "true"), Pair.of("i0", "7"));
+
+    measure("uncached configuration", () -> configure(config, false));
+    measure("cached configuration", () -> configure(config, true));
+
+    System.out.println("(blackhole: " + blackhole + ")");
+  }
+
+  private static void configure(List<Pair<String, String>> config, boolean useCaches)
+      throws Exception {
+    BenchmarkAlgorithm algorithm = new BenchmarkAlgorithm();
+    AlgorithmInitializer.forAlgorithm(algorithm, config, useCaches).apply();
+    blackhole += algorithm.numValues;
+  }
+
+  private static void measure(String name, Task task) throws Exception {
+    for (int i = 0; i < NUM_WARMUP_ITERATIONS; i++) {
+      task.run();
+    }
+    long startNanos = System.nanoTime();
+    for (int i = 0; i < NUM_ITERATIONS; i++) {
+      task.run();
+    }
+    long elapsedNanos = System.nanoTime() - startNanos;
+    System.out.printf("%-30s %,10d ns/run%n", name, elapsedNanos / NUM_ITERATIONS);
+  }
+
+  @FunctionalInterface
+  private interface Task {
+
+    void run() throws Exception;
+  }
+
+  /**
+   * Declares a few requirements with default values, so that settings have to be created.
+   */
+  public static class BenchmarkAlgorithm implements Algorithm, BooleanParameterAlgorithm,
+      IntegerParameterAlgorithm {
+
+    private static final int NUM_REQUIREMENTS = 5;
+
+    private int numValues = 0;
+
+    @Override
+    public ArrayList<ConfigurationRequirement<?>> getConfigurationRequirements() {
+      ArrayList<ConfigurationRequirement<?>> requirements = new ArrayList<>();
+      for (int i = 0; i < NUM_REQUIREMENTS; i++) {
+        ConfigurationRequirementBoolean booleanRequirement =
+            new ConfigurationRequirementBoolean("b" + i);
+        booleanRequirement.setDefaultValues(new Boolean[]{true});
+        requirements.add(booleanRequirement);
+        ConfigurationRequirementInteger integerRequirement =
+            new ConfigurationRequirementInteger("i" + i);
+        integerRequirement.setDefaultValues(new Integer[]{i});
+        requirements.add(integerRequirement);
+      }
+      return requirements;
+    }
+
+    @Override
+    public void setBooleanConfigurationValue(String identifier, Boolean... values) {
+      numValues += values.length;
+    }
+
+    @Override
+    public void setIntegerConfigurationValue(String identifier, Integer... values) {
+      numValues += values.length;
+    }
+
+    @Override
+    public void execute() throws AlgorithmExecutionException {
+    }
+
+    @Override
+    public String getAuthors() {
+      return null;
+    }
+
+    @Override
+    public String getDescription() {
+      return null;
+    }
+  }
+}
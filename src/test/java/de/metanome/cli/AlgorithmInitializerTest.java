@@ -118,6 +118,17 @@ public class AlgorithmInitializerTest {
     assertThat(algorithm.recordedValues).containsExactly(new Boolean[]{true, false, true});
   }
 
+  @Test
+  public void configuresAlikeWithoutCaches() throws Exception {
+    algorithm.requirements.add(defaultValueRequirement());
+    algorithm.requirements.add(integerRequirement());
+
+    AlgorithmInitializer.forAlgorithm(algorithm, asList(Pair.of(KEY2, "42")), false).apply();
+
+    assertThat(algorithm.getRecorded()).containsEntry(KEY1, new Boolean[]{true, false, true})
+        .containsEntry(KEY2, new Integer[]{42});
+  }
+
   private ConfigurationRequirement<?> booleanRequirement() {
     return new ConfigurationRequirementBoolean(KEY1, 0, 2);
   }
@@ -0,0 +1,159 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hpi.isg.profiledb.store.model.Experiment;
+import de.hpi.isg.profiledb.store.model.Measurement;
+import de.hpi.isg.profiledb.store.model.TimeMeasurement;
+import de.metanome.algorithm_integration.AlgorithmExecutionException;
+import de.metanome.algorithm_integration.algorithm_types.FunctionalDependencyAlgorithm;
+import de.metanome.algorithm_integration.algorithm_types.RelationalInputParameterAlgorithm;
+import de.metanome.algorithm_integration.algorithm_execution.FileGenerator;
+import de.metanome.algorithm_integration.configuration.ConfigurationRequirement;
+import de.metanome.algorithm_integration.input.RelationalInputGenerator;
+import de.metanome.algorithm_integration.result_receiver.FunctionalDependencyResultReceiver;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AppTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void measuresRegularRunWhenDiscardingResults() throws Exception {
+    File profileDb = new File(temporaryFolder.getRoot(), "experiments.json");
+    App.Parameters parameters = new App.Parameters();
+    parameters.algorithmClassName = SlowingAlgorithm.class.getName();
+    parameters.inputDatasetKey = "inputs";
+    parameters.inputDatasets = Collections.singletonList("a.csv");
+    parameters.numWarmupIterations = 1;
+    parameters.numRepetitions = 2;
+    parameters.isDiscardingResults = true;
+    parameters.profileDbKey = "test";
+    parameters.profileDbLocation = profileDb.getPath();
+    SlowingAlgorithm.numExecutions.set(0);
+
+    assertThat(App.run(parameters)).isEqualTo(0);
+
+    assertThat(SlowingAlgorithm.numExecutions).hasValue(3);
+    Map<String, TimeMeasurement> measurements = new HashMap<>();
+    for (Experiment experiment : App.createProfileDB().load(profileDb)) {
+      for (Measurement measurement : experiment.getMeasurements()) {
+        if (measurement instanceof TimeMeasurement) {
+          measurements.put(measurement.getId(), (TimeMeasurement) measurement);
+        }
+      }
+    }
+    assertThat(measurements.get("execution-millis-iterations").getRounds()).hasSize(2);
+    assertThat(measurements.get("execution-millis").getMillis())
+        .isEqualTo(measurements.get("execution-millis-median").getMillis());
+  }
+
+  @Test
+  public void providesParallelismOfSharedPool() throws Exception {
+    App.Parameters parameters = new App.Parameters();
+    parameters.threads = 2;
+    ResourceAlgorithm first = new ResourceAlgorithm();
+    App.setUpResources(parameters, first, null);
+    parameters.threads = 3;
+    ResourceAlgorithm second = new ResourceAlgorithm();
+    App.setUpResources(parameters, second, null);
+
+    assertThat(second.executorService).isSameAs(first.executorService);
+    assertThat(first.parallelism)
+        .isEqualTo(((ForkJoinPool) first.executorService).getParallelism());
+    assertThat(second.parallelism).isEqualTo(first.parallelism);
+  }
+
+  private static class ResourceAlgorithm implements ResourceParameterAlgorithm {
+
+    private ExecutorService executorService;
+
+    private int parallelism;
+
+    @Override
+    public void setExecutorService(ExecutorService executorService, int parallelism) {
+      this.executorService = executorService;
+      this.parallelism = parallelism;
+    }
+
+    @Override
+    public void setMemoryBudget(long memoryBudget) {
+    }
+
+    @Override
+    public void setTempFileGenerator(FileGenerator tempFileGenerator) {
+    }
+
+    @Override
+    public ArrayList<ConfigurationRequirement<?>> getConfigurationRequirements() {
+      return new ArrayList<>();
+    }
+
+    @Override
+    public void execute() throws AlgorithmExecutionException {
+    }
+
+    @Override
+    public String getAuthors() {
+      return null;
+    }
+
+    @Override
+    public String getDescription() {
+      return null;
+    }
+  }
+
+  /**
+   * Takes longer with every execution, so that the iterations of a measurement are distinguishable.
+   */
+  public static class SlowingAlgorithm implements RelationalInputParameterAlgorithm,
+      FunctionalDependencyAlgorithm {
+
+    private static final AtomicInteger numExecutions = new AtomicInteger();
+
+    @Override
+    public ArrayList<ConfigurationRequirement<?>> getConfigurationRequirements() {
+      return new ArrayList<>();
+    }
+
+    @Override
+    public void setRelationalInputConfigurationValue(String identifier,
+        RelationalInputGenerator... values) {
+    }
+
+    @Override
+    public void setResultReceiver(FunctionalDependencyResultReceiver resultReceiver) {
+    }
+
+    @Override
+    public void execute() throws AlgorithmExecutionException {
+      try {
+        Thread.sleep(20L * numExecutions.incrementAndGet());
+      } catch (InterruptedException e) {
+        throw new AlgorithmExecutionException("Interrupted.", e);
+      }
+    }
+
+    @Override
+    public String getAuthors() {
+      return null;
+    }
+
+    @Override
+    public String getDescription() {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package de.metanome.cli;
+
+import static de.metanome.cli.ResultCheckpointTest.fd;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.metanome.algorithm_integration.results.FunctionalDependency;
+import java.io.FileNotFoundException;
+import java.io.Flushable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class BatchingMetacrateResultReceiverTest {
+
+  @Test
+  public void writesFullBatchesUnderStoreLock() throws Exception {
+    MetacrateStoreCache.Handle handle = openHandle();
+    LockCheckingSink sink = new LockCheckingSink(handle);
+    BatchingMetacrateResultReceiver receiver = new BatchingMetacrateResultReceiver(handle, sink, 0L);
+
+    for (int i = 0; i < BatchingMetacrateResultReceiver.BATCH_SIZE - 1; i++) {
+      receiver.receiveResult(fd("a", "b" + i));
+    }
+    assertThat(sink.results).isEmpty();
+
+    receiver.receiveResult(fd("a", "c"));
+    assertThat(sink.results).hasSize(BatchingMetacrateResultReceiver.BATCH_SIZE);
+    assertThat(sink.results.get(0)).isEqualTo(fd("a", "b0"));
+    assertThat(sink.numUnlockedWrites.get()).isZero();
+  }
+
+  @Test
+  public void writesRemainingResultsOnClose() throws Exception {
+    MetacrateStoreCache.Handle handle = openHandle();
+    LockCheckingSink sink = new LockCheckingSink(handle);
+    BatchingMetacrateResultReceiver receiver = new BatchingMetacrateResultReceiver(handle, sink, 0L);
+
+    receiver.receiveResult(fd("a", "b"));
+    receiver.flushStore();
+    receiver.receiveResult(fd("b", "c"));
+    receiver.close();
+
+    assertThat(sink.results).containsExactly(fd("a", "b"), fd("b", "c"));
+    assertThat(sink.isClosed).isTrue();
+    assertThat(sink.numUnlockedWrites.get()).isZero();
+  }
+
+  @Test
+  public void isNotFlushedByAsynchronousSinks() throws Exception {
+    MetacrateStoreCache.Handle handle = openHandle();
+    BatchingMetacrateResultReceiver receiver =
+        new BatchingMetacrateResultReceiver(handle, new LockCheckingSink(handle), 7L);
+
+    assertThat(receiver).isNotInstanceOf(Flushable.class);
+    assertThat(receiver.getLoadMillis()).isEqualTo(7L);
+    assertThat(receiver.getMetadataStore()).isSameAs(handle.getMetadataStore());
+  }
+
+  private static MetacrateStoreCache.Handle openHandle() {
+    return MetacrateStoreCache.open(UUID.randomUUID().toString(),
+        key -> MetacrateStoreCacheTest.createMetadataStore(new AtomicInteger()));
+  }
+
+  /**
+   * Collects functional dependencies and counts writes that do not hold the lock of the store.
+   */
+  private static class LockCheckingSink extends DiscardingResultReceiver {
+
+    private final MetacrateStoreCache.Handle handle;
+
+    private final List<FunctionalDependency> results = new ArrayList<>();
+
+    private final AtomicInteger numUnlockedWrites = new AtomicInteger();
+
+    private boolean isClosed = false;
+
+    LockCheckingSink(MetacrateStoreCache.Handle handle) throws FileNotFoundException {
+      this.handle = handle;
+    }
+
+    @Override
+    public void receiveResult(FunctionalDependency functionalDependency) {
+      if (!Thread.holdsLock(handle)) {
+        numUnlockedWrites.incrementAndGet();
+      }
+      results.add(functionalDependency);
+    }
+
+    @Override
+    public void close() {
+      isClosed = true;
+    }
+  }
+}
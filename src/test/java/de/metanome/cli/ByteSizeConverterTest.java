@@ -0,0 +1,32 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+public class ByteSizeConverterTest {
+
+  @Test
+  public void plainNumber() {
+    assertThat(ByteSizeConverter.parse("4096")).isEqualTo(4096L);
+  }
+
+  @Test
+  public void unitSuffixes() {
+    assertThat(ByteSizeConverter.parse("512k")).isEqualTo(512L * 1024);
+    assertThat(ByteSizeConverter.parse("512M")).isEqualTo(512L * 1024 * 1024);
+    assertThat(ByteSizeConverter.parse("4g")).isEqualTo(4L * 1024 * 1024 * 1024);
+    assertThat(ByteSizeConverter.parse("4GB")).isEqualTo(4L * 1024 * 1024 * 1024);
+  }
+
+  @Test
+  public void shouldThrowOnIllegalSize() {
+    assertThatThrownBy(() -> ByteSizeConverter.parse("four gigs"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> ByteSizeConverter.parse("-1m"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> ByteSizeConverter.parse("99999999999t"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
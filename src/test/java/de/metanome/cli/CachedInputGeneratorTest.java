@@ -0,0 +1,42 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.metanome.algorithm_integration.input.RelationalInput;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class CachedInputGeneratorTest {
+
+  @Test
+  public void loadsInputOnceForAllCopies() throws Exception {
+    InMemoryInputGenerator delegate = new InMemoryInputGenerator(Arrays.asList("a", "b"),
+        Arrays.asList(Arrays.asList("1", "x"), Arrays.asList("2", "y")));
+    CachedInputGenerator generator = new CachedInputGenerator(delegate);
+
+    RelationalInput first = generator.generateNewCopy();
+    RelationalInput second = generator.generateNewCopy();
+
+    assertThat(delegate.numCopies.get()).isEqualTo(1);
+    assertThat(delegate.numClosedCopies.get()).isEqualTo(1);
+    assertThat(first.relationName()).isEqualTo("relation");
+    assertThat(first.columnNames()).containsExactly("a", "b");
+    assertThat(first.next()).containsExactly("1", "x");
+    assertThat(second.next()).containsExactly("1", "x");
+    assertThat(first.next()).containsExactly("2", "y");
+    assertThat(first.hasNext()).isFalse();
+    assertThat(second.hasNext()).isTrue();
+  }
+
+  @Test
+  public void isolatesRowsOfCopies() throws Exception {
+    CachedInputGenerator generator = new CachedInputGenerator(
+        new InMemoryInputGenerator(Arrays.asList("a"), Arrays.asList(Arrays.asList("1"))));
+
+    List<String> row = generator.generateNewCopy().next();
+    row.set(0, "modified");
+
+    assertThat(generator.generateNewCopy().next()).containsExactly("1");
+  }
+}
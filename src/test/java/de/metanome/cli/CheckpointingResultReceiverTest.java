@@ -0,0 +1,78 @@
+package de.metanome.cli;
+
+import static de.metanome.cli.ResultCheckpointTest.fd;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.metanome.algorithm_integration.results.FunctionalDependency;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CheckpointingResultReceiverTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void forwardsAndRecordsResults() throws Exception {
+    File baseDirectory = temporaryFolder.getRoot();
+    CollectingSink sink = new CollectingSink();
+    CheckpointingResultReceiver receiver = new CheckpointingResultReceiver(
+        sink, new ResultCheckpoint(baseDirectory, "run", 0L));
+
+    receiver.receiveResult(fd("a", "b"));
+    receiver.close();
+
+    assertThat(sink.results).containsExactly(fd("a", "b"));
+    assertThat(new ResultCheckpoint(baseDirectory, "run", 0L).load())
+        .containsExactly(fd("a", "b"));
+  }
+
+  @Test
+  public void doesNotRecordReplayedResults() throws Exception {
+    File baseDirectory = temporaryFolder.getRoot();
+    CollectingSink sink = new CollectingSink();
+    CheckpointingResultReceiver receiver = new CheckpointingResultReceiver(
+        sink, new ResultCheckpoint(baseDirectory, "run", 0L));
+
+    receiver.setReplaying(true);
+    receiver.receiveResult(fd("a", "b"));
+    receiver.setReplaying(false);
+    receiver.receiveResult(fd("b", "c"));
+    receiver.close();
+
+    assertThat(sink.results).containsExactly(fd("a", "b"), fd("b", "c"));
+    assertThat(new ResultCheckpoint(baseDirectory, "run", 0L).load())
+        .containsExactly(fd("b", "c"));
+  }
+
+  @Test
+  public void isFoundInDecoratorChain() throws Exception {
+    CheckpointingResultReceiver checkpointingReceiver = new CheckpointingResultReceiver(
+        new CollectingSink(), new ResultCheckpoint(temporaryFolder.getRoot(), "run", 0L));
+    DeduplicatingResultReceiver receiver = new DeduplicatingResultReceiver(checkpointingReceiver, false);
+
+    assertThat(ForwardingResultReceiver.find(receiver, CheckpointingResultReceiver.class))
+        .isSameAs(checkpointingReceiver);
+    assertThat(ForwardingResultReceiver.find(new CollectingSink(),
+        CheckpointingResultReceiver.class)).isNull();
+    checkpointingReceiver.close();
+  }
+
+  private static class CollectingSink extends DiscardingResultReceiver {
+
+    private final List<FunctionalDependency> results = new ArrayList<>();
+
+    CollectingSink() throws FileNotFoundException {
+    }
+
+    @Override
+    public void receiveResult(FunctionalDependency functionalDependency) {
+      results.add(functionalDependency);
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class ColumnBatchTest {
+
+  @Test
+  public void storesValuesAsUtf8Slices() {
+    ColumnBatch batch = new ColumnBatch(2, 4);
+    batch.addRow(Arrays.asList("a", null));
+    batch.addRow(Arrays.asList("Gr\u00fc\u00dfe \ud83d\ude00", "\u20ac"));
+    String longValue = new String(new char[100]).replace('\0', 'x');
+    batch.addRow(Arrays.asList(longValue, ""));
+
+    assertThat(batch.getSize()).isEqualTo(3);
+    assertThat(batch.getRow(0)).containsExactly("a", null);
+    assertThat(batch.isNull(1, 0)).isTrue();
+    assertThat(batch.getRow(1)).containsExactly("Gr\u00fc\u00dfe \ud83d\ude00", "\u20ac");
+    assertThat(batch.getLength(0, 1))
+        .isEqualTo("Gr\u00fc\u00dfe \ud83d\ude00".getBytes(StandardCharsets.UTF_8).length);
+    assertThat(batch.getRow(2)).containsExactly(longValue, "");
+    assertThat(batch.isNull(1, 2)).isFalse();
+  }
+
+  @Test
+  public void reusesBuffersAfterClearing() {
+    ColumnBatch batch = new ColumnBatch(1, 2);
+    batch.addRow(Arrays.asList("first"));
+    batch.addRow(Arrays.asList("second"));
+    assertThat(batch.isFull()).isTrue();
+    byte[] buffer = batch.getData(0);
+
+    batch.clear();
+    batch.addRow(Arrays.asList("third"));
+
+    assertThat(batch.getSize()).isEqualTo(1);
+    assertThat(batch.getString(0, 0)).isEqualTo("third");
+    assertThat(batch.getData(0)).isSameAs(buffer);
+  }
+}
@@ -0,0 +1,41 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ColumnSetTrieTest {
+
+  private ColumnSetTrie trie;
+
+  @Before
+  public void setUp() {
+    trie = new ColumnSetTrie();
+    trie.add(new int[]{1, 3});
+    trie.add(new int[]{2, 4, 5});
+  }
+
+  @Test
+  public void shouldFindEqualSet() {
+    assertThat(trie.containsSubsetOf(new int[]{1, 3})).isTrue();
+  }
+
+  @Test
+  public void shouldFindProperSubset() {
+    assertThat(trie.containsSubsetOf(new int[]{0, 1, 2, 3})).isTrue();
+    assertThat(trie.containsSubsetOf(new int[]{2, 3, 4, 5, 6})).isTrue();
+  }
+
+  @Test
+  public void shouldNotFindSuperset() {
+    assertThat(trie.containsSubsetOf(new int[]{1})).isFalse();
+    assertThat(trie.containsSubsetOf(new int[]{2, 4, 6})).isFalse();
+  }
+
+  @Test
+  public void emptySetIsSubsetOfEverything() {
+    trie.add(new int[0]);
+    assertThat(trie.containsSubsetOf(new int[]{7})).isTrue();
+  }
+}
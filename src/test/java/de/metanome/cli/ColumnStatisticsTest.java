@@ -0,0 +1,39 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class ColumnStatisticsTest {
+
+  @Test
+  public void tracksValueRangeAcrossSerialization() throws IOException, ClassNotFoundException {
+    ColumnStatistics statistics = new ColumnStatistics("r", Arrays.asList("a", "b"));
+    statistics.update(Arrays.asList("m", null), 0L);
+    statistics.update(Arrays.asList("c", null), 0L);
+    statistics.update(Arrays.asList("x", null), 0L);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(statistics);
+    }
+    ColumnStatistics readStatistics;
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      readStatistics = (ColumnStatistics) in.readObject();
+    }
+
+    assertThat(readStatistics.getNumRows()).isEqualTo(3L);
+    assertThat(readStatistics.getMinValue(0)).isEqualTo("c");
+    assertThat(readStatistics.getMaxValue(0)).isEqualTo("x");
+    assertThat(readStatistics.getNumDistinctValues(0)).isEqualTo(3L);
+    assertThat(readStatistics.getMinValue(1)).isNull();
+    assertThat(readStatistics.getNumNulls(1)).isEqualTo(3L);
+  }
+}
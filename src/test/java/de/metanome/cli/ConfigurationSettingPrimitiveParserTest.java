@@ -0,0 +1,64 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.metanome.algorithm_integration.AlgorithmConfigurationException;
+import de.metanome.algorithm_integration.configuration.ConfigurationRequirementBoolean;
+import de.metanome.algorithm_integration.configuration.ConfigurationRequirementCheckBox;
+import de.metanome.algorithm_integration.configuration.ConfigurationRequirementInteger;
+import de.metanome.algorithm_integration.configuration.ConfigurationRequirementListBox;
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class ConfigurationSettingPrimitiveParserTest {
+
+  private final ConfigurationSettingPrimitiveParser parser =
+      new ConfigurationSettingPrimitiveParser();
+
+  @Test
+  public void parsesBooleansStrictly() throws Exception {
+    final ConfigurationRequirementBoolean requirement = new ConfigurationRequirementBoolean("b");
+
+    assertThat(parser.parse(requirement, "TRUE").getValue()).isEqualTo(true);
+    assertThat(parser.parse(requirement, "no").getValue()).isEqualTo(false);
+    assertThatThrownBy(() -> parser.parse(requirement, "ture"))
+        .isExactlyInstanceOf(AlgorithmConfigurationException.class)
+        .hasMessageContaining("ture");
+  }
+
+  @Test
+  public void parsesIntegersWithSizeSuffixes() throws Exception {
+    final ConfigurationRequirementInteger requirement = new ConfigurationRequirementInteger("i");
+
+    assertThat(parser.parse(requirement, "-1").getValue()).isEqualTo(-1);
+    assertThat(parser.parse(requirement, "512m").getValue()).isEqualTo(512 * 1024 * 1024);
+    assertThatThrownBy(() -> parser.parse(requirement, "4g"))
+        .isExactlyInstanceOf(AlgorithmConfigurationException.class)
+        .hasMessageContaining("integer range");
+    assertThatThrownBy(() -> parser.parse(requirement, "many"))
+        .isExactlyInstanceOf(AlgorithmConfigurationException.class);
+  }
+
+  @Test
+  public void parsesMultipleCheckBoxSelections() throws Exception {
+    final ConfigurationRequirementCheckBox requirement =
+        new ConfigurationRequirementCheckBox("c", new String[]{"a", "b", "c"}, 1);
+
+    assertThat((String[]) parser.parse(requirement, "a, c").getValue()).containsExactly("a", "c");
+    assertThatThrownBy(() -> parser.parse(requirement, "a,d"))
+        .isExactlyInstanceOf(AlgorithmConfigurationException.class)
+        .hasMessageContaining("expected one of a, b, c");
+  }
+
+  @Test
+  public void checksListBoxOptions() throws Exception {
+    final ConfigurationRequirementListBox requirement = new ConfigurationRequirementListBox(
+        "l", new ArrayList<>(Arrays.asList("x", "y")), 1);
+
+    assertThat(parser.parse(requirement, "y").getValue()).isEqualTo("y");
+    assertThatThrownBy(() -> parser.parse(requirement, "z"))
+        .isExactlyInstanceOf(AlgorithmConfigurationException.class);
+  }
+}
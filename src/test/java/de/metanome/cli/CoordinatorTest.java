@@ -0,0 +1,156 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hpi.isg.profiledb.store.model.Experiment;
+import de.metanome.algorithm_integration.results.FunctionalDependency;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CoordinatorTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void removesOptionsWithTheirValues() {
+    Map<String, Integer> options = new HashMap<>();
+    options.put("--workers", 1);
+    options.put("--discard-results", 0);
+    options.put("--inputs", Coordinator.VARIABLE_ARITY);
+
+    List<String> arguments = Coordinator.removeOptions(Arrays.asList(
+        "--algorithm", "Hyfd", "--workers", "4", "--inputs", "a.csv", "b.csv",
+        "--discard-results", "--algorithm-config", "maxLhs:-1", "--header"
+    ), options);
+
+    assertThat(arguments).containsExactly(
+        "--algorithm", "Hyfd", "--algorithm-config", "maxLhs:-1", "--header");
+  }
+
+  @Test
+  public void balancesPartitionsByWeight() {
+    Map<String, Long> weights = new HashMap<>();
+    weights.put("a", 10L);
+    weights.put("b", 7L);
+    weights.put("c", 5L);
+    weights.put("d", 3L);
+    weights.put("e", 2L);
+
+    List<List<String>> partitions =
+        Coordinator.partition(Arrays.asList("a", "b", "c", "d", "e"), 2, weights::get);
+
+    assertThat(partitions).hasSize(2);
+    assertThat(partitions.get(0)).containsExactly("a", "d");
+    assertThat(partitions.get(1)).containsExactly("b", "c", "e");
+  }
+
+  @Test
+  public void createsNoEmptyPartitions() {
+    List<List<String>> partitions = Coordinator.partition(Arrays.asList("a", "b"), 4, input -> 0L);
+
+    assertThat(partitions).hasSize(2);
+    assertThat(partitions.get(0)).containsExactly("a");
+    assertThat(partitions.get(1)).containsExactly("b");
+  }
+
+  @Test(timeout = 120_000)
+  public void restartsFailedWorkersWithoutDuplicateResults() throws Exception {
+    File spoolDirectory = temporaryFolder.newFolder("spool");
+    Coordinator coordinator = createCoordinator(spoolDirectory, 1);
+    CollectingSink sink = new CollectingSink();
+
+    int exitCode = coordinator.run(Arrays.asList(
+        new Coordinator.Task("w0", Arrays.asList("--inputs", "a.csv", "b.csv")),
+        new Coordinator.Task("w1", Arrays.asList("--inputs", "c.csv"))
+    ), sink);
+
+    // One of the tasks fails once after reporting its results.
+    assertThat(exitCode).isEqualTo(0);
+    assertThat(sink.results).hasSize(3);
+    assertThat(spoolDirectory.list()).isEmpty();
+  }
+
+  @Test(timeout = 120_000)
+  public void cleansUpFailedAttempts() throws Exception {
+    File spoolDirectory = temporaryFolder.newFolder("spool");
+    Coordinator coordinator = createCoordinator(spoolDirectory, 0);
+    CollectingSink sink = new CollectingSink();
+
+    int exitCode = coordinator.run(Collections.singletonList(
+        new Coordinator.Task("w0", Arrays.asList("--inputs", "a.csv"))
+    ), sink);
+
+    assertThat(exitCode).isEqualTo(AlgorithmExecutor.Outcome.FAILURE.getExitCode());
+    assertThat(sink.results).isEmpty();
+    assertThat(spoolDirectory.list()).isEmpty();
+  }
+
+  @Test(timeout = 120_000)
+  public void collectsExperimentsWithFlightRecordings() throws Exception {
+    File spoolDirectory = temporaryFolder.newFolder("spool");
+    File marker = temporaryFolder.newFile("marker");
+    Coordinator coordinator = new Coordinator(
+        Arrays.asList("--algorithm", RecordingAlgorithm.class.getName(), "--input-key", "inputs",
+            "--profiledb-key", "test"),
+        Collections.emptyList(),
+        Collections.singletonList("-D" + FlakyAlgorithm.MARKER_PROPERTY + "=" + marker),
+        1, 0, null, spoolDirectory, true
+    );
+
+    int exitCode = coordinator.run(Collections.singletonList(
+        new Coordinator.Task("w0", Arrays.asList("--inputs", "a.csv"))
+    ), new CollectingSink());
+
+    assertThat(exitCode).isEqualTo(0);
+    assertThat(coordinator.getExperiments()).hasSize(1);
+    Experiment experiment = coordinator.getExperiments().iterator().next();
+    assertThat(experiment.getMeasurements())
+        .anySatisfy(measurement -> assertThat(measurement)
+            .isInstanceOf(FlightRecordingMeasurement.class));
+  }
+
+  private Coordinator createCoordinator(File spoolDirectory, int maxRetries) {
+    File marker = new File(temporaryFolder.getRoot(), "marker");
+    return new Coordinator(
+        Arrays.asList("--algorithm", FlakyAlgorithm.class.getName(), "--input-key", "inputs"),
+        Collections.emptyList(),
+        Collections.singletonList("-D" + FlakyAlgorithm.MARKER_PROPERTY + "=" + marker),
+        2, maxRetries, null, spoolDirectory, false
+    );
+  }
+
+  private static class CollectingSink extends DiscardingResultReceiver {
+
+    private final List<FunctionalDependency> results = new ArrayList<>();
+
+    CollectingSink() throws FileNotFoundException {
+    }
+
+    @Override
+    public void receiveResult(FunctionalDependency functionalDependency) {
+      results.add(functionalDependency);
+    }
+  }
+
+  /**
+   * Stores a {@link FlightRecordingMeasurement} like a worker run with {@code --jfr}.
+   */
+  public static class RecordingAlgorithm extends FlakyAlgorithm
+      implements ExperimentParameterAlgorithm {
+
+    @Override
+    public void setProfileDBExperiment(Experiment experiment) {
+      experiment.addMeasurement(new FlightRecordingMeasurement("flight-recording", "test.jfr"));
+    }
+  }
+}
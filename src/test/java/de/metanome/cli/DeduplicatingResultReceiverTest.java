@@ -0,0 +1,141 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.metanome.algorithm_integration.ColumnCombination;
+import de.metanome.algorithm_integration.ColumnIdentifier;
+import de.metanome.algorithm_integration.ColumnPermutation;
+import de.metanome.algorithm_integration.results.FunctionalDependency;
+import de.metanome.algorithm_integration.results.InclusionDependency;
+import de.metanome.algorithm_integration.results.Result;
+import de.metanome.algorithm_integration.results.UniqueColumnCombination;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class DeduplicatingResultReceiverTest {
+
+  @Test
+  public void dropsDuplicates() throws Exception {
+    CollectingSink sink = new CollectingSink();
+    DeduplicatingResultReceiver receiver = new DeduplicatingResultReceiver(sink, false);
+
+    receiver.receiveResult(fd("a", "b", "c"));
+    receiver.receiveResult(fd("b", "a", "c"));
+    receiver.receiveResult(fd("a", "c"));
+    receiver.receiveResult(ucc("a", "b"));
+    receiver.receiveResult(ucc("b", "a"));
+    receiver.receiveResult(ucc("a"));
+    receiver.receiveResult(ind(new String[]{"a", "b"}, new String[]{"c", "d"}));
+    receiver.receiveResult(ind(new String[]{"a", "b"}, new String[]{"c", "d"}));
+    receiver.receiveResult(ind(new String[]{"b", "a"}, new String[]{"d", "c"}));
+    receiver.close();
+
+    // Non-minimal results are kept, and the column order only matters for INDs.
+    assertThat(sink.results).containsExactly(
+        fd("a", "b", "c"),
+        fd("a", "c"),
+        ucc("a", "b"),
+        ucc("a"),
+        ind(new String[]{"a", "b"}, new String[]{"c", "d"}),
+        ind(new String[]{"b", "a"}, new String[]{"d", "c"}));
+  }
+
+  @Test
+  public void distinguishesTables() throws Exception {
+    CollectingSink sink = new CollectingSink();
+    DeduplicatingResultReceiver receiver = new DeduplicatingResultReceiver(sink, true);
+    FunctionalDependency otherFd = new FunctionalDependency(
+        new ColumnCombination(new ColumnIdentifier("u", "a")), new ColumnIdentifier("u", "b"));
+
+    receiver.receiveResult(fd("a", "b"));
+    receiver.receiveResult(otherFd);
+    receiver.close();
+
+    assertThat(sink.results).containsExactly(fd("a", "b"), otherFd);
+  }
+
+  @Test
+  public void dropsNonMinimalAndTrivialFds() throws Exception {
+    CollectingSink sink = new CollectingSink();
+    DeduplicatingResultReceiver receiver = new DeduplicatingResultReceiver(sink, true);
+
+    receiver.receiveResult(fd("a", "c"));
+    receiver.receiveResult(fd("a", "c"));
+    receiver.receiveResult(fd("a", "b", "c"));
+    receiver.receiveResult(fd("b", "c"));
+    receiver.receiveResult(fd("b", "d", "a"));
+    receiver.receiveResult(fd("a", "b", "a"));
+    receiver.close();
+
+    assertThat(sink.results).containsExactly(fd("a", "c"), fd("b", "c"), fd("b", "d", "a"));
+  }
+
+  @Test
+  public void dropsNonMinimalUccs() throws Exception {
+    CollectingSink sink = new CollectingSink();
+    DeduplicatingResultReceiver receiver = new DeduplicatingResultReceiver(sink, true);
+
+    receiver.receiveResult(ucc("a", "b"));
+    receiver.receiveResult(ucc("b", "a"));
+    receiver.receiveResult(ucc("a", "b", "c"));
+    receiver.receiveResult(ucc("c"));
+    receiver.receiveResult(ucc("c", "d"));
+    // Non-minimal results cannot be retracted once their minimal counterpart arrives.
+    receiver.receiveResult(ucc("a"));
+    receiver.close();
+
+    assertThat(sink.results).containsExactly(ucc("a", "b"), ucc("c"), ucc("a"));
+  }
+
+  /**
+   * Create an FD whose RHS is the last of the given columns.
+   */
+  private static FunctionalDependency fd(String... columns) {
+    return new FunctionalDependency(
+        new ColumnCombination(toColumnIdentifiers(Arrays.copyOf(columns, columns.length - 1))),
+        new ColumnIdentifier("t", columns[columns.length - 1]));
+  }
+
+  private static UniqueColumnCombination ucc(String... columns) {
+    return new UniqueColumnCombination(toColumnIdentifiers(columns));
+  }
+
+  private static InclusionDependency ind(String[] dependant, String[] referenced) {
+    return new InclusionDependency(new ColumnPermutation(toColumnIdentifiers(dependant)),
+        new ColumnPermutation(toColumnIdentifiers(referenced)));
+  }
+
+  private static ColumnIdentifier[] toColumnIdentifiers(String[] columns) {
+    ColumnIdentifier[] columnIdentifiers = new ColumnIdentifier[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      columnIdentifiers[i] = new ColumnIdentifier("t", columns[i]);
+    }
+    return columnIdentifiers;
+  }
+
+  private static class CollectingSink extends DiscardingResultReceiver {
+
+    private final List<Result> results = new ArrayList<>();
+
+    CollectingSink() throws FileNotFoundException {
+    }
+
+    @Override
+    public void receiveResult(FunctionalDependency functionalDependency) {
+      results.add(functionalDependency);
+    }
+
+    @Override
+    public void receiveResult(UniqueColumnCombination uniqueColumnCombination) {
+      results.add(uniqueColumnCombination);
+    }
+
+    @Override
+    public void receiveResult(InclusionDependency inclusionDependency) {
+      results.add(inclusionDependency);
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.beust.jcommander.ParameterException;
+import org.junit.Test;
+
+public class DurationConverterTest {
+
+  @Test
+  public void plainNumberIsSeconds() {
+    assertThat(DurationConverter.parse("90")).isEqualTo(90_000L);
+  }
+
+  @Test
+  public void unitSuffixes() {
+    assertThat(DurationConverter.parse("500ms")).isEqualTo(500L);
+    assertThat(DurationConverter.parse("90s")).isEqualTo(90_000L);
+    assertThat(DurationConverter.parse("30m")).isEqualTo(30L * 60 * 1000);
+    assertThat(DurationConverter.parse("2H")).isEqualTo(2L * 60 * 60 * 1000);
+    assertThat(DurationConverter.parse("1d")).isEqualTo(24L * 60 * 60 * 1000);
+  }
+
+  @Test
+  public void shouldThrowOnIllegalDuration() {
+    assertThatThrownBy(() -> DurationConverter.parse("two hours"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> DurationConverter.parse("-1s"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new DurationConverter("--timeout").convert("2x"))
+        .isInstanceOf(ParameterException.class);
+  }
+}
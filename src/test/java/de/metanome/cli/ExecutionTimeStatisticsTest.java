@@ -0,0 +1,32 @@
+package de.metanome.cli;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.Test;
+
+public class ExecutionTimeStatisticsTest {
+
+  @Test
+  public void summarizesExecutionTimes() {
+    ExecutionTimeStatistics statistics =
+        new ExecutionTimeStatistics(asList(30L, 10L, 20L, 40L, 100L));
+
+    assertThat(statistics.getMin()).isEqualTo(10L);
+    assertThat(statistics.getMax()).isEqualTo(100L);
+    assertThat(statistics.getMedian()).isEqualTo(30L);
+    assertThat(statistics.getPercentile(95)).isEqualTo(100L);
+    assertThat(statistics.getPercentile(50)).isEqualTo(30L);
+    assertThat(statistics.getMean()).isCloseTo(40d, within(1e-9));
+    assertThat(statistics.getStandardDeviation()).isCloseTo(Math.sqrt(1250d), within(1e-9));
+  }
+
+  @Test
+  public void handlesSingleAndEvenNumbersOfTimes() {
+    assertThat(new ExecutionTimeStatistics(asList(7L)).getStandardDeviation()).isZero();
+    assertThat(new ExecutionTimeStatistics(asList(7L)).getPercentile(95)).isEqualTo(7L);
+    assertThat(new ExecutionTimeStatistics(asList(10L, 20L, 30L, 40L)).getMedian())
+        .isEqualTo(25L);
+  }
+}
@@ -0,0 +1,70 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.metanome.algorithm_integration.ColumnCombination;
+import de.metanome.algorithm_integration.ColumnIdentifier;
+import de.metanome.algorithm_integration.result_receiver.OmniscientResultReceiver;
+import de.metanome.algorithm_integration.results.FunctionalDependency;
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+
+public class FanOutResultReceiverTest {
+
+  private static final FunctionalDependency FD = new FunctionalDependency(
+      new ColumnCombination(new ColumnIdentifier("t", "a")), new ColumnIdentifier("t", "b"));
+
+  @Test(timeout = 10_000)
+  public void reportsFailedSinkWithoutBlocking() throws Exception {
+    CountingSink healthySink = new CountingSink(false);
+    FanOutResultReceiver receiver = new FanOutResultReceiver(Arrays.asList(
+        Pair.<String, OmniscientResultReceiver>of("healthy", healthySink),
+        Pair.<String, OmniscientResultReceiver>of("failing", new CountingSink(true))
+    ), 1);
+
+    for (int i = 0; i < 100; i++) {
+      receiver.receiveResult(FD);
+    }
+    receiver.close();
+
+    assertThat(receiver.hasFailedSinks()).isTrue();
+    assertThat(healthySink.numResults.get()).isEqualTo(100);
+  }
+
+  @Test(timeout = 10_000)
+  public void reportsNoFailureForHealthySinks() throws Exception {
+    FanOutResultReceiver receiver = new FanOutResultReceiver(Arrays.asList(
+        Pair.<String, OmniscientResultReceiver>of("healthy", new CountingSink(false))
+    ), 4);
+
+    receiver.receiveResult(FD);
+    receiver.close();
+
+    assertThat(receiver.hasFailedSinks()).isFalse();
+  }
+
+  /**
+   * Counts functional dependencies or, if failing, terminates its thread with an {@link Error}.
+   */
+  private static class CountingSink extends DiscardingResultReceiver {
+
+    private final boolean isFailing;
+
+    private final AtomicInteger numResults = new AtomicInteger();
+
+    CountingSink(boolean isFailing) throws FileNotFoundException {
+      this.isFailing = isFailing;
+    }
+
+    @Override
+    public void receiveResult(FunctionalDependency functionalDependency) {
+      if (isFailing) {
+        throw new AssertionError("Sink failure.");
+      }
+      numResults.incrementAndGet();
+    }
+  }
+}
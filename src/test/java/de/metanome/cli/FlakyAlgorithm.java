@@ -0,0 +1,70 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.AlgorithmExecutionException;
+import de.metanome.algorithm_integration.ColumnCombination;
+import de.metanome.algorithm_integration.ColumnIdentifier;
+import de.metanome.algorithm_integration.algorithm_types.FunctionalDependencyAlgorithm;
+import de.metanome.algorithm_integration.algorithm_types.RelationalInputParameterAlgorithm;
+import de.metanome.algorithm_integration.configuration.ConfigurationRequirement;
+import de.metanome.algorithm_integration.input.RelationalInputGenerator;
+import de.metanome.algorithm_integration.result_receiver.FunctionalDependencyResultReceiver;
+import de.metanome.algorithm_integration.results.FunctionalDependency;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Reports a functional dependency per input and then fails on its first execution, which is
+ * marked by creating the file given by the system property {@value #MARKER_PROPERTY}. Serves to
+ * test restarts of worker JVMs.
+ */
+public class FlakyAlgorithm implements RelationalInputParameterAlgorithm, FunctionalDependencyAlgorithm {
+
+    public static final String MARKER_PROPERTY = "flaky-algorithm.marker";
+
+    private int numInputs = 0;
+
+    private FunctionalDependencyResultReceiver resultReceiver;
+
+    @Override
+    public ArrayList<ConfigurationRequirement<?>> getConfigurationRequirements() {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public void setRelationalInputConfigurationValue(String identifier, RelationalInputGenerator... values) {
+        this.numInputs = values.length;
+    }
+
+    @Override
+    public void setResultReceiver(FunctionalDependencyResultReceiver resultReceiver) {
+        this.resultReceiver = resultReceiver;
+    }
+
+    @Override
+    public void execute() throws AlgorithmExecutionException {
+        for (int i = 0; i < this.numInputs; i++) {
+            this.resultReceiver.receiveResult(new FunctionalDependency(
+                    new ColumnCombination(new ColumnIdentifier("t" + i, "a")),
+                    new ColumnIdentifier("t" + i, "b")
+            ));
+        }
+        try {
+            if (new File(System.getProperty(MARKER_PROPERTY)).createNewFile()) {
+                throw new AlgorithmExecutionException("Failing on the first execution.");
+            }
+        } catch (IOException e) {
+            throw new AlgorithmExecutionException("Could not create marker.", e);
+        }
+    }
+
+    @Override
+    public String getAuthors() {
+        return "Metanome CLI";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Fails on its first execution.";
+    }
+}
@@ -0,0 +1,37 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FlightRecorderSessionTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void summarizesRecording() throws Exception {
+    File file = new File(temporaryFolder.getRoot(), "results/run.jfr");
+
+    FlightRecorderSession session = FlightRecorderSession.start("profile", file);
+    List<int[]> garbage = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      garbage.add(new int[1024]);
+      if (garbage.size() > 100) {
+        garbage.clear();
+      }
+    }
+    session.stop();
+    FlightRecordingMeasurement summary = session.summarize("flight-recording");
+
+    assertThat(file).exists();
+    assertThat(summary.getFile()).isEqualTo(file.getPath());
+    assertThat(summary.getAllocatedBytes()).isPositive();
+    assertThat(summary.getHotMethods().size()).isLessThanOrEqualTo(10);
+  }
+}
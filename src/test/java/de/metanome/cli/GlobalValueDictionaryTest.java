@@ -0,0 +1,93 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GlobalValueDictionaryTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void assignsStableDistinctIds() throws IOException {
+    try (GlobalValueDictionary dictionary =
+        new GlobalValueDictionary(1L << 30, temporaryFolder.getRoot())) {
+      int[] ids = new int[10_000];
+      Set<Integer> distinctIds = new HashSet<>();
+      for (int i = 0; i < ids.length; i++) {
+        ids[i] = dictionary.getOrAdd("value-" + i);
+        distinctIds.add(ids[i]);
+      }
+      byte[] bytes = "xvalue-42".getBytes(StandardCharsets.UTF_8);
+
+      assertThat(distinctIds).hasSize(ids.length);
+      assertThat(dictionary.size()).isEqualTo(ids.length);
+      assertThat(dictionary.getOrAdd(bytes, 1, bytes.length - 1)).isEqualTo(ids[42]);
+      assertThat(dictionary.getString(ids[4711])).isEqualTo("value-4711");
+      assertThat(dictionary.getOrAdd((String) null)).isEqualTo(GlobalValueDictionary.NULL_ID);
+    }
+  }
+
+  @Test
+  public void spillsBeyondMemoryLimit() throws IOException {
+    try (GlobalValueDictionary dictionary =
+        new GlobalValueDictionary(0L, temporaryFolder.getRoot())) {
+      int id = dictionary.getOrAdd("spilled");
+
+      assertThat(dictionary.getSpilledBytes()).isGreaterThan(0L);
+      assertThat(dictionary.getOffHeapBytes()).isEqualTo(0L);
+      assertThat(dictionary.getOrAdd("spilled")).isEqualTo(id);
+      assertThat(dictionary.getString(id)).isEqualTo("spilled");
+    }
+    assertThat(temporaryFolder.getRoot().list()).isEmpty();
+  }
+
+  @Test
+  public void spillsWhenDirectMemoryIsExhausted() throws Exception {
+    Process process = new ProcessBuilder(Arrays.asList(
+        new File(new File(System.getProperty("java.home"), "bin"), "java").getPath(),
+        "-XX:MaxDirectMemorySize=4m",
+        "-cp", System.getProperty("java.class.path"),
+        DirectMemoryExhaustion.class.getName(),
+        temporaryFolder.getRoot().getPath()))
+        .redirectErrorStream(true)
+        .redirectOutput(temporaryFolder.newFile("output.log"))
+        .start();
+
+    assertThat(process.waitFor()).isEqualTo(0);
+  }
+
+  /**
+   * Fills a dictionary without a memory limit, which only works if it spills once the direct
+   * memory of the JVM is exhausted.
+   */
+  public static class DirectMemoryExhaustion {
+
+    public static void main(String[] args) throws IOException {
+      try (GlobalValueDictionary dictionary =
+          new GlobalValueDictionary(Long.MAX_VALUE, new File(args[0]))) {
+        int[] ids = new int[1_000];
+        for (int i = 0; i < ids.length; i++) {
+          ids[i] = dictionary.getOrAdd("value-" + i);
+        }
+        for (int i = 0; i < ids.length; i++) {
+          if (!dictionary.getString(ids[i]).equals("value-" + i)) {
+            System.exit(2);
+          }
+        }
+        if (dictionary.getSpilledBytes() == 0L || dictionary.getOffHeapBytes() > 4L << 20) {
+          System.exit(3);
+        }
+      }
+    }
+  }
+}
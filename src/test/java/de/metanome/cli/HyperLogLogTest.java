@@ -0,0 +1,39 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.Test;
+
+public class HyperLogLogTest {
+
+  @Test
+  public void estimatesSmallCardinalitiesPrecisely() {
+    HyperLogLog sketch = new HyperLogLog();
+    for (int i = 0; i < 1000; i++) {
+      sketch.add("value-" + (i % 100));
+    }
+    assertThat(sketch.estimate()).isCloseTo(100L, within(2L));
+  }
+
+  @Test
+  public void estimatesLargeCardinalitiesApproximately() {
+    HyperLogLog sketch = new HyperLogLog();
+    for (int i = 0; i < 1_000_000; i++) {
+      sketch.add(Integer.toString(i));
+    }
+    assertThat(sketch.estimate()).isCloseTo(1_000_000L, within(50_000L));
+  }
+
+  @Test
+  public void mergesSketches() {
+    HyperLogLog sketch1 = new HyperLogLog();
+    HyperLogLog sketch2 = new HyperLogLog();
+    for (int i = 0; i < 10_000; i++) {
+      sketch1.add("a" + i);
+      sketch2.add("b" + i);
+    }
+    sketch1.merge(sketch2);
+    assertThat(sketch1.estimate()).isCloseTo(20_000L, within(1_000L));
+  }
+}
@@ -0,0 +1,97 @@
+package de.metanome.cli;
+
+import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.algorithm_integration.input.RelationalInputGenerator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves fixed rows as {@link RelationalInput}s and tracks how its copies are used. Optionally,
+ * reading a certain row fails with an {@link InputIterationException} or an {@link Error}.
+ */
+class InMemoryInputGenerator implements RelationalInputGenerator {
+
+  final AtomicInteger numCopies = new AtomicInteger();
+
+  final AtomicInteger numClosedCopies = new AtomicInteger();
+
+  final AtomicInteger numReadRows = new AtomicInteger();
+
+  private final List<String> columnNames;
+
+  private final List<List<String>> rows;
+
+  private int failingRowIndex = -1;
+
+  private Error error;
+
+  InMemoryInputGenerator(List<String> columnNames, List<List<String>> rows) {
+    this.columnNames = columnNames;
+    this.rows = rows;
+  }
+
+  InMemoryInputGenerator failingAt(int rowIndex) {
+    this.failingRowIndex = rowIndex;
+    return this;
+  }
+
+  InMemoryInputGenerator failingAt(int rowIndex, Error error) {
+    this.error = error;
+    return failingAt(rowIndex);
+  }
+
+  @Override
+  public RelationalInput generateNewCopy() {
+    numCopies.incrementAndGet();
+    return new RelationalInput() {
+
+      private int nextRowIndex = 0;
+
+      @Override
+      public boolean hasNext() {
+        return nextRowIndex < rows.size();
+      }
+
+      @Override
+      public List<String> next() throws InputIterationException {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        if (nextRowIndex == failingRowIndex && error != null) {
+          throw error;
+        } else if (nextRowIndex == failingRowIndex) {
+          throw new InputIterationException("Cannot read row " + nextRowIndex + ".");
+        }
+        numReadRows.incrementAndGet();
+        return new ArrayList<>(rows.get(nextRowIndex++));
+      }
+
+      @Override
+      public int numberOfColumns() {
+        return columnNames.size();
+      }
+
+      @Override
+      public String relationName() {
+        return "relation";
+      }
+
+      @Override
+      public List<String> columnNames() {
+        return columnNames;
+      }
+
+      @Override
+      public void close() {
+        numClosedCopies.incrementAndGet();
+      }
+    };
+  }
+
+  @Override
+  public void close() {
+  }
+}
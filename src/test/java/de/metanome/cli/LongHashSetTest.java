@@ -0,0 +1,32 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class LongHashSetTest {
+
+  @Test
+  public void keepsValuesAcrossResizes() {
+    LongHashSet set = new LongHashSet();
+    for (long i = 0; i < 10_000; i++) {
+      assertThat(set.add(i * 0x10000L)).isTrue();
+    }
+    for (long i = 0; i < 10_000; i++) {
+      assertThat(set.add(i * 0x10000L)).isFalse();
+    }
+
+    assertThat(set.size()).isEqualTo(10_000);
+  }
+
+  @Test
+  public void distinguishesZeroFromOtherValues() {
+    LongHashSet set = new LongHashSet();
+
+    assertThat(set.add(0L)).isTrue();
+    assertThat(set.add(0L)).isFalse();
+    assertThat(set.add(0x9E3779B97F4A7C15L)).isTrue();
+    assertThat(set.add(-1L)).isTrue();
+    assertThat(set.size()).isEqualTo(3);
+  }
+}
@@ -0,0 +1,111 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.hpi.isg.mdms.model.MetadataStore;
+import de.hpi.isg.mdms.model.targets.Target;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class MetacrateStoreCacheTest {
+
+  @Test(timeout = 10_000)
+  public void loadsStoreOnceForConcurrentRuns() throws Exception {
+    String location = UUID.randomUUID().toString();
+    AtomicInteger numLoads = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<MetacrateStoreCache.Handle>> handles = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        handles.add(executor.submit((Callable<MetacrateStoreCache.Handle>) () -> {
+          start.await();
+          return MetacrateStoreCache.open(location, key -> {
+            numLoads.incrementAndGet();
+            return createMetadataStore(new AtomicInteger());
+          });
+        }));
+      }
+      start.countDown();
+
+      MetacrateStoreCache.Handle handle = handles.get(0).get();
+      for (Future<MetacrateStoreCache.Handle> otherHandle : handles) {
+        assertThat(otherHandle.get()).isSameAs(handle);
+      }
+      assertThat(numLoads.get()).isEqualTo(1);
+      assertThat(handle.getLoadMillis()).isGreaterThanOrEqualTo(0L);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void separatesLocations() {
+    MetacrateStoreCache.Handle handle = MetacrateStoreCache.open(UUID.randomUUID().toString(),
+        key -> createMetadataStore(new AtomicInteger()));
+    MetacrateStoreCache.Handle otherHandle = MetacrateStoreCache.open(
+        UUID.randomUUID().toString(), key -> createMetadataStore(new AtomicInteger()));
+
+    assertThat(otherHandle).isNotSameAs(handle);
+    assertThat(otherHandle.getMetadataStore()).isNotSameAs(handle.getMetadataStore());
+  }
+
+  @Test
+  public void looksUpScopesOnce() {
+    AtomicInteger numLookups = new AtomicInteger();
+    MetacrateStoreCache.Handle handle = MetacrateStoreCache.open(UUID.randomUUID().toString(),
+        key -> createMetadataStore(numLookups));
+
+    Target scope = handle.getScope("scope");
+
+    assertThat(scope.getName()).isEqualTo("scope");
+    assertThat(handle.getScope("scope")).isSameAs(scope);
+    assertThat(handle.getScope("other")).isNotSameAs(scope);
+    assertThat(numLookups.get()).isEqualTo(2);
+  }
+
+  /**
+   * Create a {@link MetadataStore} that has a target for every name and counts the lookups.
+   */
+  static MetadataStore createMetadataStore(AtomicInteger numLookups) {
+    return (MetadataStore) Proxy.newProxyInstance(MetadataStore.class.getClassLoader(),
+        new Class<?>[]{MetadataStore.class}, (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "getTargetByName":
+              numLookups.incrementAndGet();
+              return createTarget((String) args[0]);
+            case "hashCode":
+              return System.identityHashCode(proxy);
+            case "equals":
+              return proxy == args[0];
+            default:
+              return null;
+          }
+        });
+  }
+
+  private static Target createTarget(String name) {
+    return (Target) Proxy.newProxyInstance(Target.class.getClassLoader(),
+        new Class<?>[]{Target.class}, (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "getName":
+              return name;
+            case "hashCode":
+              return System.identityHashCode(proxy);
+            case "equals":
+              return proxy == args[0];
+            default:
+              return null;
+          }
+        });
+  }
+}
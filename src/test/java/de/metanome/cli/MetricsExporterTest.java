@@ -0,0 +1,33 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class MetricsExporterTest {
+
+  @Test
+  public void formatsPrometheusTextFormat() {
+    RunCounters counters = new RunCounters();
+    counters.countRows(42);
+    RunMetrics metrics = new RunMetrics(counters);
+    metrics.startPhase("initialization");
+    metrics.startPhase(null);
+
+    String text = MetricsExporter.formatPrometheus(metrics);
+
+    assertThat(text).contains("# TYPE metanome_rows_read_total counter\n");
+    assertThat(text).contains("\nmetanome_rows_read_total 42\n");
+    assertThat(text).containsPattern("\nmetanome_phase_seconds\\{phase=\"initialization\"} [0-9.]+\n");
+    assertThat(text).contains("\nmetanome_temp_file_bytes 0\n");
+  }
+
+  @Test
+  public void escapesLabelValues() {
+    RunMetrics metrics = new RunMetrics(new RunCounters());
+    metrics.startPhase("a\"b\\c");
+
+    assertThat(MetricsExporter.formatPrometheus(metrics))
+        .contains("metanome_phase_seconds{phase=\"a\\\"b\\\\c\"}");
+  }
+}
@@ -0,0 +1,45 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PliCacheTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void buildsStrippedPartitions() {
+    PositionListIndex pli = PositionListIndex.build(new int[]{0, 1, 0, 2, 1, 0}, 6, 3);
+
+    assertThat(pli.getNumClusters()).isEqualTo(2);
+    assertThat(pli.getNumClusteredRows()).isEqualTo(5);
+    assertThat(pli.getClusterSize(0)).isEqualTo(3);
+    assertThat(pli.getRowId(0, 2)).isEqualTo(5);
+    assertThat(pli.getProbingTable()).containsExactly(0, 1, 0, PositionListIndex.SINGLETON, 1, 0);
+  }
+
+  @Test
+  public void persistsPositionListIndices() throws IOException {
+    List<PositionListIndex> plis = Arrays.asList(
+        PositionListIndex.build(new int[]{0, 1, 0, 1}, 4, 2),
+        PositionListIndex.build(new int[]{0, 1, 2, 3}, 4, 4)
+    );
+    File file = new File(temporaryFolder.getRoot(), "input.pli");
+
+    PliCache.write(plis, file);
+    List<PositionListIndex> readPlis = PliCache.read(file);
+
+    assertThat(readPlis).hasSize(2);
+    assertThat(readPlis.get(0).getNumRows()).isEqualTo(4);
+    assertThat(readPlis.get(0).getProbingTable()).containsExactly(0, 1, 0, 1);
+    assertThat(readPlis.get(1).isUnique()).isTrue();
+  }
+}
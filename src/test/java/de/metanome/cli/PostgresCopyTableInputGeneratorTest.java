@@ -0,0 +1,142 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.metanome.algorithm_integration.configuration.ConfigurationSettingDatabaseConnection;
+import de.metanome.algorithm_integration.configuration.ConfigurationSettingTableInput;
+import de.metanome.algorithm_integration.configuration.DbSystem;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class PostgresCopyTableInputGeneratorTest {
+
+  private static final StandInDriver DRIVER = new StandInDriver();
+
+  @BeforeClass
+  public static void registerDriver() throws SQLException {
+    DriverManager.registerDriver(DRIVER);
+  }
+
+  @AfterClass
+  public static void deregisterDriver() throws SQLException {
+    DriverManager.deregisterDriver(DRIVER);
+  }
+
+  @Test
+  public void fallsBackPermanentlyForOtherDatabases() throws Exception {
+    PostgresCopyTableInputGenerator generator = createGenerator("jdbc:standin:other");
+
+    generator.generateNewCopy();
+    int numConnections = DRIVER.numConnections.get();
+    generator.generateNewCopy();
+
+    assertThat(generator.isCopyAvailable()).isFalse();
+    // COPY is not attempted again.
+    assertThat(DRIVER.numConnections.get()).isEqualTo(numConnections);
+  }
+
+  @Test
+  public void keepsCopyAfterTransientFailures() throws Exception {
+    PostgresCopyTableInputGenerator generator = createGenerator("jdbc:standin:unreachable");
+
+    generator.generateNewCopy();
+
+    assertThat(generator.isCopyAvailable()).isTrue();
+  }
+
+  private static PostgresCopyTableInputGenerator createGenerator(String url) throws Exception {
+    return new PostgresCopyTableInputGenerator(new ConfigurationSettingTableInput("t",
+        new ConfigurationSettingDatabaseConnection(url, "user", "password", DbSystem.PostgreSQL)));
+  }
+
+  /**
+   * Stands in for a JDBC driver of another database system than Postgres. Connections to the
+   * URL {@code jdbc:standin:unreachable} fail.
+   */
+  private static class StandInDriver implements Driver {
+
+    private final AtomicInteger numConnections = new AtomicInteger();
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+      if (!acceptsURL(url)) {
+        return null;
+      }
+      if (url.endsWith("unreachable")) {
+        throw new SQLException("Connection refused.");
+      }
+      numConnections.incrementAndGet();
+      return (Connection) proxy(Connection.class);
+    }
+
+    private static Object proxy(Class<?> type) {
+      return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+          (proxy, method, args) -> {
+            switch (method.getName()) {
+              case "createStatement":
+                return proxy(Statement.class);
+              case "executeQuery":
+                return proxy(ResultSet.class);
+              case "getMetaData":
+                return proxy(ResultSetMetaData.class);
+              case "getColumnCount":
+                return 1;
+              case "getColumnName":
+                return "a";
+              case "isWrapperFor":
+                return false;
+              case "unwrap":
+                throw new SQLException("Not a wrapper for " + args[0]);
+              case "toString":
+                return "stand-in " + type.getSimpleName();
+              default:
+                return null;
+            }
+          });
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+      return url.startsWith("jdbc:standin:");
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+      return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+      return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+      return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+      return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+      throw new SQLFeatureNotSupportedException();
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.Test;
+
+public class PostgresCsvReaderTest {
+
+  @Test
+  public void parsesCopyOutput() throws IOException {
+    PostgresCsvReader reader = new PostgresCsvReader(new StringReader(
+        "1,plain,\n"
+            + "2,\"\",\"with, comma\"\n"
+            + "3,\"multi\nline\",\"say \"\"hi\"\"\"\n"), 3);
+
+    assertThat(reader.readRecord()).containsExactly("1", "plain", null);
+    assertThat(reader.readRecord()).containsExactly("2", "", "with, comma");
+    assertThat(reader.readRecord()).containsExactly("3", "multi\nline", "say \"hi\"");
+    assertThat(reader.readRecord()).isNull();
+  }
+}
@@ -0,0 +1,80 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.metanome.algorithm_integration.input.InputIterationException;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+public class PrefetchingInputGeneratorTest {
+
+  private static final int NUM_ROWS = 10 * PrefetchingInputGenerator.BATCH_SIZE + 7;
+
+  @Test(timeout = 10_000)
+  public void preservesRowOrder() throws Exception {
+    PrefetchingInputGenerator generator = new PrefetchingInputGenerator(createDelegate(), 2);
+
+    List<String> values = new ArrayList<>();
+    try (RelationalInput input = generator.generateNewCopy()) {
+      assertThat(input.relationName()).isEqualTo("relation");
+      assertThat(input.columnNames()).containsExactly("a");
+      while (input.hasNext()) {
+        values.add(input.next().get(0));
+      }
+    }
+
+    assertThat(values).hasSize(NUM_ROWS);
+    for (int i = 0; i < NUM_ROWS; i++) {
+      assertThat(values.get(i)).isEqualTo(Integer.toString(i));
+    }
+  }
+
+  @Test(timeout = 10_000)
+  public void propagatesExceptionAfterPrecedingRows() throws Exception {
+    PrefetchingInputGenerator generator =
+        new PrefetchingInputGenerator(createDelegate().failingAt(300), 2);
+
+    try (RelationalInput input = generator.generateNewCopy()) {
+      for (int i = 0; i < 300; i++) {
+        assertThat(input.next()).containsExactly(Integer.toString(i));
+      }
+      assertThatThrownBy(input::hasNext).isInstanceOf(InputIterationException.class);
+    }
+  }
+
+  @Test(timeout = 10_000)
+  public void propagatesErrors() throws Exception {
+    PrefetchingInputGenerator generator = new PrefetchingInputGenerator(
+        createDelegate().failingAt(0, new OutOfMemoryError("Test.")), 2);
+
+    try (RelationalInput input = generator.generateNewCopy()) {
+      assertThatThrownBy(input::hasNext).isInstanceOf(InputIterationException.class)
+          .hasCauseInstanceOf(OutOfMemoryError.class);
+    }
+  }
+
+  @Test(timeout = 10_000)
+  public void stopsReadingWhenClosedEarly() throws Exception {
+    InMemoryInputGenerator delegate = createDelegate();
+    PrefetchingInputGenerator generator = new PrefetchingInputGenerator(delegate, 1);
+
+    RelationalInput input = generator.generateNewCopy();
+    assertThat(input.next()).containsExactly("0");
+    input.close();
+
+    assertThat(delegate.numClosedCopies.get()).isEqualTo(1);
+    assertThat(delegate.numReadRows.get()).isLessThan(NUM_ROWS);
+  }
+
+  private static InMemoryInputGenerator createDelegate() {
+    List<List<String>> rows = new ArrayList<>();
+    for (int i = 0; i < NUM_ROWS; i++) {
+      rows.add(Collections.singletonList(Integer.toString(i)));
+    }
+    return new InMemoryInputGenerator(Collections.singletonList("a"), rows);
+  }
+}
@@ -0,0 +1,84 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.metanome.algorithm_integration.ColumnCombination;
+import de.metanome.algorithm_integration.ColumnIdentifier;
+import de.metanome.algorithm_integration.results.FunctionalDependency;
+import de.metanome.algorithm_integration.results.Result;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ResultCheckpointTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void loadsAppendedResultsInOrder() throws IOException {
+    File baseDirectory = temporaryFolder.getRoot();
+    try (ResultCheckpoint checkpoint = new ResultCheckpoint(baseDirectory, "run", 0L)) {
+      checkpoint.append(fd("a", "b"));
+      checkpoint.append(fd("b", "c"));
+    }
+
+    File[] segments = new File(baseDirectory, "run").listFiles();
+    assertThat(segments).extracting(File::getName).containsExactly("segment-00000.log");
+
+    List<Result> results = new ResultCheckpoint(baseDirectory, "run", 0L).load();
+    assertThat(results).containsExactly(fd("a", "b"), fd("b", "c"));
+  }
+
+  @Test
+  public void continuesInNewSegment() throws IOException {
+    File baseDirectory = temporaryFolder.getRoot();
+    try (ResultCheckpoint checkpoint = new ResultCheckpoint(baseDirectory, "run", 0L)) {
+      checkpoint.append(fd("a", "b"));
+    }
+    try (ResultCheckpoint checkpoint = new ResultCheckpoint(baseDirectory, "run", 0L)) {
+      checkpoint.append(fd("b", "c"));
+    }
+
+    File[] segments = new File(baseDirectory, "run").listFiles();
+    assertThat(segments).extracting(File::getName)
+        .containsOnly("segment-00000.log", "segment-00001.log");
+    assertThat(new ResultCheckpoint(baseDirectory, "run", 0L).load())
+        .containsExactly(fd("a", "b"), fd("b", "c"));
+  }
+
+  @Test
+  public void skipsTornLine() throws IOException {
+    File baseDirectory = temporaryFolder.getRoot();
+    try (ResultCheckpoint checkpoint = new ResultCheckpoint(baseDirectory, "run", 0L)) {
+      checkpoint.append(fd("a", "b"));
+    }
+    File segment = new File(new File(baseDirectory, "run"), "segment-00000.log");
+    try (Writer writer = new FileWriter(segment, true)) {
+      writer.write(FunctionalDependency.class.getName() + "\t{\"determ");
+    }
+
+    assertThat(new ResultCheckpoint(baseDirectory, "run", 0L).load())
+        .containsExactly(fd("a", "b"));
+  }
+
+  @Test
+  public void separatesRuns() throws IOException {
+    File baseDirectory = temporaryFolder.getRoot();
+    try (ResultCheckpoint checkpoint = new ResultCheckpoint(baseDirectory, "run1", 0L)) {
+      checkpoint.append(fd("a", "b"));
+    }
+
+    assertThat(new ResultCheckpoint(baseDirectory, "run2", 0L).load()).isEmpty();
+  }
+
+  static FunctionalDependency fd(String lhs, String rhs) {
+    return new FunctionalDependency(
+        new ColumnCombination(new ColumnIdentifier("t", lhs)), new ColumnIdentifier("t", rhs));
+  }
+}
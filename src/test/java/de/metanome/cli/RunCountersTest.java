@@ -0,0 +1,73 @@
+package de.metanome.cli;
+
+import static de.metanome.cli.ResultCheckpointTest.fd;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import de.metanome.algorithm_integration.ColumnIdentifier;
+import de.metanome.algorithm_integration.input.RelationalInput;
+import de.metanome.algorithm_integration.results.FunctionalDependency;
+import de.metanome.algorithm_integration.results.UniqueColumnCombination;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+public class RunCountersTest {
+
+  @Test
+  public void countsRowsReadThroughCopies() throws Exception {
+    List<List<String>> rows = new ArrayList<>();
+    for (int i = 0; i < 3000; i++) {
+      rows.add(Collections.singletonList(Integer.toString(i)));
+    }
+    RunCounters counters = new RunCounters();
+    CountingInputGenerator generator = new CountingInputGenerator(
+        new InMemoryInputGenerator(Collections.singletonList("a"), rows), counters);
+
+    try (RelationalInput input = generator.generateNewCopy()) {
+      while (input.hasNext()) {
+        input.next();
+      }
+      assertThat(counters.getNumRows()).isEqualTo(3000L);
+    }
+    try (RelationalInput input = generator.generateNewCopy()) {
+      for (int i = 0; i < 10; i++) {
+        input.next();
+      }
+    }
+
+    // Partially read copies publish their count on closing.
+    assertThat(counters.getNumRows()).isEqualTo(3010L);
+  }
+
+  @Test
+  public void countsResultsPerType() throws Exception {
+    RunCounters counters = new RunCounters();
+    CollectingSink sink = new CollectingSink();
+    CountingResultReceiver receiver = new CountingResultReceiver(sink, counters);
+
+    receiver.receiveResult(fd("a", "b"));
+    receiver.receiveResult(fd("b", "c"));
+    receiver.receiveResult(new UniqueColumnCombination(new ColumnIdentifier("t", "a")));
+
+    assertThat(sink.results).containsExactly(fd("a", "b"), fd("b", "c"));
+    assertThat(counters.getNumResults()).isEqualTo(3L);
+    assertThat(counters.getResultCounts()).containsExactly(
+        entry("FunctionalDependency", 2L), entry("UniqueColumnCombination", 1L));
+  }
+
+  private static class CollectingSink extends DiscardingResultReceiver {
+
+    private final List<FunctionalDependency> results = new ArrayList<>();
+
+    CollectingSink() throws FileNotFoundException {
+    }
+
+    @Override
+    public void receiveResult(FunctionalDependency functionalDependency) {
+      results.add(functionalDependency);
+    }
+  }
+}
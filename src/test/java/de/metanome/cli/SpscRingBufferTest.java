@@ -0,0 +1,52 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class SpscRingBufferTest {
+
+  @Test
+  public void rejectsElementsWhenFull() {
+    SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(3);
+    assertThat(buffer.capacity()).isEqualTo(4);
+    for (int i = 0; i < 4; i++) {
+      assertThat(buffer.offer(i)).isTrue();
+    }
+    assertThat(buffer.offer(4)).isFalse();
+    assertThat(buffer.poll()).isEqualTo(0);
+    assertThat(buffer.offer(4)).isTrue();
+  }
+
+  @Test
+  public void handsOverElementsInOrder() throws InterruptedException {
+    SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(16);
+    int numElements = 100_000;
+    Thread producer = new Thread(() -> {
+      for (int i = 0; i < numElements; i++) {
+        while (!buffer.offer(i)) {
+          Thread.yield();
+        }
+      }
+    });
+    producer.start();
+
+    List<Integer> received = new ArrayList<>();
+    while (received.size() < numElements) {
+      Integer element = buffer.poll();
+      if (element == null) {
+        Thread.yield();
+      } else {
+        received.add(element);
+      }
+    }
+    producer.join();
+
+    assertThat(buffer.poll()).isNull();
+    for (int i = 0; i < numElements; i++) {
+      assertThat(received.get(i)).isEqualTo(i);
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package de.metanome.cli;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures how long the CLI takes from the JVM start to the execution of the trivial
+ * {@link NoopAlgorithm}, along with the total time of the CLI process.
+ *
+ * <p>Each argument is a class path to benchmark, optionally followed by {@code =<archive>} to use
+ * a class-data sharing archive (see the {@code cds} build profile). To compare before and after a
+ * change, pass the fatjars of both versions. Fatjars that predate the {@link NoopAlgorithm} need
+ * it appended from the current build, e.g., {@code old/metanome-cli.jar:target/classes}; the old
+ * {@link App} still comes first. Without arguments, the current class path is used.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=de.metanome.cli.StartupBenchmark
+ * -Dexec.args="old/metanome-cli.jar:target/classes target/metanome-cli.jar
+ * target/metanome-cli.jar=target/metanome-cli.jsa"}.</p>
+ */
+public class StartupBenchmark {
+
+  private static final int NUM_WARMUP_ITERATIONS = 3;
+
+  private static final int NUM_ITERATIONS = 20;
+
+  public static void main(String[] args) throws Exception {
+    List<String> specifications = args.length == 0 ?
+        Arrays.asList(System.getProperty("java.class.path")) :
+        Arrays.asList(args);
+    File input = File.createTempFile("startup", ".csv");
+    input.deleteOnExit();
+    Files.write(input.toPath(),
+        "a,b,c\n1,x,true\n2,y,false\n".getBytes(StandardCharsets.UTF_8));
+
+    for (String specification : specifications) {
+      int separatorIndex = specification.lastIndexOf('=');
+      String classPath = separatorIndex == -1 ?
+          specification :
+          specification.substring(0, separatorIndex);
+      String archive = separatorIndex == -1 ? null : specification.substring(separatorIndex + 1);
+
+      for (int i = 0; i < NUM_WARMUP_ITERATIONS; i++) {
+        launch(classPath, archive, input);
+      }
+      List<Long> timesToExecute = new ArrayList<>();
+      List<Long> processTimes = new ArrayList<>();
+      for (int i = 0; i < NUM_ITERATIONS; i++) {
+        long startNanos = System.nanoTime();
+        timesToExecute.add(launch(classPath, archive, input));
+        processTimes.add((System.nanoTime() - startNanos) / 1_000_000L);
+      }
+      ExecutionTimeStatistics timeToExecute = new ExecutionTimeStatistics(timesToExecute);
+      ExecutionTimeStatistics processTime = new ExecutionTimeStatistics(processTimes);
+      System.out.printf("%s%n  time to execute(): median %,d ms (min %,d ms, p95 %,d ms)%n"
+              + "  process time:      median %,d ms (min %,d ms, p95 %,d ms)%n",
+          specification, timeToExecute.getMedian(), timeToExecute.getMin(),
+          timeToExecute.getPercentile(95), processTime.getMedian(), processTime.getMin(),
+          processTime.getPercentile(95));
+    }
+  }
+
+  /**
+   * Run the {@link NoopAlgorithm} in a new JVM.
+   *
+   * @return the milliseconds from the JVM start to the algorithm execution
+   */
+  private static long launch(String classPath, String archive, File input)
+      throws IOException, InterruptedException {
+    List<String> command = new ArrayList<>();
+    command.add(new File(new File(System.getProperty("java.home"), "bin"), "java").getPath());
+    if (archive != null) {
+      command.add("-XX:SharedArchiveFile=" + archive);
+    }
+    command.addAll(Arrays.asList("-Dtinylog.level=info", "-cp", classPath, App.class.getName(),
+        "--algorithm", NoopAlgorithm.class.getName(), "--file-key", "input",
+        "--files", input.getPath(), "--header", "--output", "none"));
+    Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+    long timeToExecute = -1;
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        int markerIndex = line.indexOf(NoopAlgorithm.TIME_TO_EXECUTE_MARKER);
+        if (markerIndex != -1) {
+          timeToExecute = Long.parseLong(line
+              .substring(markerIndex + NoopAlgorithm.TIME_TO_EXECUTE_MARKER.length()).trim());
+        }
+      }
+    }
+    if (process.waitFor() != 0 || timeToExecute < 0) {
+      throw new IllegalStateException("The CLI did not execute the algorithm: " + command);
+    }
+    return timeToExecute;
+  }
+}
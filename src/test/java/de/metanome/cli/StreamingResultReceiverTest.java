@@ -0,0 +1,95 @@
+package de.metanome.cli;
+
+import static de.metanome.cli.ResultCheckpointTest.fd;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.metanome.algorithm_integration.results.FunctionalDependency;
+import de.metanome.algorithm_integration.results.JsonConverter;
+import java.io.EOFException;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StreamingResultReceiverTest {
+
+  private static final String FD_PREFIX = "{\"type\":\"FunctionalDependency\",\"result\":";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void streamsJsonLinesToFile() throws Exception {
+    File file = new File(temporaryFolder.getRoot(), "results.json");
+    try (StreamingResultReceiver receiver = new StreamingResultReceiver(file.getPath())) {
+      receiver.receiveResult(fd("a", "b"));
+      receiver.receiveResult(fd("b", "c"));
+    }
+
+    List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+    assertThat(lines).hasSize(2);
+    assertThat(parseJsonLine(lines.get(0))).isEqualTo(fd("a", "b"));
+    assertThat(parseJsonLine(lines.get(1))).isEqualTo(fd("b", "c"));
+  }
+
+  @Test
+  public void streamsBinaryToSocket() throws Exception {
+    try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      FunctionalDependency fd = fd("a", "b");
+      StreamingResultReceiver receiver = new StreamingResultReceiver(String.format(
+          "binary:tcp:%s:%d", serverSocket.getInetAddress().getHostAddress(),
+          serverSocket.getLocalPort()));
+      receiver.receiveResult(fd);
+      receiver.flush();
+      receiver.receiveResult(fd);
+      receiver.receiveResult(fd);
+      receiver.close();
+
+      try (Socket socket = serverSocket.accept();
+          ObjectInputStream objectIn = new ObjectInputStream(socket.getInputStream())) {
+        Object first = objectIn.readObject();
+        Object second = objectIn.readObject();
+        Object third = objectIn.readObject();
+
+        assertThat(first).isEqualTo(fd);
+        // The flush resets the stream, so that it forgets about already written objects.
+        assertThat(second).isEqualTo(fd).isNotSameAs(first);
+        assertThat(third).isSameAs(second);
+        assertThatThrownBy(objectIn::readObject).isInstanceOf(EOFException.class);
+      }
+    }
+  }
+
+  @Test
+  public void recognizesStdout() {
+    assertThat(StreamingResultReceiver.isStreamingToStdout("stream:stdout")).isTrue();
+    assertThat(StreamingResultReceiver.isStreamingToStdout("stream:json:stdout")).isTrue();
+    assertThat(StreamingResultReceiver.isStreamingToStdout("stream:binary:stdout")).isTrue();
+    assertThat(StreamingResultReceiver.isStreamingToStdout("stream:tcp:stdout:1234")).isFalse();
+    assertThat(StreamingResultReceiver.isStreamingToStdout("stream:results")).isFalse();
+    assertThat(StreamingResultReceiver.isStreamingToStdout("file:stdout")).isFalse();
+  }
+
+  @Test
+  public void shouldThrowOnIllegalTcpTarget() {
+    assertThatThrownBy(() -> new StreamingResultReceiver("tcp:1234"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new StreamingResultReceiver("binary:tcp:localhost:port"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static FunctionalDependency parseJsonLine(String line) throws Exception {
+    assertThat(line).startsWith(FD_PREFIX).endsWith("}");
+    String json = line.substring(FD_PREFIX.length(), line.length() - 1);
+    return new JsonConverter<FunctionalDependency>()
+        .fromJsonString(json, FunctionalDependency.class);
+  }
+}
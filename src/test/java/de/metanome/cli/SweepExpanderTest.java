@@ -0,0 +1,63 @@
+package de.metanome.cli;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Collections;
+import org.junit.Test;
+
+public class SweepExpanderTest {
+
+  @Test
+  public void plainValuesFormSinglePoint() {
+    assertThat(SweepExpander.expand(asList("a:1", "b:x")))
+        .containsExactly(asList("a:1", "b:x"));
+    assertThat(SweepExpander.expand(Collections.emptyList()))
+        .containsExactly(Collections.emptyList());
+  }
+
+  @Test
+  public void expandsRangesAndSets() {
+    assertThat(SweepExpander.expand(asList("maxLhs:1..3", "threads:{1,4}", "x:y")))
+        .containsExactly(
+            asList("maxLhs:1", "threads:1", "x:y"),
+            asList("maxLhs:1", "threads:4", "x:y"),
+            asList("maxLhs:2", "threads:1", "x:y"),
+            asList("maxLhs:2", "threads:4", "x:y"),
+            asList("maxLhs:3", "threads:1", "x:y"),
+            asList("maxLhs:3", "threads:4", "x:y"));
+  }
+
+  @Test
+  public void joinsSetsSplitAtCommas() {
+    assertThat(SweepExpander.expand(asList("threads:{1", "2", "8}")))
+        .containsExactly(asList("threads:1"), asList("threads:2"), asList("threads:8"));
+  }
+
+  @Test
+  public void joinsValuesSplitAtCommas() {
+    assertThat(SweepExpander.expand(asList("columns:a", "b", "c", "threads:2")))
+        .containsExactly(asList("columns:a,b,c", "threads:2"));
+  }
+
+  @Test
+  public void keepsEscapedValuesLiteral() {
+    assertThat(SweepExpander.expand(asList("pattern:\\{a", "b}", "range:\\1..3", "path:\\\\x")))
+        .containsExactly(asList("pattern:{a,b}", "range:1..3", "path:\\x"));
+  }
+
+  @Test
+  public void joinsWithoutExpanding() {
+    assertThat(SweepExpander.join(asList("pattern:{a", "b}", "range:1..3", "columns:a", "b")))
+        .containsExactly("pattern:{a,b}", "range:1..3", "columns:a,b");
+  }
+
+  @Test
+  public void shouldThrowOnMalformedSweeps() {
+    assertThatThrownBy(() -> SweepExpander.expand(asList("threads:{1", "2")))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> SweepExpander.expand(asList("maxLhs:5..1")))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,108 @@
+package de.metanome.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.beust.jcommander.ParameterException;
+import de.metanome.cli.TempFileGenerator.Placement;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TempFileGeneratorTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void roundRobinAlternatesDirectories() throws Exception {
+    File first = new File(temporaryFolder.getRoot(), "first");
+    File second = new File(temporaryFolder.getRoot(), "second");
+    TempFileGenerator generator = createGenerator(Placement.ROUND_ROBIN, null, 0L, first, second);
+
+    assertThat(generator.getTemporaryFile().getParentFile()).isEqualTo(first);
+    assertThat(generator.getTemporaryFile().getParentFile()).isEqualTo(second);
+    assertThat(generator.getTemporaryFile().getParentFile()).isEqualTo(first);
+    assertThat(generator.getTemporaryFile().getParentFile()).isEqualTo(second);
+  }
+
+  @Test
+  public void freeSpacePrefersDirectoryWithMostUsableSpace() throws Exception {
+    File full = new File(temporaryFolder.getRoot(), "full");
+    File empty = new File(temporaryFolder.getRoot(), "empty");
+    TempFileGenerator generator = createGenerator(Placement.FREE_SPACE, null, 0L, full, empty);
+    // A missing directory reports no usable space at all.
+    Files.delete(full.toPath());
+
+    assertThat(generator.getTemporaryFile().getParentFile()).isEqualTo(empty);
+    assertThat(generator.getTemporaryFile().getParentFile()).isEqualTo(empty);
+  }
+
+  @Test
+  public void memoryDirectoryIsUsedWithinBudget() throws Exception {
+    File disk = new File(temporaryFolder.getRoot(), "disk");
+    File memory = new File(temporaryFolder.getRoot(), "memory");
+    TempFileGenerator generator = createGenerator(Placement.ROUND_ROBIN, memory, 10L, disk);
+
+    File first = generator.getTemporaryFile();
+    File second = generator.getTemporaryFile();
+    Files.write(second.toPath(), new byte[10]);
+    File third = generator.getTemporaryFile();
+
+    assertThat(first.getParentFile()).isEqualTo(memory);
+    assertThat(second.getParentFile()).isEqualTo(memory);
+    assertThat(third.getParentFile()).isEqualTo(disk);
+    assertThat(generator.getUsedBytes()).isEqualTo(10L);
+  }
+
+  @Test
+  public void memoryDirectoryIsUnusedWithoutBudget() throws Exception {
+    File disk = new File(temporaryFolder.getRoot(), "disk");
+    File memory = new File(temporaryFolder.getRoot(), "memory");
+    TempFileGenerator generator = createGenerator(Placement.ROUND_ROBIN, memory, 0L, disk);
+
+    assertThat(generator.getTemporaryFile().getParentFile()).isEqualTo(disk);
+    assertThat(memory).doesNotExist();
+  }
+
+  @Test
+  public void cleanUpRemovesCreatedFiles() throws Exception {
+    File disk = new File(temporaryFolder.getRoot(), "disk");
+    File memory = new File(temporaryFolder.getRoot(), "memory");
+    TempFileGenerator generator = createGenerator(Placement.ROUND_ROBIN, memory, 10L, disk);
+    File foreign = new File(disk, "foreign.tmp");
+    Files.write(foreign.toPath(), new byte[0]);
+
+    File first = generator.getTemporaryFile();
+    Files.write(first.toPath(), new byte[10]);
+    File second = generator.getTemporaryFile();
+    generator.cleanUp();
+
+    assertThat(first).doesNotExist();
+    assertThat(second).doesNotExist();
+    assertThat(foreign).exists();
+  }
+
+  @Test
+  public void parsesPlacements() {
+    assertThat(TempFilePlacementConverter.parse("round-robin")).isEqualTo(Placement.ROUND_ROBIN);
+    assertThat(TempFilePlacementConverter.parse("FREE_SPACE")).isEqualTo(Placement.FREE_SPACE);
+    assertThatThrownBy(() -> TempFilePlacementConverter.parse("random"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new TempFilePlacementConverter("--temp-placement").convert("random"))
+        .isInstanceOf(ParameterException.class);
+  }
+
+  private static TempFileGenerator createGenerator(Placement placement, File memoryDirectory,
+      long memoryBudget, File... directories) {
+    String[] paths = new String[directories.length];
+    for (int i = 0; i < directories.length; i++) {
+      paths[i] = directories[i].getPath();
+    }
+    return new TempFileGenerator("test", Arrays.asList(paths), placement,
+        memoryDirectory == null ? null : memoryDirectory.getPath(), memoryBudget, true, false);
+  }
+}